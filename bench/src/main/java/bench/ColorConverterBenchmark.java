@@ -0,0 +1,186 @@
+package bench;
+
+import colors.ColorCMYK;
+import colors.ColorConverter;
+import colors.ColorHSB;
+import colors.ColorRGBA;
+import colors.ColorXYZ;
+import colors.ConversionCache;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Бенчмарки методів {@link ColorConverter}: перетворення окремих об'єктів,
+ * упакованих значень та пакетні перетворення масивів.
+ * 
+ * <p>
+ * Кожен бенчмарк обробляє масив з {@link #size} кольорів, тому результат
+ * зручно порівнювати між варіантами у наносекундах на операцію.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorConverterBenchmark {
+    @Param({ "4096" })
+    public int size;
+
+    private ColorRGBA[] rgb;
+    private ColorHSB[] hsb;
+    private ColorCMYK[] cmyk;
+    private ColorXYZ[] xyz;
+    private int[] packedRGB, packedHSB, packedCMYK, packedOut;
+    private float[] x, y, z;
+    private ConversionCache cache;
+
+    /**
+     * Готує випадкові кольори в усіх моделях.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        rgb = new ColorRGBA[size];
+        hsb = new ColorHSB[size];
+        cmyk = new ColorCMYK[size];
+        xyz = new ColorXYZ[size];
+        packedRGB = new int[size];
+        packedHSB = new int[size];
+        packedCMYK = new int[size];
+        packedOut = new int[size];
+        x = new float[size];
+        y = new float[size];
+        z = new float[size];
+        for (int i = 0; i < size; i++) {
+            rgb[i] = new ColorRGBA(random.nextInt(256), random.nextInt(256), random.nextInt(256), 255);
+            hsb[i] = rgb[i].toHSB();
+            cmyk[i] = rgb[i].toCMYK();
+            xyz[i] = rgb[i].toXYZ();
+            packedRGB[i] = rgb[i].valueInt();
+            packedHSB[i] = hsb[i].valueInt();
+            packedCMYK[i] = cmyk[i].valueInt();
+        }
+        ColorConverter.RGBtoXYZ(packedRGB, 0, x, y, z, 0, size);
+        cache = new ConversionCache(2 * size, ColorConverter::RGBtoHSB);
+    }
+
+    @Benchmark
+    public void rgbToHsb(Blackhole bh) {
+        for (ColorRGBA c : rgb) {
+            bh.consume(ColorConverter.RGBtoHSB(c));
+        }
+    }
+
+    @Benchmark
+    public void hsbToRgb(Blackhole bh) {
+        for (ColorHSB c : hsb) {
+            bh.consume(ColorConverter.HSBtoRGB(c));
+        }
+    }
+
+    @Benchmark
+    public void rgbToCmyk(Blackhole bh) {
+        for (ColorRGBA c : rgb) {
+            bh.consume(ColorConverter.RGBtoCMYK(c));
+        }
+    }
+
+    @Benchmark
+    public void cmykToRgb(Blackhole bh) {
+        for (ColorCMYK c : cmyk) {
+            bh.consume(ColorConverter.CMYKtoRGB(c));
+        }
+    }
+
+    @Benchmark
+    public void rgbToXyz(Blackhole bh) {
+        for (ColorRGBA c : rgb) {
+            bh.consume(ColorConverter.RGBtoXYZ(c));
+        }
+    }
+
+    @Benchmark
+    public void xyzToRgb(Blackhole bh) {
+        for (ColorXYZ c : xyz) {
+            bh.consume(ColorConverter.XYZtoRGB(c));
+        }
+    }
+
+    @Benchmark
+    public void packedRgbToHsb(Blackhole bh) {
+        for (int c : packedRGB) {
+            bh.consume(ColorConverter.RGBtoHSB(c));
+        }
+    }
+
+    @Benchmark
+    public void packedHsbToRgb(Blackhole bh) {
+        for (int c : packedHSB) {
+            bh.consume(ColorConverter.HSBtoRGB(c));
+        }
+    }
+
+    @Benchmark
+    public void packedDarken(Blackhole bh) {
+        for (int c : packedRGB) {
+            bh.consume(ColorConverter.darkenRGBA(c, 20));
+        }
+    }
+
+    @Benchmark
+    public void cachedRgbToHsb(Blackhole bh) {
+        for (int c : packedRGB) {
+            bh.consume(cache.apply(c));
+        }
+    }
+
+    @Benchmark
+    public int[] batchRgbToHsb() {
+        ColorConverter.RGBtoHSB(packedRGB, 0, packedOut, 0, size);
+        return packedOut;
+    }
+
+    @Benchmark
+    public int[] batchHsbToRgb() {
+        ColorConverter.HSBtoRGB(packedHSB, 0, packedOut, 0, size);
+        return packedOut;
+    }
+
+    @Benchmark
+    public int[] batchRgbToCmyk() {
+        ColorConverter.RGBtoCMYK(packedRGB, 0, packedOut, 0, size);
+        return packedOut;
+    }
+
+    @Benchmark
+    public int[] batchCmykToRgb() {
+        ColorConverter.CMYKtoRGB(packedCMYK, 0, packedOut, 0, size);
+        return packedOut;
+    }
+
+    @Benchmark
+    public float[] batchRgbToXyz() {
+        ColorConverter.RGBtoXYZ(packedRGB, 0, x, y, z, 0, size);
+        return x;
+    }
+
+    @Benchmark
+    public int[] batchXyzToRgb() {
+        ColorConverter.XYZtoRGB(x, y, z, 0, packedOut, 0, size);
+        return packedOut;
+    }
+}
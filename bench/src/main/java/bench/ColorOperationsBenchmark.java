@@ -0,0 +1,144 @@
+package bench;
+
+import colors.Color;
+import colors.ColorCMYK;
+import colors.ColorHSB;
+import colors.ColorRGBA;
+import colors.ColorXYZ;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Бенчмарки операцій {@link Color#add(Color)}, {@link Color#or(Color)},
+ * {@link Color#and(Color)} та {@link Color#xor(Color)} для кожної моделі
+ * кольору.
+ * 
+ * <p>
+ * Модель XYZ не підтримує побітові операції, тому вона входить лише до
+ * параметрів стану {@link AllModels}, що використовується бенчмарком
+ * <code>add</code>. Побітові бенчмарки використовують стан {@link Bitwise}
+ * без моделі XYZ.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorOperationsBenchmark {
+    private static final int SIZE = 1024;
+
+    /**
+     * Пари випадкових кольорів однієї моделі.
+     */
+    public abstract static class Pairs {
+        Color[] left, right; // Операнди кожної пари
+
+        /**
+         * Повертає назву обраної моделі кольору.
+         * 
+         * @return Назва моделі.
+         */
+        protected abstract String model();
+
+        /**
+         * Готує пари випадкових кольорів обраної моделі.
+         */
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            left = new Color[SIZE];
+            right = new Color[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                left[i] = create(random);
+                right[i] = create(random);
+            }
+        }
+
+        /**
+         * Створює випадковий колір обраної моделі.
+         * 
+         * @param random Генератор випадкових чисел.
+         * @return Новий колір.
+         */
+        private Color create(Random random) {
+            return switch (model()) {
+                case "RGBA" -> new ColorRGBA(random.nextInt(256), random.nextInt(256), random.nextInt(256), 255);
+                case "HSB" -> new ColorHSB(random.nextInt(361), random.nextInt(101), random.nextInt(101));
+                case "CMYK" -> new ColorCMYK(random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                        random.nextInt(101));
+                case "XYZ" -> new ColorXYZ(random.nextFloat() * 100, random.nextFloat() * 100,
+                        random.nextFloat() * 100);
+                default -> throw new IllegalArgumentException("Невідома модель: " + model());
+            };
+        }
+    }
+
+    /**
+     * Стан для додавання: усі моделі кольору.
+     */
+    @State(Scope.Thread)
+    public static class AllModels extends Pairs {
+        @Param({ "RGBA", "HSB", "CMYK", "XYZ" })
+        public String model;
+
+        @Override
+        protected String model() {
+            return model;
+        }
+    }
+
+    /**
+     * Стан для побітових операцій: моделі без XYZ.
+     */
+    @State(Scope.Thread)
+    public static class Bitwise extends Pairs {
+        @Param({ "RGBA", "HSB", "CMYK" })
+        public String model;
+
+        @Override
+        protected String model() {
+            return model;
+        }
+    }
+
+    @Benchmark
+    public void add(AllModels pairs, Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(pairs.left[i].add(pairs.right[i]));
+        }
+    }
+
+    @Benchmark
+    public void or(Bitwise pairs, Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(pairs.left[i].or(pairs.right[i]));
+        }
+    }
+
+    @Benchmark
+    public void and(Bitwise pairs, Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(pairs.left[i].and(pairs.right[i]));
+        }
+    }
+
+    @Benchmark
+    public void xor(Bitwise pairs, Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(pairs.left[i].xor(pairs.right[i]));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package bench;
+
+import colors.Color;
+import colors.ColorRGBA;
+import colors.PaletteIndex;
+import images.Image;
+import images.IndexedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки операцій {@link Image}: заповнення, повний обхід через
+ * {@link Image#getPixel(int, int)}/{@link Image#setPixel(int, int, Color)} та
+ * через упаковані значення, попіксельне середнє двох зображень, заміну
+ * кольорів палітрою з 4096 кольорів, а також запис у текстовий файл.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageBenchmark {
+    @Param({ "256", "1024", "2048" })
+    public int side;
+
+    private Image image;
+    private Image other; // Друге зображення для попіксельних операцій
+    private Image noise; // Зображення з випадковими кольорами для заміни палітрою
+    private PaletteIndex palette;
+    private ColorRGBA color;
+    private File output;
+
+    /**
+     * Створює зображення та тимчасовий файл для запису.
+     * 
+     * @throws IOException якщо не вдалося створити тимчасовий файл.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        image = new Image(side, side);
+        color = new ColorRGBA(100, 150, 200, 255);
+        image.fill(color);
+        other = new Image(side, side);
+        other.fill(new ColorRGBA(30, 60, 90, 128));
+        Random random = new Random(42);
+        noise = new Image(side, side);
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                noise.setRGBA(i, j, random.nextInt() | 0xFF);
+            }
+        }
+        int[] colors = new int[4096];
+        for (int k = 0; k < colors.length; k++) {
+            colors[k] = random.nextInt() | 0xFF;
+        }
+        palette = new PaletteIndex(colors, PaletteIndex.Space.RGB);
+        output = File.createTempFile("image-bench", ".txt");
+    }
+
+    /**
+     * Видаляє тимчасовий файл.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        output.delete();
+    }
+
+    @Benchmark
+    public IndexedImage remapToPalette() {
+        return IndexedImage.remap(noise, palette);
+    }
+
+    @Benchmark
+    public Image fill() {
+        image.fill(color);
+        return image;
+    }
+
+    @Benchmark
+    public long getPixelScan() {
+        long sum = 0;
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                sum += image.getPixel(i, j).valueInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Image setPixelScan() {
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                image.setPixel(i, j, color);
+            }
+        }
+        return image;
+    }
+
+    @Benchmark
+    public long getRGBAScan() {
+        long sum = 0;
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                sum += image.getRGBA(i, j);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Image setRGBAScan() {
+        int rgba = color.valueInt();
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                image.setRGBA(i, j, rgba);
+            }
+        }
+        return image;
+    }
+
+    @Benchmark
+    public long saveAsText() {
+        image.saveAsText(output.getPath());
+        return output.length();
+    }
+
+    @Benchmark
+    public Image average() {
+        return image.average(other);
+    }
+
+    @Benchmark
+    public Image averageScalar() {
+        Image result = new Image(side, side);
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                result.setPixel(i, j, image.getPixel(i, j).add(other.getPixel(i, j)));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package bench;
+
+import colors.ColorRGBA;
+import images.BitMask;
+import images.Image;
+import images.Mask;
+import images.RunLengthMask;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Бенчмарки застосування масок до зображень різних розмірів з різною
+ * щільністю маски для всіх представлень маски.
+ * 
+ * <p>
+ * Зображення заповнюється заново перед кожним викликом, щоб багаторазове
+ * затемнення не зводило всі пікселі до чорного кольору.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskBenchmark {
+    @Param({ "256", "1024", "4096" })
+    public int side;
+
+    @Param({ "0.01", "0.5", "1.0" })
+    public double density;
+
+    private Image image;
+    private ColorRGBA color;
+    private Mask mask;
+    private BitMask bitMask;
+    private RunLengthMask runLengthMask;
+
+    /**
+     * Створює зображення та маски з випадково встановленими елементами.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        image = new Image(side, side);
+        color = new ColorRGBA(100, 150, 200, 255);
+        mask = new Mask(side, side);
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                mask.setMaskValue(i, j, random.nextDouble() < density ? 1 : 0);
+            }
+        }
+        bitMask = BitMask.fromMask(mask);
+        runLengthMask = RunLengthMask.fromMask(mask);
+    }
+
+    /**
+     * Відновлює початковий колір зображення.
+     */
+    @Setup(Level.Invocation)
+    public void refill() {
+        image.fill(color);
+    }
+
+    @Benchmark
+    public Image sequential() {
+        mask.applyToImage(image);
+        return image;
+    }
+
+    @Benchmark
+    public Image parallel() {
+        mask.applyToImageParallel(image);
+        return image;
+    }
+
+    @Benchmark
+    public Image bitPacked() {
+        bitMask.applyToImage(image);
+        return image;
+    }
+
+    @Benchmark
+    public Image runLength() {
+        runLengthMask.applyToImage(image);
+        return image;
+    }
+}
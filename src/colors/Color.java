@@ -5,8 +5,16 @@ package colors;
  * Абстрактний клас Color, який представляє основну модель кольору.
  * Містить абстрактні методи для конверсії та представлення кольору
  * як цілого та дійсного числа, а також методи для операцій між кольорами.
+ * 
+ * <p>
+ * Ієрархія закрита: кольорами є лише {@link ColorRGBA}, {@link ColorHSB},
+ * {@link ColorCMYK} та {@link ColorXYZ}. Тому <code>switch</code> за типом
+ * кольору вичерпний без гілки <code>default</code> (див.
+ * {@link ColorConverter#toPackedRGBA(Color)}), а JIT знає всі можливі
+ * реалізації методів.
+ * </p>
  */
-public abstract class Color {
+public abstract sealed class Color permits ColorRGBA, ColorHSB, ColorCMYK, ColorXYZ {
 
     /**
      * Базовий конструктор для абстрактного класу Color.
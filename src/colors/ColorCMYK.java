@@ -4,7 +4,7 @@ package colors;
  * Клас ColorCMYK представляє колір у моделі CMYK.
  * C - блакитний, M - пурпуровий, Y - жовтий, K - чорний.
  */
-public class ColorCMYK extends Color {
+public final class ColorCMYK extends Color {
     private int c, m, y, k;
 
     /**
@@ -1,9 +1,66 @@
 package colors;
 
+import java.util.Objects;
+import metrics.Conversion;
+import metrics.ConversionEvent;
+import metrics.Metrics;
+
 /**
  * Клас ColorConverter надає методи для конверсії між кольоровими моделями.
+ * 
+ * <p>
+ * Крім методів для окремих об'єктів кольору, клас містить методи для
+ * упакованих цілих значень (у форматі <code>valueInt()</code> відповідної
+ * моделі) та пакетні методи, що перетворюють ділянки примітивних масивів без
+ * створення об'єктів для кожного елемента.
+ * </p>
+ * 
+ * <p>
+ * Якщо увімкнено {@link Metrics}, кожне перетворення враховується у
+ * лічильнику відповідної пари моделей.
+ * </p>
+ * 
+ * <p>
+ * Перетворення між RGB та HSB можуть кешуватися ({@link #enableCache(int)}
+ * або системна властивість <code>-D{@value #CACHE_PROPERTY}=N</code>):
+ * реальні зображення містять набагато менше різних кольорів, ніж пікселів,
+ * тож повторні перетворення того самого кольору обслуговуються з
+ * {@link ConversionCache}.
+ * </p>
  */
 public class ColorConverter {
+    // Матриця перетворення лінійного sRGB (D65) у XYZ
+    static final float X_R = 0.4124564f, X_G = 0.3575761f, X_B = 0.1804375f;
+    static final float Y_R = 0.2126729f, Y_G = 0.7151522f, Y_B = 0.0721750f;
+    static final float Z_R = 0.0193339f, Z_G = 0.1191920f, Z_B = 0.9503041f;
+
+    // Обернена матриця перетворення XYZ у лінійний sRGB (D65)
+    static final float R_X = 3.2404542f, R_Y = 1.5371385f, R_Z = 0.4985314f;
+    static final float G_X = 0.9692660f, G_Y = 1.8760108f, G_Z = 0.0415560f;
+    static final float B_X = 0.0556434f, B_Y = 0.2040259f, B_Z = 1.0572252f;
+
+    // Кількість елементів, що обробляються ядрами ConversionKernels за один крок
+    private static final int KERNEL_CHUNK = 1024;
+
+    // Проміжні площини ядер, що використовуються повторно кожним потоком
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Системна властивість з місткістю кешу перетворень RGB/HSB, що
+     * вмикається під час завантаження класу (0 або відсутня - кеш вимкнено).
+     */
+    public static final String CACHE_PROPERTY = "colors.conversionCache";
+
+    // Кеші перетворень RGB -> HSB та HSB -> RGB (null, якщо кешування вимкнено)
+    private static volatile ConversionCache rgbToHsbCache, hsbToRgbCache;
+
+    static {
+        int capacity = Integer.getInteger(CACHE_PROPERTY, 0);
+        if (capacity > 0) {
+            enableCache(capacity);
+        }
+    }
+
     /**
      * Конструктор за замовчуванням для класу ColorConverter.
      * Надає утилітарні методи для конверсії кольорових моделей.
@@ -12,6 +69,24 @@ public class ColorConverter {
         // Конструктор залишається порожнім
     }
 
+    /**
+     * Конвертує колір будь-якої моделі у упакований колір RGBA. На відміну від
+     * <code>color.toRGBA().valueInt()</code>, вибір перетворення виконується
+     * вичерпним <code>switch</code> за закритою ієрархією {@link Color}, без
+     * віртуальних викликів і без проміжного об'єкта {@link ColorRGBA}.
+     * 
+     * @param color Колір.
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    public static int toPackedRGBA(Color color) {
+        return switch (color) {
+            case ColorRGBA rgba -> rgba.valueInt();
+            case ColorHSB hsb -> HSBtoRGB(hsb.valueInt());
+            case ColorCMYK cmyk -> CMYKtoRGB(cmyk.valueInt());
+            case ColorXYZ xyz -> XYZtoRGB(xyz.getX(), xyz.getY(), xyz.getZ());
+        };
+    }
+
     /**
      * Конвертує колір із моделі RGB у HSB.
      * 
@@ -19,32 +94,25 @@ public class ColorConverter {
      * @return Колір у форматі HSB.
      */
     public static ColorHSB RGBtoHSB(ColorRGBA colorRGB) {
-        float r = colorRGB.getR() / 255.0f;
-        float g = colorRGB.getG() / 255.0f;
-        float b = colorRGB.getB() / 255.0f;
-
-        float max = Math.max(r, Math.max(g, b));
-        float min = Math.min(r, Math.min(g, b));
-        float delta = max - min;
-
-        float h = 0;
-        if (delta != 0) {
-            if (max == r) {
-                h = (g - b) / delta % 6;
-            } else if (max == g) {
-                h = (b - r) / delta + 2;
-            } else {
-                h = (r - g) / delta + 4;
-            }
-            h *= 60;
-            if (h < 0)
-                h += 360;
-        }
-
-        float s = max == 0 ? 0 : (delta / max) * 100;
-        float brightness = max * 100;
+        int hsb = RGBtoHSB(colorRGB.valueInt());
+        return new ColorHSB(hsb >>> 16, (hsb >>> 8) & 0xFF, hsb & 0xFF);
+    }
 
-        return new ColorHSB((int) h, (int) s, (int) brightness);
+    /**
+     * Конвертує упакований колір RGBA у упакований колір HSB без створення
+     * проміжних об'єктів. Обчислення виконуються у цілочисельній арифметиці
+     * ({@link FixedPointHSB}) і дають ті самі результати, що й обчислення у
+     * <code>float</code>.
+     * 
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @return Колір у форматі {@link ColorHSB#valueInt()}.
+     */
+    public static int RGBtoHSB(int rgba) {
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.RGB_TO_HSB, 1);
+        }
+        ConversionCache cache = rgbToHsbCache;
+        return cache != null ? cache.apply(rgba) : FixedPointHSB.RGBtoHSB(rgba);
     }
 
     /**
@@ -54,20 +122,33 @@ public class ColorConverter {
      * @return Колір у форматі CMYK.
      */
     public static ColorCMYK RGBtoCMYK(ColorRGBA colorRGB) {
-        float r = colorRGB.getR() / 255.0f;
-        float g = colorRGB.getG() / 255.0f;
-        float b = colorRGB.getB() / 255.0f;
+        int cmyk = RGBtoCMYK(colorRGB.valueInt());
+        return new ColorCMYK(cmyk >>> 24, (cmyk >>> 16) & 0xFF, (cmyk >>> 8) & 0xFF, cmyk & 0xFF);
+    }
+
+    /**
+     * Конвертує упакований колір RGBA у упакований колір CMYK.
+     * 
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @return Колір у форматі {@link ColorCMYK#valueInt()}.
+     */
+    public static int RGBtoCMYK(int rgba) {
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.RGB_TO_CMYK, 1);
+        }
+        float r = (rgba >>> 24) / 255.0f;
+        float g = ((rgba >>> 16) & 0xFF) / 255.0f;
+        float b = ((rgba >>> 8) & 0xFF) / 255.0f;
 
         float k = 1 - Math.max(r, Math.max(g, b));
         float c = (1 - r - k) / (1 - k);
         float m = (1 - g - k) / (1 - k);
         float y = (1 - b - k) / (1 - k);
 
-        return new ColorCMYK(
-                (int) (c * 100),
-                (int) (m * 100),
-                (int) (y * 100),
-                (int) (k * 100));
+        return (clamp((int) (c * 100), 0, 100) << 24)
+                | (clamp((int) (m * 100), 0, 100) << 16)
+                | (clamp((int) (y * 100), 0, 100) << 8)
+                | clamp((int) (k * 100), 0, 100);
     }
 
     /**
@@ -77,51 +158,78 @@ public class ColorConverter {
      * @return Колір у форматі RGBA.
      */
     public static ColorRGBA HSBtoRGB(ColorHSB colorHSB) {
-        float h = colorHSB.getH();
-        float s = colorHSB.getS() / 100.0f;
-        float b = colorHSB.getB() / 100.0f;
-
-        int r = 0, g = 0, bl = 0;
-        int i = (int) Math.floor(h / 60) % 6;
-        float f = h / 60 - i;
-        float p = b * (1 - s);
-        float q = b * (1 - f * s);
-        float t = b * (1 - (1 - f) * s);
-
-        switch (i) {
-            case 0 -> {
-                r = (int) (b * 255);
-                g = (int) (t * 255);
-                bl = (int) (p * 255);
-            }
-            case 1 -> {
-                r = (int) (q * 255);
-                g = (int) (b * 255);
-                bl = (int) (p * 255);
-            }
-            case 2 -> {
-                r = (int) (p * 255);
-                g = (int) (b * 255);
-                bl = (int) (t * 255);
-            }
-            case 3 -> {
-                r = (int) (p * 255);
-                g = (int) (q * 255);
-                bl = (int) (b * 255);
-            }
-            case 4 -> {
-                r = (int) (t * 255);
-                g = (int) (p * 255);
-                bl = (int) (b * 255);
-            }
-            case 5 -> {
-                r = (int) (b * 255);
-                g = (int) (p * 255);
-                bl = (int) (q * 255);
-            }
+        return ColorRGBA.fromInt(HSBtoRGB(colorHSB.valueInt()));
+    }
+
+    /**
+     * Конвертує упакований колір HSB у упакований колір RGBA без створення
+     * проміжних об'єктів у цілочисельній арифметиці ({@link FixedPointHSB}).
+     * Альфа-канал результату завжди дорівнює 255.
+     * 
+     * @param hsb Колір у форматі {@link ColorHSB#valueInt()}.
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    public static int HSBtoRGB(int hsb) {
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.HSB_TO_RGB, 1);
         }
+        ConversionCache cache = hsbToRgbCache;
+        return cache != null ? cache.apply(hsb) : FixedPointHSB.HSBtoRGB(hsb);
+    }
+
+    /**
+     * Вмикає кешування перетворень {@link #RGBtoHSB(int)} та
+     * {@link #HSBtoRGB(int)} (а отже й {@link #darkenRGBA(int, int)}) з
+     * новими порожніми кешами вказаної місткості.
+     * 
+     * @param capacity Місткість кожного з двох кешів.
+     * @throws IllegalArgumentException якщо місткість неправильна.
+     */
+    public static void enableCache(int capacity) {
+        rgbToHsbCache = new ConversionCache(capacity, FixedPointHSB::RGBtoHSB);
+        hsbToRgbCache = new ConversionCache(capacity, FixedPointHSB::HSBtoRGB);
+    }
+
+    /**
+     * Вимикає кешування перетворень RGB/HSB.
+     */
+    public static void disableCache() {
+        rgbToHsbCache = null;
+        hsbToRgbCache = null;
+    }
 
-        return new ColorRGBA(r, g, bl, 255);
+    /**
+     * Повертає кеш перетворення RGB у HSB для перегляду статистики.
+     * 
+     * @return Кеш або null, якщо кешування вимкнено.
+     */
+    public static ConversionCache getRGBtoHSBCache() {
+        return rgbToHsbCache;
+    }
+
+    /**
+     * Повертає кеш перетворення HSB у RGB для перегляду статистики.
+     * 
+     * @return Кеш або null, якщо кешування вимкнено.
+     */
+    public static ConversionCache getHSBtoRGBCache() {
+        return hsbToRgbCache;
+    }
+
+    /**
+     * Зменшує яскравість упакованого кольору RGBA на вказану кількість пунктів
+     * шкали HSB. Результат збігається з послідовністю
+     * {@link #RGBtoHSB(ColorRGBA)}, зменшення B та {@link #HSBtoRGB(ColorHSB)},
+     * але не створює жодних об'єктів.
+     * 
+     * @param rgba   Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @param points Кількість пунктів яскравості (0-100), на яку зменшується B.
+     * @return Затемнений колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    public static int darkenRGBA(int rgba, int points) {
+        int hsb = RGBtoHSB(rgba);
+        int brightness = Math.max((hsb & 0xFF) - points, 0);
+        return HSBtoRGB((hsb & ~0xFF) | clamp(brightness, 0, 100));
     }
 
     /**
@@ -131,55 +239,330 @@ public class ColorConverter {
      * @return Колір у форматі RGBA.
      */
     public static ColorRGBA CMYKtoRGB(ColorCMYK colorCMYK) {
-        float c = colorCMYK.getC() / 100.0f;
-        float m = colorCMYK.getM() / 100.0f;
-        float y = colorCMYK.getY() / 100.0f;
-        float k = colorCMYK.getK() / 100.0f;
+        return ColorRGBA.fromInt(CMYKtoRGB(colorCMYK.valueInt()));
+    }
+
+    /**
+     * Конвертує упакований колір CMYK у упакований колір RGBA. Альфа-канал
+     * результату завжди дорівнює 255.
+     * 
+     * @param cmyk Колір у форматі {@link ColorCMYK#valueInt()}.
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    public static int CMYKtoRGB(int cmyk) {
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.CMYK_TO_RGB, 1);
+        }
+        float c = (cmyk >>> 24) / 100.0f;
+        float m = ((cmyk >>> 16) & 0xFF) / 100.0f;
+        float y = ((cmyk >>> 8) & 0xFF) / 100.0f;
+        float k = (cmyk & 0xFF) / 100.0f;
 
         int r = (int) ((1 - c) * (1 - k) * 255);
         int g = (int) ((1 - m) * (1 - k) * 255);
         int b = (int) ((1 - y) * (1 - k) * 255);
 
-        return new ColorRGBA(r, g, b, 255);
+        return packRGBA(r, g, b, 255);
     }
 
     /**
-     * Конвертує колір із моделі RGB у XYZ.
+     * Конвертує колір із моделі RGB у XYZ. Компоненти sRGB спочатку
+     * переводяться у лінійний простір за допомогою {@link SRGBCompanding}.
      * 
      * @param colorRGB Колір у форматі RGBA.
      * @return Колір у форматі XYZ.
      */
     public static ColorXYZ RGBtoXYZ(ColorRGBA colorRGB) {
-        float r = colorRGB.getR() / 255.0f;
-        float g = colorRGB.getG() / 255.0f;
-        float b = colorRGB.getB() / 255.0f;
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.RGB_TO_XYZ, 1);
+        }
+        float r = SRGBCompanding.toLinear(colorRGB.getR());
+        float g = SRGBCompanding.toLinear(colorRGB.getG());
+        float b = SRGBCompanding.toLinear(colorRGB.getB());
 
-        float x = r * 0.4124564f + g * 0.3575761f + b * 0.1804375f;
-        float y = r * 0.2126729f + g * 0.7151522f + b * 0.0721750f;
-        float z = r * 0.0193339f + g * 0.1191920f + b * 0.9503041f;
+        float x = r * X_R + g * X_G + b * X_B;
+        float y = r * Y_R + g * Y_G + b * Y_B;
+        float z = r * Z_R + g * Z_G + b * Z_B;
 
         return new ColorXYZ(x * 100, y * 100, z * 100);
     }
 
     /**
-     * Конвертує колір із моделі XYZ у RGB.
+     * Конвертує колір із моделі XYZ у RGB. Лінійні компоненти RGB
+     * переводяться у sRGB за допомогою {@link SRGBCompanding}.
      * 
      * @param colorXYZ Колір у форматі XYZ.
      * @return Колір у форматі RGBA.
      */
     public static ColorRGBA XYZtoRGB(ColorXYZ colorXYZ) {
-        float x = colorXYZ.getX() / 100.0f;
-        float y = colorXYZ.getY() / 100.0f;
-        float z = colorXYZ.getZ() / 100.0f;
+        return ColorRGBA.fromInt(XYZtoRGB(colorXYZ.getX(), colorXYZ.getY(), colorXYZ.getZ()));
+    }
+
+    /**
+     * Конвертує компоненти XYZ (0-100) у упакований колір RGBA. Альфа-канал
+     * результату завжди дорівнює 255.
+     * 
+     * @param xValue Компонента X (0-100).
+     * @param yValue Компонента Y (0-100).
+     * @param zValue Компонента Z (0-100).
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    private static int XYZtoRGB(float xValue, float yValue, float zValue) {
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.XYZ_TO_RGB, 1);
+        }
+        float x = xValue / 100.0f;
+        float y = yValue / 100.0f;
+        float z = zValue / 100.0f;
 
-        float r = x * 3.2404542f - y * 1.5371385f - z * 0.4985314f;
-        float g = -x * 0.9692660f + y * 1.8760108f + z * 0.0415560f;
-        float b = x * 0.0556434f - y * 0.2040259f + z * 1.0572252f;
+        float r = x * R_X - y * R_Y - z * R_Z;
+        float g = -x * G_X + y * G_Y + z * G_Z;
+        float b = x * B_X - y * B_Y + z * B_Z;
 
-        int ri = Math.min(255, Math.max(0, Math.round(r * 255)));
-        int gi = Math.min(255, Math.max(0, Math.round(g * 255)));
-        int bi = Math.min(255, Math.max(0, Math.round(b * 255)));
+        return packRGBA(SRGBCompanding.fromLinear8(r), SRGBCompanding.fromLinear8(g),
+                SRGBCompanding.fromLinear8(b), 255);
+    }
+
+    /**
+     * Пакетно конвертує ділянку масиву упакованих кольорів RGBA у упаковані
+     * кольори HSB.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param dst    Вихідний масив у форматі {@link ColorHSB#valueInt()}.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів для перетворення.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public static void RGBtoHSB(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        if (rgbToHsbCache != null) { // Кеш обслуговує кожен колір окремо
+            for (int i = 0; i < len; i++) {
+                dst[dstOff + i] = RGBtoHSB(src[srcOff + i]);
+            }
+            event.finish(Conversion.RGB_TO_HSB, len, "scalar");
+            return;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.RGB_TO_HSB, len);
+        }
+        ConversionKernels kernels = ConversionKernels.get();
+        Scratch scratch = SCRATCH.get();
+        int[] max = scratch.max, delta = scratch.delta;
+        for (int done = 0; done < len; done += KERNEL_CHUNK) {
+            int count = Math.min(KERNEL_CHUNK, len - done);
+            kernels.maxDelta(src, srcOff + done, max, delta, 0, count);
+            for (int i = 0; i < count; i++) {
+                dst[dstOff + done + i] = FixedPointHSB.RGBtoHSB(src[srcOff + done + i], max[i], delta[i]);
+            }
+        }
+        event.finish(Conversion.RGB_TO_HSB, len, kernels.name());
+    }
+
+    /**
+     * Пакетно конвертує ділянку масиву упакованих кольорів HSB у упаковані
+     * кольори RGBA.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorHSB#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param dst    Вихідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів для перетворення.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public static void HSBtoRGB(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = HSBtoRGB(src[srcOff + i]);
+        }
+        event.finish(Conversion.HSB_TO_RGB, len, "scalar");
+    }
+
+    /**
+     * Пакетно конвертує ділянку масиву упакованих кольорів RGBA у упаковані
+     * кольори CMYK.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param dst    Вихідний масив у форматі {@link ColorCMYK#valueInt()}.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів для перетворення.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public static void RGBtoCMYK(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.RGB_TO_CMYK, len);
+        }
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        ConversionKernels kernels = ConversionKernels.get();
+        Scratch scratch = SCRATCH.get();
+        float[] r = scratch.r, g = scratch.g, b = scratch.b;
+        float[] c = scratch.c, m = scratch.m, y = scratch.y, k = scratch.k;
+        for (int done = 0; done < len; done += KERNEL_CHUNK) {
+            int count = Math.min(KERNEL_CHUNK, len - done);
+            for (int i = 0; i < count; i++) {
+                int rgba = src[srcOff + done + i];
+                r[i] = (rgba >>> 24) / 255.0f;
+                g[i] = ((rgba >>> 16) & 0xFF) / 255.0f;
+                b[i] = ((rgba >>> 8) & 0xFF) / 255.0f;
+            }
+            kernels.RGBtoCMYK(r, g, b, 0, c, m, y, k, 0, count);
+            for (int i = 0; i < count; i++) {
+                dst[dstOff + done + i] = (clamp((int) (c[i] * 100), 0, 100) << 24)
+                        | (clamp((int) (m[i] * 100), 0, 100) << 16)
+                        | (clamp((int) (y[i] * 100), 0, 100) << 8)
+                        | clamp((int) (k[i] * 100), 0, 100);
+            }
+        }
+        event.finish(Conversion.RGB_TO_CMYK, len, kernels.name());
+    }
 
-        return new ColorRGBA(ri, gi, bi, 255);
+    /**
+     * Пакетно конвертує ділянку масиву упакованих кольорів CMYK у упаковані
+     * кольори RGBA.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorCMYK#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param dst    Вихідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів для перетворення.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public static void CMYKtoRGB(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = CMYKtoRGB(src[srcOff + i]);
+        }
+        event.finish(Conversion.CMYK_TO_RGB, len, "scalar");
+    }
+
+    /**
+     * Пакетно конвертує ділянку масиву упакованих кольорів RGBA у три площини
+     * компонент X, Y, Z (0-100). Результат збігається з
+     * {@link #RGBtoXYZ(ColorRGBA)} для кожного елемента.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param x      Вихідна площина компоненти X.
+     * @param y      Вихідна площина компоненти Y.
+     * @param z      Вихідна площина компоненти Z.
+     * @param dstOff Зміщення першого елемента у вихідних площинах.
+     * @param len    Кількість елементів для перетворення.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public static void RGBtoXYZ(int[] src, int srcOff, float[] x, float[] y, float[] z, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, x.length);
+        Objects.checkFromIndexSize(dstOff, len, y.length);
+        Objects.checkFromIndexSize(dstOff, len, z.length);
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.RGB_TO_XYZ, len);
+        }
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        ConversionKernels kernels = ConversionKernels.get();
+        Scratch scratch = SCRATCH.get();
+        float[] r = scratch.r, g = scratch.g, b = scratch.b;
+        for (int done = 0; done < len; done += KERNEL_CHUNK) {
+            int count = Math.min(KERNEL_CHUNK, len - done);
+            for (int i = 0; i < count; i++) { // Гамма-перетворення за таблицею
+                int rgba = src[srcOff + done + i];
+                r[i] = SRGBCompanding.toLinear(rgba >>> 24);
+                g[i] = SRGBCompanding.toLinear(rgba >>> 16);
+                b[i] = SRGBCompanding.toLinear(rgba >>> 8);
+            }
+            kernels.linearRGBtoXYZ(r, g, b, 0, x, y, z, dstOff + done, count);
+        }
+        event.finish(Conversion.RGB_TO_XYZ, len, kernels.name());
+    }
+
+    /**
+     * Пакетно конвертує ділянки трьох площин компонент X, Y, Z у масив
+     * упакованих кольорів RGBA. Вхідні значення обмежуються діапазоном 0-100,
+     * як у конструкторі {@link ColorXYZ}.
+     * 
+     * @param x      Вхідна площина компоненти X.
+     * @param y      Вхідна площина компоненти Y.
+     * @param z      Вхідна площина компоненти Z.
+     * @param srcOff Зміщення першого елемента у вхідних площинах.
+     * @param dst    Вихідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів для перетворення.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public static void XYZtoRGB(float[] x, float[] y, float[] z, int srcOff, int[] dst, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, x.length);
+        Objects.checkFromIndexSize(srcOff, len, y.length);
+        Objects.checkFromIndexSize(srcOff, len, z.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        if (Metrics.ENABLED) {
+            Metrics.conversion(Conversion.XYZ_TO_RGB, len);
+        }
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        ConversionKernels kernels = ConversionKernels.get();
+        Scratch scratch = SCRATCH.get();
+        float[] r = scratch.r, g = scratch.g, b = scratch.b;
+        for (int done = 0; done < len; done += KERNEL_CHUNK) {
+            int count = Math.min(KERNEL_CHUNK, len - done);
+            kernels.XYZtoLinearRGB(x, y, z, srcOff + done, r, g, b, 0, count);
+            for (int i = 0; i < count; i++) { // Зворотне гамма-перетворення за таблицею
+                dst[dstOff + done + i] = packRGBA(SRGBCompanding.fromLinear8(r[i]),
+                        SRGBCompanding.fromLinear8(g[i]), SRGBCompanding.fromLinear8(b[i]), 255);
+            }
+        }
+        event.finish(Conversion.XYZ_TO_RGB, len, kernels.name());
+    }
+
+    /**
+     * Пакує компоненти RGBA у ціле число у форматі {@link ColorRGBA#valueInt()},
+     * обмежуючи їх так само, як конструктор {@link ColorRGBA}.
+     * 
+     * @param r Червона компонента.
+     * @param g Зелена компонента.
+     * @param b Синя компонента.
+     * @param a Непрозорість.
+     * @return Упакований колір RGBA.
+     */
+    private static int packRGBA(int r, int g, int b, int a) {
+        return (clamp(r, 0, 255) << 24) | (clamp(g, 0, 255) << 16) | (clamp(b, 0, 255) << 8) | clamp(a, 0, 255);
+    }
+
+    /**
+     * Обмежує значення у заданих межах.
+     * 
+     * @param value Значення для обмеження.
+     * @param min   Мінімальне значення.
+     * @param max   Максимальне значення.
+     * @return Обмежене значення.
+     */
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Проміжні площини пакетних перетворень одного потоку. Площини мають
+     * розмір {@value #KERNEL_CHUNK} елементів і створюються один раз, тому
+     * повторні пакетні виклики (наприклад, для кожного рядка зображення) не
+     * виділяють і не обнуляють пам'ять. Пакетні методи не викликають один
+     * одного, тож площини ніколи не використовуються двома викликами одночасно.
+     */
+    private static final class Scratch {
+        private final float[] r = new float[KERNEL_CHUNK], g = new float[KERNEL_CHUNK], b = new float[KERNEL_CHUNK];
+        private final float[] c = new float[KERNEL_CHUNK], m = new float[KERNEL_CHUNK];
+        private final float[] y = new float[KERNEL_CHUNK], k = new float[KERNEL_CHUNK];
+        private final int[] max = new int[KERNEL_CHUNK], delta = new int[KERNEL_CHUNK];
     }
 }
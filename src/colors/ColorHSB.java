@@ -4,7 +4,7 @@ package colors;
  * Клас ColorHSB представляє колір у моделі HSB.
  * H - відтінок, S - насиченість, B - яскравість.
  */
-public class ColorHSB extends Color {
+public final class ColorHSB extends Color {
     private int h, s, b;
 
     /**
@@ -4,7 +4,7 @@ package colors;
  * Клас ColorRGBA представляє колір у моделі RGBA.
  * Містить компоненти червоного, зеленого, синього та альфа-каналу.
  */
-public class ColorRGBA extends Color {
+public final class ColorRGBA extends Color {
     private int r, g, b, a;
 
     /**
@@ -22,6 +22,17 @@ public class ColorRGBA extends Color {
         this.a = clamp(a);
     }
 
+    /**
+     * Створює колір RGBA з упакованого цілого значення у форматі
+     * {@link #valueInt()}.
+     * 
+     * @param rgba Упаковане значення (R, G, B, A по 8 біт).
+     * @return Колір у форматі RGBA.
+     */
+    public static ColorRGBA fromInt(int rgba) {
+        return new ColorRGBA(rgba >>> 24, (rgba >>> 16) & 0xFF, (rgba >>> 8) & 0xFF, rgba & 0xFF);
+    }
+
     /**
      * Метод для обмеження значень у межах 0-255.
      * 
@@ -89,21 +100,7 @@ public class ColorRGBA extends Color {
      */
     @Override
     public ColorXYZ toXYZ() {
-        float r = this.r / 255.0f;
-        float g = this.g / 255.0f;
-        float b = this.b / 255.0f;
-
-        // Гамма-корекція
-        r = (r > 0.04045f) ? (float) Math.pow((r + 0.055) / 1.055, 2.4) : (r / 12.92f);
-        g = (g > 0.04045f) ? (float) Math.pow((g + 0.055) / 1.055, 2.4) : (g / 12.92f);
-        b = (b > 0.04045f) ? (float) Math.pow((b + 0.055) / 1.055, 2.4) : (b / 12.92f);
-
-        // Конверсія в XYZ
-        float x = r * 0.4124564f + g * 0.3575761f + b * 0.1804375f;
-        float y = r * 0.2126729f + g * 0.7151522f + b * 0.0721750f;
-        float z = r * 0.0193339f + g * 0.1191920f + b * 0.9503041f;
-
-        return new ColorXYZ(x * 100, y * 100, z * 100);
+        return ColorConverter.RGBtoXYZ(this);
     }
 
     /**
@@ -193,4 +190,31 @@ public class ColorRGBA extends Color {
     public int getA() {
         return a;
     }
+
+    /**
+     * Порівнює колір з іншим об'єктом за компонентами R, G, B, A.
+     * 
+     * @param obj Об'єкт для порівняння.
+     * @return true, якщо обидва кольори RGBA мають однакові компоненти.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ColorRGBA)) {
+            return false;
+        }
+        return valueInt() == ((ColorRGBA) obj).valueInt();
+    }
+
+    /**
+     * Повертає хеш-код кольору, узгоджений з {@link #equals(Object)}.
+     * 
+     * @return Хеш-код кольору.
+     */
+    @Override
+    public int hashCode() {
+        return valueInt();
+    }
 }
@@ -4,7 +4,7 @@ package colors;
  * Клас ColorXYZ представляє колір у моделі XYZ.
  * X, Y, Z — значення кольору в системі XYZ.
  */
-public class ColorXYZ extends Color {
+public final class ColorXYZ extends Color {
     private float x, y, z;
 
     /**
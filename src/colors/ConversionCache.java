@@ -0,0 +1,201 @@
+package colors;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Клас ConversionCache - обмежений кеш перетворень упакованих кольорів
+ * <code>int -&gt; int</code> з фіксованою місткістю.
+ * 
+ * <p>
+ * Таблиця - масив <code>long</code>, кожен елемент якого містить пару
+ * <code>ключ &lt;&lt; 32 | значення</code>; нуль позначає порожню комірку,
+ * тому пару 0 -&gt; 0 кеш не зберігає і щоразу обчислює заново. Таблиця
+ * поділена на набори по {@value #WAYS} комірок (один рядок кешу процесора):
+ * ключ потрапляє лише у свій набір, а під час заповненого набору витісняється
+ * запис, обраний алгоритмом CLOCK за бітами звернень набору.
+ * </p>
+ * 
+ * <p>
+ * Кеш не використовує блокувань. Кожна пара читається і записується однією
+ * атомарною операцією над <code>long</code>, тож читач завжди бачить
+ * узгоджену пару, навіть якщо паралельний запис витісняє її. Одночасні
+ * промахи за одним ключем можуть обчислити значення двічі - для чистої
+ * функції перетворення це безпечно. Біти звернень і стрілка CLOCK
+ * оновлюються без синхронізації: гонки впливають лише на вибір запису для
+ * витіснення, а не на правильність результатів.
+ * </p>
+ */
+public final class ConversionCache {
+    /**
+     * Кількість комірок в одному наборі.
+     */
+    public static final int WAYS = 8;
+
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final IntUnaryOperator conversion; // Функція перетворення
+    private final long[] entries; // Пари ключ << 32 | значення
+    private final int[] clock; // Біти звернень (молодші 8 бітів) і стрілка (біти 8-10) набору
+    private final int setShift; // Зсув хешу, що дає номер набору
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Створює кеш для функції перетворення.
+     * 
+     * @param capacity   Бажана кількість записів; округлюється вгору до
+     *                   степеня двійки, не меншого за {@value #WAYS}.
+     * @param conversion Чиста функція перетворення упакованого кольору.
+     * @throws IllegalArgumentException якщо місткість не додатна або
+     *                                  перевищує 2^30.
+     */
+    public ConversionCache(int capacity, IntUnaryOperator conversion) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Неправильна місткість кешу: " + capacity);
+        }
+        int size = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.conversion = conversion;
+        this.entries = new long[size];
+        this.clock = new int[size / WAYS];
+        this.setShift = 32 - Integer.numberOfTrailingZeros(size / WAYS);
+    }
+
+    /**
+     * Повертає перетворений колір, обчислюючи та запам'ятовуючи його під час
+     * промаху.
+     * 
+     * @param key Упакований вхідний колір.
+     * @return Упакований результат перетворення.
+     */
+    public int apply(int key) {
+        int set = set(key);
+        int base = set * WAYS;
+        for (int way = 0; way < WAYS; way++) {
+            long entry = (long) ENTRIES.getOpaque(entries, base + way);
+            if ((int) (entry >>> 32) == key && entry != 0) {
+                hits.increment();
+                int bits = clock[set];
+                if ((bits & (1 << way)) == 0) {
+                    clock[set] = bits | (1 << way);
+                }
+                return (int) entry;
+            }
+        }
+        misses.increment();
+        int value = conversion.applyAsInt(key);
+        long entry = ((long) key << 32) | (value & 0xFFFFFFFFL);
+        if (entry != 0) {
+            insert(set, base, entry);
+        }
+        return value;
+    }
+
+    /**
+     * Записує пару у набір: у першу порожню комірку або на місце запису,
+     * обраного стрілкою CLOCK.
+     * 
+     * @param set   Номер набору.
+     * @param base  Індекс першої комірки набору.
+     * @param entry Пара для запису.
+     */
+    private void insert(int set, int base, long entry) {
+        for (int way = 0; way < WAYS; way++) {
+            if ((long) ENTRIES.getOpaque(entries, base + way) == 0) {
+                ENTRIES.setOpaque(entries, base + way, entry);
+                return;
+            }
+        }
+        int bits = clock[set];
+        int hand = (bits >>> WAYS) & (WAYS - 1);
+        while ((bits & (1 << hand)) != 0) { // Друга спроба для записів, до яких зверталися
+            bits &= ~(1 << hand);
+            hand = (hand + 1) & (WAYS - 1);
+        }
+        ENTRIES.setOpaque(entries, base + hand, entry);
+        clock[set] = (bits & ((1 << WAYS) - 1)) | (((hand + 1) & (WAYS - 1)) << WAYS);
+        evictions.increment();
+    }
+
+    /**
+     * Обчислює номер набору для ключа мультиплікативним хешуванням.
+     * 
+     * @param key Ключ.
+     * @return Номер набору.
+     */
+    private int set(int key) {
+        return setShift == 32 ? 0 : (key * 0x9E3779B9) >>> setShift;
+    }
+
+    /**
+     * Очищає кеш. Статистика звернень не скидається.
+     */
+    public void clear() {
+        for (int k = 0; k < entries.length; k++) {
+            ENTRIES.setOpaque(entries, k, 0L);
+        }
+        Arrays.fill(clock, 0);
+    }
+
+    /**
+     * Повертає кількість записів, які може містити кеш.
+     * 
+     * @return Місткість кешу.
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Повертає кількість влучань.
+     * 
+     * @return Кількість звернень, обслужених з кешу.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Повертає кількість промахів.
+     * 
+     * @return Кількість звернень, для яких виконувалося перетворення.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Повертає кількість витіснених записів.
+     * 
+     * @return Кількість записів, заміщених алгоритмом CLOCK.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Повертає частку влучань серед усіх звернень.
+     * 
+     * @return Частка влучань від 0 до 1 (0, якщо звернень не було).
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Повертає рядок зі статистикою кешу.
+     * 
+     * @return Місткість, влучання, промахи та витіснення.
+     */
+    @Override
+    public String toString() {
+        return "ConversionCache[capacity=" + capacity() + ", hits=" + hits() + ", misses=" + misses()
+                + ", evictions=" + evictions() + "]";
+    }
+}
@@ -0,0 +1,150 @@
+package colors;
+
+/**
+ * Абстрактний клас ConversionKernels описує обчислювальні ядра для
+ * перетворень над площинами компонент (окремими масивами <code>float[]</code>
+ * для кожної компоненти) та над масивами упакованих кольорів.
+ * 
+ * <p>
+ * Метод {@link #get()} повертає найкращу доступну реалізацію. Якщо під час
+ * запуску JVM підключено модуль <code>jdk.incubator.vector</code>
+ * (<code>--add-modules jdk.incubator.vector</code>) і на шляху класів є
+ * необов'язковий модуль <code>colors.simd.VectorConversionKernels</code>
+ * (каталог <code>vector/</code>), використовуються SIMD-ядра Vector API.
+ * Інакше використовується скалярна реалізація. Обидві реалізації виконують
+ * однакові операції в однаковому порядку, тому їхні результати збігаються
+ * побітово.
+ * </p>
+ */
+public abstract class ConversionKernels {
+    // Матриця перетворення лінійного sRGB (D65) у XYZ (спільна з ColorConverter)
+    protected static final float X_R = ColorConverter.X_R, X_G = ColorConverter.X_G, X_B = ColorConverter.X_B;
+    protected static final float Y_R = ColorConverter.Y_R, Y_G = ColorConverter.Y_G, Y_B = ColorConverter.Y_B;
+    protected static final float Z_R = ColorConverter.Z_R, Z_G = ColorConverter.Z_G, Z_B = ColorConverter.Z_B;
+
+    // Обернена матриця перетворення XYZ у лінійний sRGB (D65)
+    protected static final float R_X = ColorConverter.R_X, R_Y = ColorConverter.R_Y, R_Z = ColorConverter.R_Z;
+    protected static final float G_X = ColorConverter.G_X, G_Y = ColorConverter.G_Y, G_Z = ColorConverter.G_Z;
+    protected static final float B_X = ColorConverter.B_X, B_Y = ColorConverter.B_Y, B_Z = ColorConverter.B_Z;
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS = "colors.simd.VectorConversionKernels";
+
+    private static final ConversionKernels SCALAR = new ScalarConversionKernels();
+    private static final ConversionKernels BEST = load();
+
+    /**
+     * Конструктор для реалізацій ядер.
+     */
+    protected ConversionKernels() {
+        // Реалізації не мають стану
+    }
+
+    /**
+     * Повертає найкращу доступну реалізацію ядер.
+     * 
+     * @return SIMD-ядра, якщо доступні, інакше скалярні ядра.
+     */
+    public static ConversionKernels get() {
+        return BEST;
+    }
+
+    /**
+     * Повертає скалярну реалізацію ядер.
+     * 
+     * @return Скалярні ядра.
+     */
+    public static ConversionKernels scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Завантажує SIMD-ядра, якщо модуль Vector API підключено, інакше повертає
+     * скалярні ядра.
+     * 
+     * @return Обрана реалізація ядер.
+     */
+    private static ConversionKernels load() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            return (ConversionKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+
+    /**
+     * Повертає назву реалізації.
+     * 
+     * @return Назва реалізації (наприклад, "scalar").
+     */
+    public abstract String name();
+
+    /**
+     * Множить лінійні компоненти RGB (0-1) на матрицю sRGB -> XYZ і записує
+     * компоненти X, Y, Z, масштабовані до 0-100 та обмежені цим діапазоном.
+     * 
+     * @param r      Площина лінійної червоної компоненти.
+     * @param g      Площина лінійної зеленої компоненти.
+     * @param b      Площина лінійної синьої компоненти.
+     * @param srcOff Зміщення першого елемента у вхідних площинах.
+     * @param x      Вихідна площина компоненти X.
+     * @param y      Вихідна площина компоненти Y.
+     * @param z      Вихідна площина компоненти Z.
+     * @param dstOff Зміщення першого елемента у вихідних площинах.
+     * @param len    Кількість елементів.
+     */
+    public abstract void linearRGBtoXYZ(float[] r, float[] g, float[] b, int srcOff,
+            float[] x, float[] y, float[] z, int dstOff, int len);
+
+    /**
+     * Обмежує компоненти X, Y, Z діапазоном 0-100 і множить їх на матрицю
+     * XYZ -> sRGB, записуючи лінійні компоненти RGB (без гамма-перетворення).
+     * 
+     * @param x      Площина компоненти X.
+     * @param y      Площина компоненти Y.
+     * @param z      Площина компоненти Z.
+     * @param srcOff Зміщення першого елемента у вхідних площинах.
+     * @param r      Вихідна площина лінійної червоної компоненти.
+     * @param g      Вихідна площина лінійної зеленої компоненти.
+     * @param b      Вихідна площина лінійної синьої компоненти.
+     * @param dstOff Зміщення першого елемента у вихідних площинах.
+     * @param len    Кількість елементів.
+     */
+    public abstract void XYZtoLinearRGB(float[] x, float[] y, float[] z, int srcOff,
+            float[] r, float[] g, float[] b, int dstOff, int len);
+
+    /**
+     * Перетворює компоненти RGB (0-1) у частки C, M, Y, K (0-1).
+     * 
+     * @param r      Площина червоної компоненти.
+     * @param g      Площина зеленої компоненти.
+     * @param b      Площина синьої компоненти.
+     * @param srcOff Зміщення першого елемента у вхідних площинах.
+     * @param c      Вихідна площина компоненти C.
+     * @param m      Вихідна площина компоненти M.
+     * @param y      Вихідна площина компоненти Y.
+     * @param k      Вихідна площина компоненти K.
+     * @param dstOff Зміщення першого елемента у вихідних площинах.
+     * @param len    Кількість елементів.
+     */
+    public abstract void RGBtoCMYK(float[] r, float[] g, float[] b, int srcOff,
+            float[] c, float[] m, float[] y, float[] k, int dstOff, int len);
+
+    /**
+     * Обчислює максимум і різницю між максимумом та мінімумом каналів R, G, B
+     * упакованих кольорів RGBA (перший етап перетворення RGB -> HSB у
+     * {@link FixedPointHSB}). Обчислення цілочисельні, тож наступні етапи
+     * дають результат, побітово однаковий зі скалярним перетворенням.
+     * 
+     * @param rgba   Вхідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param max    Вихідний масив максимуму каналів (0-255).
+     * @param delta  Вихідний масив різниці max - min (0-255).
+     * @param dstOff Зміщення першого елемента у вихідних масивах.
+     * @param len    Кількість елементів.
+     */
+    public abstract void maxDelta(int[] rgba, int srcOff, int[] max, int[] delta, int dstOff, int len);
+}
@@ -0,0 +1,260 @@
+package colors;
+
+/**
+ * Клас FixedPointHSB виконує перетворення між упакованими RGBA та HSB у
+ * цілочисельній арифметиці з фіксованою точкою.
+ * 
+ * <p>
+ * Результати збігаються біт у біт з попередньою реалізацією на
+ * <code>float</code>: компоненти обчислюються як точні раціональні дроби, і
+ * лише тоді, коли дріб лежить на межі відсікання (ціле значення або відстань
+ * до цілого, меншу за похибку <code>float</code>), компонента
+ * перераховується через {@link SoftFloat} у тій самій послідовності
+ * операцій, що й у <code>float</code>-версії.
+ * </p>
+ */
+final class FixedPointHSB {
+    private static final int ONE = SoftFloat.fromInt(1); // Константи у форматі float
+    private static final int TWO = SoftFloat.fromInt(2);
+    private static final int FOUR = SoftFloat.fromInt(4);
+    private static final int SIXTY = SoftFloat.fromInt(60);
+    private static final int HUNDRED = SoftFloat.fromInt(100);
+    private static final int F255 = SoftFloat.fromInt(255);
+    private static final int F360 = SoftFloat.fromInt(360);
+
+    private static final int[] UNIT = new int[256]; // N / 255 у форматі float
+    private static final int[] PERCENT = new int[256]; // N / 100 у форматі float
+    private static final int[] BRIGHT = new int[101]; // (int) (B / 100 * 255)
+    private static final int[] PALE = new int[101 * 101]; // (int) (B / 100 * (1 - S / 100) * 255)
+
+    /** Знаменник точних значень q * 255 та t * 255 (255 / 600000 = 17 / 40000). */
+    private static final int SECTOR_DEN = 40000;
+    /** Дроби, ближчі до цілого за SECTOR_DEN / MARGIN, перераховуються через SoftFloat. */
+    private static final int MARGIN = 1000;
+
+    static {
+        for (int n = 0; n < 256; n++) {
+            UNIT[n] = SoftFloat.div(SoftFloat.fromInt(n), F255);
+            PERCENT[n] = SoftFloat.div(SoftFloat.fromInt(n), HUNDRED);
+        }
+        for (int b = 0; b <= 100; b++) {
+            BRIGHT[b] = SoftFloat.toInt(SoftFloat.mul(PERCENT[b], F255));
+            for (int s = 0; s <= 100; s++) {
+                int p = SoftFloat.mul(PERCENT[b], SoftFloat.sub(ONE, PERCENT[s]));
+                PALE[b * 101 + s] = SoftFloat.toInt(SoftFloat.mul(p, F255));
+            }
+        }
+    }
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private FixedPointHSB() {
+    }
+
+    /**
+     * Конвертує упакований колір RGBA у упакований колір HSB.
+     * 
+     * @param rgba Упакований колір RGBA.
+     * @return Упакований колір HSB (h у старших 16 бітах, далі s і b).
+     */
+    static int RGBtoHSB(int rgba) {
+        int r = rgba >>> 24;
+        int g = (rgba >>> 16) & 0xFF;
+        int b = (rgba >>> 8) & 0xFF;
+        int max = Math.max(r, Math.max(g, b));
+        return RGBtoHSB(rgba, max, max - Math.min(r, Math.min(g, b)));
+    }
+
+    /**
+     * Конвертує упакований колір RGBA у упакований колір HSB, використовуючи
+     * вже обчислені максимум і різницю каналів (див.
+     * {@link ConversionKernels#maxDelta(int[], int, int[], int[], int, int)}).
+     * 
+     * @param rgba  Упакований колір RGBA.
+     * @param max   Максимальний канал R, G, B.
+     * @param delta Різниця між максимальним і мінімальним каналами.
+     * @return Упакований колір HSB (h у старших 16 бітах, далі s і b).
+     */
+    static int RGBtoHSB(int rgba, int max, int delta) {
+        int r = rgba >>> 24;
+        int g = (rgba >>> 16) & 0xFF;
+        int b = (rgba >>> 8) & 0xFF;
+        int min = max - delta;
+
+        int h = 0;
+        if (delta != 0) {
+            int num, offset;
+            if (max == r) {
+                num = 60 * (g - b);
+                offset = 0;
+            } else if (max == g) {
+                num = 60 * (b - r);
+                offset = 120;
+            } else {
+                num = 60 * (r - g);
+                offset = 240;
+            }
+            int q = Math.floorDiv(num, delta);
+            if (q * delta == num) {
+                h = emulatedHue(r, g, b, max, min);
+            } else {
+                h = q + offset;
+                if (h < 0) {
+                    h += 360;
+                }
+            }
+        }
+
+        int s = 0;
+        if (max != 0) {
+            int num = 100 * delta;
+            s = num / max;
+            if (s * max == num) {
+                int unit = SoftFloat.sub(UNIT[max], UNIT[min]);
+                s = SoftFloat.toInt(SoftFloat.mul(SoftFloat.div(unit, UNIT[max]), HUNDRED));
+            }
+        }
+
+        // Для яскравості float-версія завжди дає точне значення 100 * max / 255
+        return (h << 16) | (s << 8) | (100 * max / 255);
+    }
+
+    /**
+     * Конвертує упакований колір HSB у упакований колір RGBA (альфа = 255).
+     * Компоненти поза діапазонами HSB обробляються повністю через
+     * {@link SoftFloat}.
+     * 
+     * @param hsb Упакований колір HSB.
+     * @return Упакований колір RGBA.
+     */
+    static int HSBtoRGB(int hsb) {
+        int h = hsb >>> 16;
+        int s = (hsb >>> 8) & 0xFF;
+        int b = hsb & 0xFF;
+        if (h > 360 || s > 100 || b > 100) {
+            return emulatedRGB(h, s, b);
+        }
+
+        int i = h / 60 % 6;
+        int f = h - 60 * i; // f * 60
+        int v = BRIGHT[b];
+        int p = PALE[b * 101 + s];
+        int q = 0, t = 0;
+        if (i != 0 && i != 2 && i != 4) {
+            q = sectorChannel(17 * b * (6000 - f * s), h, s, b, false);
+        } else {
+            t = sectorChannel(17 * b * (6000 - (60 - f) * s), h, s, b, true);
+        }
+
+        return switch (i) {
+            case 0 -> pack(v, t, p);
+            case 1 -> pack(q, v, p);
+            case 2 -> pack(p, v, t);
+            case 3 -> pack(p, q, v);
+            case 4 -> pack(t, p, v);
+            default -> pack(v, p, q);
+        };
+    }
+
+    /**
+     * Обчислює канал q * 255 або t * 255 з точного дробу
+     * <code>num / SECTOR_DEN</code>, перераховуючи його через
+     * {@link SoftFloat}, якщо дріб занадто близький до цілого.
+     * 
+     * @param num     Чисельник точного значення.
+     * @param h       Відтінок.
+     * @param s       Насиченість.
+     * @param b       Яскравість.
+     * @param rising  true для t, false для q.
+     * @return Значення каналу до обмеження.
+     */
+    private static int sectorChannel(int num, int h, int s, int b, boolean rising) {
+        if (num <= 0) {
+            return 0;
+        }
+        int k = num / SECTOR_DEN;
+        int rest = num - k * SECTOR_DEN;
+        if (rest * MARGIN >= SECTOR_DEN && (SECTOR_DEN - rest) * MARGIN >= SECTOR_DEN) {
+            return k;
+        }
+        int hf = SoftFloat.fromInt(h);
+        int sf = PERCENT[s];
+        int f = SoftFloat.sub(SoftFloat.div(hf, SIXTY), SoftFloat.fromInt(h / 60 % 6));
+        int x = rising ? SoftFloat.sub(ONE, f) : f;
+        int channel = SoftFloat.mul(PERCENT[b], SoftFloat.sub(ONE, SoftFloat.mul(x, sf)));
+        return SoftFloat.toInt(SoftFloat.mul(channel, F255));
+    }
+
+    /**
+     * Обчислює відтінок у тій самій послідовності операцій float, що й
+     * <code>float</code>-версія перетворення.
+     * 
+     * @param r   Червона компонента.
+     * @param g   Зелена компонента.
+     * @param b   Синя компонента.
+     * @param max Максимальна компонента.
+     * @param min Мінімальна компонента.
+     * @return Відтінок після відсікання дробової частини.
+     */
+    private static int emulatedHue(int r, int g, int b, int max, int min) {
+        int delta = SoftFloat.sub(UNIT[max], UNIT[min]);
+        int h;
+        if (max == r) {
+            h = SoftFloat.div(SoftFloat.sub(UNIT[g], UNIT[b]), delta);
+        } else if (max == g) {
+            h = SoftFloat.add(SoftFloat.div(SoftFloat.sub(UNIT[b], UNIT[r]), delta), TWO);
+        } else {
+            h = SoftFloat.add(SoftFloat.div(SoftFloat.sub(UNIT[r], UNIT[g]), delta), FOUR);
+        }
+        h = SoftFloat.mul(h, SIXTY);
+        if (SoftFloat.isNegative(h)) {
+            h = SoftFloat.add(h, F360);
+        }
+        return SoftFloat.toInt(h);
+    }
+
+    /**
+     * Повністю емулює <code>float</code>-версію перетворення HSB у RGB.
+     * 
+     * @param h Відтінок.
+     * @param s Насиченість.
+     * @param b Яскравість.
+     * @return Упакований колір RGBA.
+     */
+    private static int emulatedRGB(int h, int s, int b) {
+        int hf = SoftFloat.fromInt(h);
+        int sf = PERCENT[s];
+        int bf = PERCENT[b];
+        int i = h / 60 % 6;
+        int f = SoftFloat.sub(SoftFloat.div(hf, SIXTY), SoftFloat.fromInt(i));
+        int v = SoftFloat.toInt(SoftFloat.mul(bf, F255));
+        int p = SoftFloat.toInt(SoftFloat.mul(SoftFloat.mul(bf, SoftFloat.sub(ONE, sf)), F255));
+        int q = SoftFloat.toInt(SoftFloat.mul(
+                SoftFloat.mul(bf, SoftFloat.sub(ONE, SoftFloat.mul(f, sf))), F255));
+        int t = SoftFloat.toInt(SoftFloat.mul(
+                SoftFloat.mul(bf, SoftFloat.sub(ONE, SoftFloat.mul(SoftFloat.sub(ONE, f), sf))), F255));
+
+        return switch (i) {
+            case 0 -> pack(v, t, p);
+            case 1 -> pack(q, v, p);
+            case 2 -> pack(p, v, t);
+            case 3 -> pack(p, q, v);
+            case 4 -> pack(t, p, v);
+            default -> pack(v, p, q);
+        };
+    }
+
+    /**
+     * Пакує канали у RGBA з альфою 255, обмежуючи їх діапазоном 0–255.
+     * 
+     * @param r Червона компонента.
+     * @param g Зелена компонента.
+     * @param b Синя компонента.
+     * @return Упакований колір RGBA.
+     */
+    private static int pack(int r, int g, int b) {
+        return (Math.max(0, Math.min(255, r)) << 24) | (Math.max(0, Math.min(255, g)) << 16)
+                | (Math.max(0, Math.min(255, b)) << 8) | 0xFF;
+    }
+}
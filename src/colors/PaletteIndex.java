@@ -0,0 +1,334 @@
+package colors;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Клас PaletteIndex знаходить найближчий колір фіксованої палітри для
+ * довільного упакованого кольору RGBA.
+ * 
+ * <p>
+ * Кольори палітри зберігаються у збалансованому k-d дереві в просторі
+ * {@link Space#RGB} (канали 0-255) або {@link Space#XYZ} (координати
+ * {@link ColorXYZ}), тому пошук займає в середньому O(log P) замість
+ * лінійного перегляду всієї палітри. Відстань - квадрат евклідової; альфа-канал
+ * не враховується. Серед рівновіддалених кольорів обирається колір з
+ * найменшим індексом, тож результат збігається з лінійним пошуком.
+ * </p>
+ * 
+ * <p>
+ * Дерево зберігається неявно: вузол діапазону <code>[lo, hi)</code> - його
+ * середній елемент, ліве піддерево - <code>[lo, mid)</code>, праве -
+ * <code>(mid, hi)</code>. Повторні запити обслуговує невеликий
+ * {@link ConversionCache}, тож екземпляр можна безпечно використовувати з
+ * кількох потоків.
+ * </p>
+ */
+public final class PaletteIndex {
+    /**
+     * Простір, у якому вимірюється відстань між кольорами.
+     */
+    public enum Space {
+        /** Канали RGB без гамма-перетворення (0-255). */
+        RGB,
+        /** Координати {@link ColorXYZ} (CIE XYZ, D65), як у {@link ColorConverter#RGBtoXYZ(ColorRGBA)}. */
+        XYZ
+    }
+
+    /**
+     * Місткість кешу запитів за замовчуванням.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 4096;
+
+    private final Space space; // Простір відстаней
+    private final int[] palette; // Кольори палітри у вихідному порядку
+    private final float[] coords; // Координати вузлів дерева (по 3 на вузол)
+    private final int[] order; // Індекс у палітрі для кожного вузла дерева
+    private final byte[] axis; // Вісь поділу кожного вузла
+    private final ConversionCache cache; // Кеш запитів (null, якщо вимкнено)
+
+    /**
+     * Створює індекс палітри з кешем запитів місткістю
+     * {@value #DEFAULT_CACHE_CAPACITY}.
+     * 
+     * @param palette Кольори палітри у форматі {@link ColorRGBA#valueInt()}.
+     * @param space   Простір відстаней.
+     * @throws IllegalArgumentException якщо палітра порожня.
+     */
+    public PaletteIndex(int[] palette, Space space) {
+        this(palette, space, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Створює індекс палітри.
+     * 
+     * @param palette       Кольори палітри у форматі
+     *                      {@link ColorRGBA#valueInt()}.
+     * @param space         Простір відстаней.
+     * @param cacheCapacity Місткість кешу запитів (0 - без кешу).
+     * @throws IllegalArgumentException якщо палітра порожня або місткість
+     *                                  кешу від'ємна.
+     */
+    public PaletteIndex(int[] palette, Space space, int cacheCapacity) {
+        if (palette.length == 0) {
+            throw new IllegalArgumentException("Палітра не може бути порожньою");
+        }
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("Неправильна місткість кешу: " + cacheCapacity);
+        }
+        this.space = Objects.requireNonNull(space);
+        this.palette = palette.clone();
+        int size = palette.length;
+        float[] points = new float[size * 3];
+        for (int k = 0; k < size; k++) {
+            point(palette[k], points, k * 3);
+        }
+        this.coords = new float[size * 3];
+        this.order = new int[size];
+        this.axis = new byte[size];
+        Integer[] items = new Integer[size];
+        for (int k = 0; k < size; k++) {
+            items[k] = k;
+        }
+        build(items, points, 0, size);
+        for (int k = 0; k < size; k++) {
+            order[k] = items[k];
+            System.arraycopy(points, items[k] * 3, coords, k * 3, 3);
+        }
+        this.cache = cacheCapacity == 0 ? null : new ConversionCache(cacheCapacity, this::search);
+    }
+
+    /**
+     * Будує піддерево на діапазоні <code>[lo, hi)</code>: обирає вісь з
+     * найбільшим розкидом і розміщує медіану в середині діапазону.
+     * 
+     * @param items  Індекси кольорів палітри, що впорядковуються на місці.
+     * @param points Координати кольорів палітри.
+     * @param lo     Початок діапазону (включно).
+     * @param hi     Кінець діапазону (виключно).
+     */
+    private void build(Integer[] items, float[] points, int lo, int hi) {
+        if (hi - lo <= 0) {
+            return;
+        }
+        int best = 0;
+        float bestSpread = -1;
+        for (int a = 0; a < 3; a++) {
+            float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+            for (int k = lo; k < hi; k++) {
+                float v = points[items[k] * 3 + a];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (max - min > bestSpread) {
+                bestSpread = max - min;
+                best = a;
+            }
+        }
+        int a = best;
+        Arrays.sort(items, lo, hi, (p, q) -> Float.compare(points[p * 3 + a], points[q * 3 + a]));
+        int mid = (lo + hi) >>> 1;
+        axis[mid] = (byte) a;
+        build(items, points, lo, mid);
+        build(items, points, mid + 1, hi);
+    }
+
+    /**
+     * Повертає індекс найближчого кольору палітри.
+     * 
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @return Індекс кольору у палітрі.
+     */
+    public int nearest(int rgba) {
+        return cache != null ? cache.apply(rgba) : search(rgba);
+    }
+
+    /**
+     * Повертає найближчий колір палітри.
+     * 
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @return Колір палітри у форматі {@link ColorRGBA#valueInt()}.
+     */
+    public int nearestColor(int rgba) {
+        return palette[nearest(rgba)];
+    }
+
+    /**
+     * Пакетно знаходить індекси найближчих кольорів палітри для ділянки
+     * масиву. Однакові сусідні кольори обробляються одним пошуком.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param dst    Вихідний масив індексів палітри.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public void nearest(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        Objects.checkFromIndexSize(srcOff, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        int last = 0, lastIndex = -1;
+        for (int i = 0; i < len; i++) {
+            int rgba = src[srcOff + i];
+            if (rgba != last || lastIndex < 0) {
+                last = rgba;
+                lastIndex = nearest(rgba);
+            }
+            dst[dstOff + i] = lastIndex;
+        }
+    }
+
+    /**
+     * Пакетно замінює кольори ділянки масиву найближчими кольорами палітри.
+     * 
+     * @param src    Вхідний масив у форматі {@link ColorRGBA#valueInt()}.
+     * @param srcOff Зміщення першого елемента у вхідному масиві.
+     * @param dst    Вихідний масив у форматі {@link ColorRGBA#valueInt()};
+     *               може збігатися з вхідним.
+     * @param dstOff Зміщення першого елемента у вихідному масиві.
+     * @param len    Кількість елементів.
+     * @throws IndexOutOfBoundsException якщо ділянка виходить за межі масиву.
+     */
+    public void remap(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        nearest(src, srcOff, dst, dstOff, len);
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = palette[dst[dstOff + i]];
+        }
+    }
+
+    /**
+     * Повертає копію палітри.
+     * 
+     * @return Кольори палітри у вихідному порядку.
+     */
+    public int[] getPalette() {
+        return palette.clone();
+    }
+
+    /**
+     * Повертає кількість кольорів у палітрі.
+     * 
+     * @return Розмір палітри.
+     */
+    public int size() {
+        return palette.length;
+    }
+
+    /**
+     * Повертає простір відстаней.
+     * 
+     * @return Простір, у якому побудовано індекс.
+     */
+    public Space getSpace() {
+        return space;
+    }
+
+    /**
+     * Повертає кеш запитів для перегляду статистики.
+     * 
+     * @return Кеш або null, якщо кеш вимкнено.
+     */
+    public ConversionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Знаходить найближчий колір обходом дерева без кешу.
+     * 
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @return Індекс кольору у палітрі.
+     */
+    private int search(int rgba) {
+        float[] query = new float[3];
+        point(rgba, query, 0);
+        Nearest best = new Nearest();
+        search(query, 0, order.length, best);
+        return best.index;
+    }
+
+    /**
+     * Обходить піддерево діапазону <code>[lo, hi)</code>, спершу з боку
+     * запиту, і відкидає іншу половину, якщо площина поділу далі за
+     * найкращий знайдений колір.
+     * 
+     * @param query Координати запиту.
+     * @param lo    Початок діапазону (включно).
+     * @param hi    Кінець діапазону (виключно).
+     * @param best  Найкращий знайдений колір.
+     */
+    private void search(float[] query, int lo, int hi, Nearest best) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int base = mid * 3;
+            float dx = query[0] - coords[base];
+            float dy = query[1] - coords[base + 1];
+            float dz = query[2] - coords[base + 2];
+            float distance = dx * dx + dy * dy + dz * dz;
+            int index = order[mid];
+            if (distance < best.distance || (distance == best.distance && index < best.index)) {
+                best.distance = distance;
+                best.index = index;
+            }
+            float diff = query[axis[mid]] - coords[base + axis[mid]];
+            int nearLo, nearHi, farLo, farHi;
+            if (diff < 0) {
+                nearLo = lo;
+                nearHi = mid;
+                farLo = mid + 1;
+                farHi = hi;
+            } else {
+                nearLo = mid + 1;
+                nearHi = hi;
+                farLo = lo;
+                farHi = mid;
+            }
+            search(query, nearLo, nearHi, best);
+            if (diff * diff > best.distance) {
+                return;
+            }
+            lo = farLo; // Дальня половина обходиться у тому ж циклі
+            hi = farHi;
+        }
+    }
+
+    /**
+     * Обчислює координати кольору у просторі індексу.
+     * 
+     * @param rgba   Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @param target Масив для координат.
+     * @param offset Зміщення першої координати.
+     */
+    private void point(int rgba, float[] target, int offset) {
+        if (space == Space.RGB) {
+            target[offset] = rgba >>> 24;
+            target[offset + 1] = (rgba >>> 16) & 0xFF;
+            target[offset + 2] = (rgba >>> 8) & 0xFF;
+        } else {
+            float r = SRGBCompanding.toLinear(rgba >>> 24);
+            float g = SRGBCompanding.toLinear(rgba >>> 16);
+            float b = SRGBCompanding.toLinear(rgba >>> 8);
+            // Ті самі обчислення та обмеження 0-100, що й у ColorXYZ
+            target[offset] = clamp((r * ColorConverter.X_R + g * ColorConverter.X_G + b * ColorConverter.X_B) * 100);
+            target[offset + 1] = clamp((r * ColorConverter.Y_R + g * ColorConverter.Y_G + b * ColorConverter.Y_B) * 100);
+            target[offset + 2] = clamp((r * ColorConverter.Z_R + g * ColorConverter.Z_G + b * ColorConverter.Z_B) * 100);
+        }
+    }
+
+    /**
+     * Обмежує координату XYZ діапазоном 0-100.
+     * 
+     * @param value Значення для обмеження.
+     * @return Обмежене значення.
+     */
+    private static float clamp(float value) {
+        return Math.max(0, Math.min(100, value));
+    }
+
+    /**
+     * Найкращий колір, знайдений під час обходу дерева.
+     */
+    private static final class Nearest {
+        private float distance = Float.POSITIVE_INFINITY; // Квадрат відстані
+        private int index = Integer.MAX_VALUE; // Індекс у палітрі
+    }
+}
@@ -0,0 +1,86 @@
+package colors;
+
+/**
+ * Клас SRGBCompanding реалізує гамма-перетворення (компандування) sRGB на
+ * основі таблиць.
+ * 
+ * <p>
+ * Перехід від 8-бітної компоненти sRGB до лінійного значення виконується
+ * точною таблицею з 256 елементів, обчисленою тією ж формулою, що й раніше
+ * використовувалася у {@link ColorRGBA#toXYZ()}. Зворотний перехід від
+ * лінійного значення до sRGB виконується за таблицею з
+ * {@value #ENCODE_STEPS} відрізків з лінійною інтерполяцією між вузлами.
+ * Обидва напрями перетворень RGB і XYZ у {@link ColorConverter}
+ * використовують цей клас, тому вони узгоджені між собою.
+ * </p>
+ */
+public final class SRGBCompanding {
+    /**
+     * Кількість відрізків таблиці зворотного перетворення на проміжку [0, 1].
+     */
+    public static final int ENCODE_STEPS = 1 << 12;
+
+    private static final float[] TO_LINEAR = new float[256]; // 8-бітний sRGB -> лінійне значення
+    private static final float[] TO_SRGB = new float[ENCODE_STEPS + 1]; // Лінійне значення у вузлах -> sRGB
+
+    static {
+        for (int v = 0; v < 256; v++) {
+            float c = v / 255.0f;
+            TO_LINEAR[v] = (c > 0.04045f) ? (float) Math.pow((c + 0.055) / 1.055, 2.4) : (c / 12.92f);
+        }
+        for (int k = 0; k <= ENCODE_STEPS; k++) {
+            double linear = (double) k / ENCODE_STEPS;
+            TO_SRGB[k] = (float) (linear <= 0.0031308
+                    ? linear * 12.92
+                    : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055);
+        }
+    }
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private SRGBCompanding() {
+    }
+
+    /**
+     * Перетворює 8-бітну компоненту sRGB у лінійне значення.
+     * 
+     * @param channel Компонента sRGB (0-255).
+     * @return Лінійне значення (0-1).
+     */
+    public static float toLinear(int channel) {
+        return TO_LINEAR[channel & 0xFF];
+    }
+
+    /**
+     * Перетворює лінійне значення у компоненту sRGB за таблицею з лінійною
+     * інтерполяцією.
+     * 
+     * @param linear Лінійне значення; значення поза проміжком [0, 1]
+     *               обмежуються.
+     * @return Компонента sRGB (0-1).
+     */
+    public static float fromLinear(float linear) {
+        if (!(linear > 0)) {
+            return 0; // Також обробляє NaN
+        }
+        if (linear >= 1) {
+            return 1;
+        }
+        float position = linear * ENCODE_STEPS;
+        int index = (int) position;
+        float low = TO_SRGB[index];
+        return low + (TO_SRGB[index + 1] - low) * (position - index);
+    }
+
+    /**
+     * Перетворює лінійне значення у 8-бітну компоненту sRGB з округленням.
+     * 
+     * @param linear Лінійне значення; значення поза проміжком [0, 1]
+     *               обмежуються.
+     * @return Компонента sRGB (0-255).
+     */
+    public static int fromLinear8(float linear) {
+        return Math.round(fromLinear(linear) * 255);
+    }
+}
@@ -0,0 +1,61 @@
+package colors;
+
+/**
+ * Скалярна реалізація ядер {@link ConversionKernels}, що використовується,
+ * коли Vector API недоступний.
+ */
+final class ScalarConversionKernels extends ConversionKernels {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void linearRGBtoXYZ(float[] r, float[] g, float[] b, int srcOff,
+            float[] x, float[] y, float[] z, int dstOff, int len) {
+        for (int i = 0; i < len; i++) {
+            float ri = r[srcOff + i], gi = g[srcOff + i], bi = b[srcOff + i];
+            x[dstOff + i] = Math.max(0, Math.min(100, (ri * X_R + gi * X_G + bi * X_B) * 100));
+            y[dstOff + i] = Math.max(0, Math.min(100, (ri * Y_R + gi * Y_G + bi * Y_B) * 100));
+            z[dstOff + i] = Math.max(0, Math.min(100, (ri * Z_R + gi * Z_G + bi * Z_B) * 100));
+        }
+    }
+
+    @Override
+    public void XYZtoLinearRGB(float[] x, float[] y, float[] z, int srcOff,
+            float[] r, float[] g, float[] b, int dstOff, int len) {
+        for (int i = 0; i < len; i++) {
+            float xi = Math.max(0, Math.min(100, x[srcOff + i])) / 100.0f;
+            float yi = Math.max(0, Math.min(100, y[srcOff + i])) / 100.0f;
+            float zi = Math.max(0, Math.min(100, z[srcOff + i])) / 100.0f;
+            r[dstOff + i] = xi * R_X - yi * R_Y - zi * R_Z;
+            g[dstOff + i] = -xi * G_X + yi * G_Y + zi * G_Z;
+            b[dstOff + i] = xi * B_X - yi * B_Y + zi * B_Z;
+        }
+    }
+
+    @Override
+    public void RGBtoCMYK(float[] r, float[] g, float[] b, int srcOff,
+            float[] c, float[] m, float[] y, float[] k, int dstOff, int len) {
+        for (int i = 0; i < len; i++) {
+            float ri = r[srcOff + i], gi = g[srcOff + i], bi = b[srcOff + i];
+            float ki = 1 - Math.max(ri, Math.max(gi, bi));
+            c[dstOff + i] = (1 - ri - ki) / (1 - ki);
+            m[dstOff + i] = (1 - gi - ki) / (1 - ki);
+            y[dstOff + i] = (1 - bi - ki) / (1 - ki);
+            k[dstOff + i] = ki;
+        }
+    }
+
+    @Override
+    public void maxDelta(int[] rgba, int srcOff, int[] max, int[] delta, int dstOff, int len) {
+        for (int i = 0; i < len; i++) {
+            int value = rgba[srcOff + i];
+            int r = value >>> 24, g = (value >>> 16) & 0xFF, b = (value >>> 8) & 0xFF;
+            int hi = Math.max(r, Math.max(g, b));
+            max[dstOff + i] = hi;
+            delta[dstOff + i] = hi - Math.min(r, Math.min(g, b));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package colors;
+
+/**
+ * Клас SoftFloat емулює арифметику IEEE 754 одинарної точності (округлення
+ * до найближчого парного) цілочисельними операціями над бітовими образами
+ * <code>float</code>, що зберігаються в <code>int</code>.
+ * 
+ * <p>
+ * Клас використовується цілочисельними перетвореннями {@link FixedPointHSB}
+ * для рідкісних значень, у яких точний раціональний результат лежить на
+ * межі відсікання, і потрібно відтворити саме те округлення, яке дає
+ * арифметика <code>float</code>. Підтримуються нормалізовані числа та нуль;
+ * денормалізовані числа, нескінченності та NaN у цих обчисленнях не
+ * виникають.
+ * </p>
+ */
+final class SoftFloat {
+    private static final int SIGN = 0x80000000;
+    private static final int MANTISSA_BITS = 23;
+    private static final int BIAS = 127;
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private SoftFloat() {
+    }
+
+    /**
+     * Перетворює ціле число у <code>float</code> (точно для
+     * |value| &lt; 2^24).
+     * 
+     * @param value Ціле число.
+     * @return Бітовий образ числа.
+     */
+    static int fromInt(int value) {
+        if (value == 0) {
+            return 0;
+        }
+        return round(value < 0, Math.abs((long) value), 0, false);
+    }
+
+    /**
+     * Відсікає дробову частину, як приведення <code>(int)</code>.
+     * 
+     * @param a Бітовий образ числа.
+     * @return Ціла частина числа, обмежена діапазоном int.
+     */
+    static int toInt(int a) {
+        if (isZero(a)) {
+            return 0;
+        }
+        long mantissa = mantissa(a);
+        int exponent = exponent(a);
+        long magnitude;
+        if (exponent >= 0) {
+            magnitude = exponent >= 8 ? 1L << 31 : Math.min(mantissa << exponent, 1L << 31);
+        } else {
+            magnitude = -exponent >= 64 ? 0 : mantissa >>> -exponent;
+        }
+        if (a >= 0) {
+            return (int) Math.min(magnitude, Integer.MAX_VALUE);
+        }
+        return (int) -magnitude;
+    }
+
+    /**
+     * Перевіряє, чи число менше за нуль (-0 не вважається від'ємним).
+     * 
+     * @param a Бітовий образ числа.
+     * @return true, якщо число від'ємне.
+     */
+    static boolean isNegative(int a) {
+        return a < 0 && !isZero(a);
+    }
+
+    /**
+     * Обчислює <code>a + b</code>.
+     * 
+     * @param a Перший доданок.
+     * @param b Другий доданок.
+     * @return Бітовий образ суми.
+     */
+    static int add(int a, int b) {
+        if (isZero(b)) {
+            return isZero(a) ? (a & b) : a;
+        }
+        if (isZero(a)) {
+            return b;
+        }
+        int ea = exponent(a), eb = exponent(b);
+        if (Math.abs(ea - eb) > 38) { // Менший доданок менший за половину ulp більшого
+            return ea > eb ? a : b;
+        }
+        int e = Math.min(ea, eb);
+        long x = mantissa(a) << (ea - e);
+        long y = mantissa(b) << (eb - e);
+        long sum = (a < 0 ? -x : x) + (b < 0 ? -y : y);
+        if (sum == 0) {
+            return 0;
+        }
+        return round(sum < 0, Math.abs(sum), e, false);
+    }
+
+    /**
+     * Обчислює <code>a - b</code>.
+     * 
+     * @param a Зменшуване.
+     * @param b Від'ємник.
+     * @return Бітовий образ різниці.
+     */
+    static int sub(int a, int b) {
+        return add(a, b ^ SIGN);
+    }
+
+    /**
+     * Обчислює <code>a * b</code>.
+     * 
+     * @param a Перший множник.
+     * @param b Другий множник.
+     * @return Бітовий образ добутку.
+     */
+    static int mul(int a, int b) {
+        boolean negative = (a ^ b) < 0;
+        if (isZero(a) || isZero(b)) {
+            return negative ? SIGN : 0;
+        }
+        return round(negative, mantissa(a) * mantissa(b), exponent(a) + exponent(b), false);
+    }
+
+    /**
+     * Обчислює <code>a / b</code> для ненульового <code>b</code>.
+     * 
+     * @param a Ділене.
+     * @param b Дільник.
+     * @return Бітовий образ частки.
+     */
+    static int div(int a, int b) {
+        boolean negative = (a ^ b) < 0;
+        if (isZero(a)) {
+            return negative ? SIGN : 0;
+        }
+        long dividend = mantissa(a) << 38; // Частка має щонайменше 38 значущих бітів
+        long divisor = mantissa(b);
+        long quotient = dividend / divisor;
+        boolean sticky = quotient * divisor != dividend;
+        return round(negative, quotient, exponent(a) - 38 - exponent(b), sticky);
+    }
+
+    /**
+     * Округлює точне значення <code>magnitude * 2^exponent</code> до 24
+     * значущих бітів за правилом "до найближчого парного".
+     * 
+     * @param negative  Знак результату.
+     * @param magnitude Ціла мантиса точного значення (більша за нуль).
+     * @param exponent  Двійковий порядок молодшого біта мантиси.
+     * @param sticky    Чи є ненульові біти нижче молодшого біта мантиси.
+     * @return Бітовий образ округленого числа.
+     */
+    private static int round(boolean negative, long magnitude, int exponent, boolean sticky) {
+        int bits = 64 - Long.numberOfLeadingZeros(magnitude);
+        long kept;
+        if (bits > MANTISSA_BITS + 1) {
+            int shift = bits - (MANTISSA_BITS + 1);
+            kept = magnitude >>> shift;
+            long rest = magnitude & ((1L << shift) - 1);
+            long half = 1L << (shift - 1);
+            if (rest > half || (rest == half && (sticky || (kept & 1) != 0))) {
+                kept++;
+                if (kept == 1L << (MANTISSA_BITS + 1)) {
+                    kept >>>= 1;
+                    shift++;
+                }
+            }
+            exponent += shift;
+        } else {
+            int shift = MANTISSA_BITS + 1 - bits;
+            kept = magnitude << shift;
+            exponent -= shift;
+        }
+        int biased = exponent + MANTISSA_BITS + BIAS;
+        return (negative ? SIGN : 0) | (biased << MANTISSA_BITS) | (int) (kept & ((1 << MANTISSA_BITS) - 1));
+    }
+
+    /**
+     * Перевіряє, чи число дорівнює +0 або -0.
+     * 
+     * @param a Бітовий образ числа.
+     * @return true для нуля.
+     */
+    private static boolean isZero(int a) {
+        return (a & ~SIGN) == 0;
+    }
+
+    /**
+     * Повертає мантису нормалізованого числа разом з неявним старшим бітом.
+     * 
+     * @param a Бітовий образ числа.
+     * @return Мантиса у діапазоні [2^23, 2^24).
+     */
+    private static long mantissa(int a) {
+        return (a & ((1 << MANTISSA_BITS) - 1)) | (1 << MANTISSA_BITS);
+    }
+
+    /**
+     * Повертає двійковий порядок молодшого біта мантиси.
+     * 
+     * @param a Бітовий образ числа.
+     * @return Порядок, такий що значення дорівнює mantissa * 2^exponent.
+     */
+    private static int exponent(int a) {
+        return ((a >>> MANTISSA_BITS) & 0xFF) - BIAS - MANTISSA_BITS;
+    }
+}
@@ -0,0 +1,45 @@
+package images;
+
+import java.util.Arrays;
+
+/**
+ * Сховище пікселів у масиві <code>int[]</code> у купі JVM.
+ */
+final class ArrayPixelStore extends PixelStore {
+    private final int[] pixels; // Упаковані значення RGBA у порядку рядків
+
+    /**
+     * Конструктор для сховища вказаного розміру.
+     * 
+     * @param size Кількість пікселів (не більше за максимальний розмір масиву).
+     */
+    ArrayPixelStore(long size) {
+        super(size);
+        this.pixels = new int[Math.toIntExact(size)];
+    }
+
+    @Override
+    int get(long index) {
+        return pixels[(int) index];
+    }
+
+    @Override
+    void set(long index, int rgba) {
+        pixels[(int) index] = rgba;
+    }
+
+    @Override
+    void fill(int rgba) {
+        Arrays.fill(pixels, rgba);
+    }
+
+    @Override
+    int[] array() {
+        return pixels;
+    }
+
+    @Override
+    String type() {
+        return "heap";
+    }
+}
@@ -0,0 +1,140 @@
+package images;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Клас BinaryImageFormat реалізує компактний двійковий формат зображень.
+ * 
+ * <p>
+ * Файл складається із заголовка довжиною {@value #HEADER_BYTES} байтів і
+ * упакованих пікселів одразу після нього. Усі поля записуються у порядку
+ * байтів little-endian:
+ * </p>
+ * <pre>
+ * 0  4 байти  сигнатура "JCIM"
+ * 4  int      версія формату (1)
+ * 8  int      кількість рядків m
+ * 12 int      кількість стовпців n
+ * 16 int      крок рядка stride (у пікселях, stride &gt;= n)
+ * 20 byte     модель кольору (1 - RGBA у форматі ColorRGBA.valueInt())
+ * 21 byte     розміщення (1 - рядки підряд, int32 little-endian на піксель)
+ * 22 short    зарезервовано
+ * 24 long     зміщення першого пікселя від початку файлу
+ * </pre>
+ */
+final class BinaryImageFormat {
+    static final int HEADER_BYTES = 32;
+    private static final int MAGIC = 'J' | 'C' << 8 | 'I' << 16 | 'M' << 24; // "JCIM" у little-endian
+    private static final int VERSION = 1;
+    private static final byte MODEL_RGBA = 1;
+    private static final byte LAYOUT_ROWS_INT32_LE = 1;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private BinaryImageFormat() {
+    }
+
+    /**
+     * Записує зображення у двійковий файл.
+     * 
+     * @param image Зображення для запису.
+     * @param path  Шлях до файлу (файл перезаписується).
+     * @return Кількість записаних байтів.
+     * @throws IOException якщо виникла помилка запису.
+     */
+    static long write(Image image, Path path) throws IOException {
+        int m = image.getRows();
+        int n = image.getColumns();
+        long stride = image.getStride();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(m).putInt(n).putInt(n)
+                    .put(MODEL_RGBA).put(LAYOUT_ROWS_INT32_LE).putShort((short) 0)
+                    .putLong(HEADER_BYTES);
+            for (int i = 0; i < m; i++) {
+                long base = i * stride;
+                for (int j = 0; j < n; j++) {
+                    if (!buffer.hasRemaining()) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putInt(image.rgbaAt(base + j));
+                }
+            }
+            drain(channel, buffer);
+            return channel.position();
+        }
+    }
+
+    /**
+     * Відкриває двійковий файл як зображення, пікселі якого читаються
+     * безпосередньо з відображеного у пам'ять файлу.
+     * 
+     * @param path     Шлях до файлу.
+     * @param writable true, щоб зміни пікселів записувалися у файл.
+     * @return Зображення, що використовує відображення файлу.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    static Image open(Path path, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE }
+                : new StandardOpenOption[] { StandardOpenOption.READ };
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Читаємо заголовок повністю
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Файл " + path + " не є двійковим зображенням");
+            }
+            int version = header.getInt(4);
+            int m = header.getInt(8);
+            int n = header.getInt(12);
+            int stride = header.getInt(16);
+            byte model = header.get(20);
+            byte layout = header.get(21);
+            long offset = header.getLong(24);
+            if (version != VERSION || model != MODEL_RGBA || layout != LAYOUT_ROWS_INT32_LE) {
+                throw new IOException("Непідтримувана версія, модель або розміщення у файлі " + path);
+            }
+            if (m < 0 || n < 0 || stride < n || offset < HEADER_BYTES) {
+                throw new IOException("Пошкоджений заголовок у файлі " + path);
+            }
+            long size = (long) m * stride;
+            long end;
+            try {
+                end = Math.addExact(offset, Math.multiplyExact(size, 4L)); // Поля заголовка задає файл
+            } catch (ArithmeticException e) {
+                throw new IOException("Пошкоджений заголовок у файлі " + path, e);
+            }
+            if (channel.size() < end) {
+                throw new IOException("Файл " + path + " коротший, ніж вказано у заголовку");
+            }
+            MappedPixelStore store = new MappedPixelStore(channel, offset, size, ByteOrder.LITTLE_ENDIAN, writable);
+            return new Image(m, n, stride, store); // Відображення лишається дійсним після закриття каналу
+        }
+    }
+
+    /**
+     * Записує вміст буфера у канал і очищує буфер.
+     * 
+     * @param channel Канал файлу.
+     * @param buffer  Буфер для запису.
+     * @throws IOException якщо виникла помилка запису.
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
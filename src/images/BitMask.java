@@ -0,0 +1,295 @@
+package images;
+
+import colors.ColorConverter;
+import metrics.MaskApplyEvent;
+import metrics.Metrics;
+
+/**
+ * Клас BitMask представляє бітову маску для зображення, у якій кожен елемент
+ * займає один біт масиву <code>long[]</code>.
+ * 
+ * <p>
+ * Кожен рядок маски вирівняний на межу 64-бітного слова, тому масові операції
+ * (об'єднання, перетин, інверсія, підрахунок) обробляють 64 пікселі за одну
+ * інструкцію, а застосування маски до зображення пропускає нульові слова.
+ * Методи {@link #setMaskValue(int, int, int)} та {@link #getMaskValue(int, int)}
+ * сумісні з класом {@link Mask}: значення 1 вмикає елемент, будь-яке інше
+ * значення вимикає його.
+ * </p>
+ */
+public class BitMask {
+    private int m, n; // Розміри маски
+    private int wordsPerRow; // Кількість 64-бітних слів на один рядок
+    private long[] words; // Біти маски, рядок за рядком
+
+    /**
+     * Інтерфейс для обходу встановлених елементів маски.
+     */
+    @FunctionalInterface
+    public interface CellVisitor {
+        /**
+         * Викликається для кожного елемента маски зі значенням 1.
+         * 
+         * @param i Індекс рядка.
+         * @param j Індекс стовпця.
+         */
+        void visit(int i, int j);
+    }
+
+    /**
+     * Конструктор для створення порожньої бітової маски з вказаними розмірами.
+     * 
+     * @param m Кількість рядків.
+     * @param n Кількість стовпців.
+     */
+    public BitMask(int m, int n) {
+        this.m = m;
+        this.n = n;
+        this.wordsPerRow = (n + 63) >>> 6;
+        this.words = new long[Math.multiplyExact(m, wordsPerRow)];
+    }
+
+    /**
+     * Створює бітову маску з маски {@link Mask}. Елементи зі значенням 1 стають
+     * встановленими бітами.
+     * 
+     * @param mask Маска для перетворення.
+     * @return Нова бітова маска тих самих розмірів.
+     */
+    public static BitMask fromMask(Mask mask) {
+        BitMask result = new BitMask(mask.getRows(), mask.getColumns());
+        for (int i = 0; i < result.m; i++) {
+            for (int j = 0; j < result.n; j++) {
+                if (mask.getMaskValue(i, j) == 1) {
+                    result.words[i * result.wordsPerRow + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Встановлює значення для конкретного елемента маски.
+     * 
+     * @param i     Індекс рядка.
+     * @param j     Індекс стовпця.
+     * @param value Значення для установки (1 вмикає елемент, інше значення
+     *              вимикає).
+     */
+    public void setMaskValue(int i, int j, int value) {
+        if (isValidIndex(i, j)) {
+            int word = i * wordsPerRow + (j >>> 6);
+            if (value == 1) {
+                words[word] |= 1L << j;
+            } else {
+                words[word] &= ~(1L << j);
+            }
+        }
+    }
+
+    /**
+     * Повертає значення елемента маски.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return 1 або 0 для дійсних індексів, -1, якщо індекси недійсні.
+     */
+    public int getMaskValue(int i, int j) {
+        return isValidIndex(i, j) ? (int) (words[i * wordsPerRow + (j >>> 6)] >>> j) & 1 : -1;
+    }
+
+    /**
+     * Перевіряє, чи є індекси маски дійсними.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return true, якщо індекси дійсні, інакше false.
+     */
+    private boolean isValidIndex(int i, int j) {
+        return i >= 0 && i < m && j >= 0 && j < n;
+    }
+
+    /**
+     * Об'єднує (OR) поточну маску з іншою маскою тих самих розмірів.
+     * 
+     * @param other Інша маска.
+     * @return Поточна маска після зміни.
+     * @throws IllegalArgumentException якщо розміри масок відрізняються.
+     */
+    public BitMask union(BitMask other) {
+        checkSameSize(other);
+        for (int w = 0; w < words.length; w++) {
+            words[w] |= other.words[w];
+        }
+        return this;
+    }
+
+    /**
+     * Перетинає (AND) поточну маску з іншою маскою тих самих розмірів.
+     * 
+     * @param other Інша маска.
+     * @return Поточна маска після зміни.
+     * @throws IllegalArgumentException якщо розміри масок відрізняються.
+     */
+    public BitMask intersect(BitMask other) {
+        checkSameSize(other);
+        for (int w = 0; w < words.length; w++) {
+            words[w] &= other.words[w];
+        }
+        return this;
+    }
+
+    /**
+     * Інвертує всі елементи маски. Біти за межами останнього стовпця кожного
+     * рядка залишаються нульовими.
+     * 
+     * @return Поточна маска після зміни.
+     */
+    public BitMask invert() {
+        if (wordsPerRow == 0) {
+            return this;
+        }
+        long tail = (n & 63) == 0 ? -1L : (1L << n) - 1; // Дійсні біти останнього слова рядка
+        for (int i = 0; i < m; i++) {
+            int base = i * wordsPerRow;
+            for (int w = 0; w < wordsPerRow - 1; w++) {
+                words[base + w] = ~words[base + w];
+            }
+            words[base + wordsPerRow - 1] = ~words[base + wordsPerRow - 1] & tail;
+        }
+        return this;
+    }
+
+    /**
+     * Повертає кількість встановлених елементів маски.
+     * 
+     * @return Кількість елементів зі значенням 1.
+     */
+    public long cardinality() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Обходить усі встановлені елементи маски у порядку рядків, пропускаючи
+     * нульові слова.
+     * 
+     * @param visitor Обробник для кожного елемента зі значенням 1.
+     */
+    public void forEachSetBit(CellVisitor visitor) {
+        for (int i = 0; i < m; i++) {
+            int base = i * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = words[base + w];
+                while (word != 0) {
+                    visitor.visit(i, (w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1; // Скидаємо наймолодший встановлений біт
+                }
+            }
+        }
+    }
+
+    /**
+     * Застосовує маску до зображення, змінюючи яскравість кольорів, де маска має
+     * значення 1.
+     * 
+     * @param image Зображення для застосування маски.
+     */
+    public void applyToImage(Image image) {
+        applyToImage(image, Mask.DEFAULT_DARKEN_POINTS);
+    }
+
+    /**
+     * Застосовує маску до зображення, зменшуючи яскравість HSB на вказану
+     * кількість пунктів. Нульові слова маски пропускаються повністю, тому
+     * вартість розрідженої маски пропорційна кількості встановлених елементів.
+     * 
+     * @param image  Зображення для застосування маски.
+     * @param points Кількість пунктів яскравості для зменшення.
+     */
+    public void applyToImage(Image image, int points) {
+        MaskApplyEvent event = new MaskApplyEvent();
+        event.begin();
+        long startNanos = Metrics.ENABLED ? System.nanoTime() : 0;
+        long modified = 0;
+        int rows = Math.min(m, image.getRows());
+        int cols = Math.min(n, image.getColumns());
+        int stride = image.getStride();
+        int[] pixels = image.pixelArray(); // Швидкий шлях для зображень у купі
+        int rowWords = (cols + 63) >>> 6;
+        long tail = (cols & 63) == 0 ? -1L : (1L << cols) - 1; // Стовпці за межами зображення
+        for (int i = 0; i < rows; i++) {
+            int base = i * wordsPerRow;
+            long pixelBase = (long) i * stride;
+            for (int w = 0; w < rowWords; w++) {
+                long word = words[base + w];
+                if (w == rowWords - 1) {
+                    word &= tail;
+                }
+                modified += Long.bitCount(word);
+                if (pixels != null) {
+                    while (word != 0) {
+                        int index = (int) pixelBase + (w << 6) + Long.numberOfTrailingZeros(word);
+                        pixels[index] = ColorConverter.darkenRGBA(pixels[index], points);
+                        word &= word - 1;
+                    }
+                } else {
+                    while (word != 0) {
+                        long index = pixelBase + (w << 6) + Long.numberOfTrailingZeros(word);
+                        image.setRgbaAt(index, ColorConverter.darkenRGBA(image.rgbaAt(index), points));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.maskPass((long) rows * cols, modified, System.nanoTime() - startNanos);
+        }
+        event.finish("bit", image.getRows(), image.getColumns(), (long) rows * cols, modified,
+                image.getStorageType(), false);
+    }
+
+    /**
+     * Повертає слово бітів рядка маски для спеціалізованих ядер зображень.
+     * 
+     * @param i Індекс рядка.
+     * @param w Індекс 64-бітного слова у рядку.
+     * @return Біти стовпців від <code>64 * w</code> до <code>64 * w + 63</code>.
+     */
+    long word(int i, int w) {
+        return words[i * wordsPerRow + w];
+    }
+
+    /**
+     * Перевіряє, що інша маска має ті самі розміри.
+     * 
+     * @param other Інша маска.
+     */
+    private void checkSameSize(BitMask other) {
+        if (other.m != m || other.n != n) {
+            throw new IllegalArgumentException(
+                    "Розміри масок не збігаються: " + m + "x" + n + " і " + other.m + "x" + other.n);
+        }
+    }
+
+    /**
+     * Повертає кількість рядків маски.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return m;
+    }
+
+    /**
+     * Повертає кількість стовпців маски.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return n;
+    }
+}
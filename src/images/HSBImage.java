@@ -0,0 +1,176 @@
+package images;
+
+import colors.ColorConverter;
+import colors.ColorHSB;
+import java.util.Arrays;
+
+/**
+ * Клас HSBImage представляє зображення у моделі HSB, що зберігає пікселі
+ * безпосередньо у масиві <code>int[]</code> у форматі
+ * {@link ColorHSB#valueInt()}.
+ * 
+ * <p>
+ * Операції над яскравістю тут не потребують перетворення моделей: затемнення
+ * під маскою зводиться до віднімання від молодшого байта упакованого
+ * значення. Перетворення у RGBA і назад виконуються пакетно, один раз для
+ * всього зображення.
+ * </p>
+ */
+public final class HSBImage {
+    private final int m, n; // Розміри зображення: m - кількість рядків, n - кількість стовпців
+    private final int[] pixels; // Упаковані значення HSB у порядку рядків
+
+    /**
+     * Конструктор для створення порожнього зображення з вказаними розмірами.
+     * 
+     * @param m Кількість рядків.
+     * @param n Кількість стовпців.
+     */
+    public HSBImage(int m, int n) {
+        this.m = m;
+        this.n = n;
+        this.pixels = new int[Math.multiplyExact(m, n)];
+    }
+
+    /**
+     * Конвертує зображення у модель RGBA пакетним перетворенням
+     * {@link ColorConverter#HSBtoRGB(int[], int, int[], int, int)}.
+     * Альфа-канал результату дорівнює 255.
+     * 
+     * @return Нове зображення RGBA.
+     */
+    public RGBAImage toRGBA() {
+        RGBAImage result = new RGBAImage(m, n);
+        ColorConverter.HSBtoRGB(pixels, 0, result.pixels(), 0, pixels.length);
+        return result;
+    }
+
+    /**
+     * Ініціалізує зображення заданим кольором.
+     * 
+     * @param color Колір для заповнення зображення.
+     */
+    public void fill(ColorHSB color) {
+        Arrays.fill(pixels, color.valueInt());
+    }
+
+    /**
+     * Повертає колір пікселя у вказаних координатах.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір пікселя.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public ColorHSB getPixel(int i, int j) {
+        int hsb = getHSB(i, j);
+        return new ColorHSB(hsb >>> 16, (hsb >>> 8) & 0xFF, hsb & 0xFF);
+    }
+
+    /**
+     * Встановлює колір для конкретного пікселя.
+     * 
+     * @param i     Індекс рядка.
+     * @param j     Індекс стовпця.
+     * @param color Колір для установки.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public void setPixel(int i, int j, ColorHSB color) {
+        pixels[index(i, j)] = color.valueInt();
+    }
+
+    /**
+     * Повертає упаковане значення HSB пікселя.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір у форматі {@link ColorHSB#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public int getHSB(int i, int j) {
+        return pixels[index(i, j)];
+    }
+
+    /**
+     * Застосовує маску, зменшуючи яскравість пікселів під маскою на
+     * {@link Mask#DEFAULT_DARKEN_POINTS} пунктів.
+     * 
+     * @param mask Маска для застосування.
+     */
+    public void applyMask(BitMask mask) {
+        applyMask(mask, Mask.DEFAULT_DARKEN_POINTS);
+    }
+
+    /**
+     * Застосовує маску, зменшуючи яскравість пікселів під маскою на вказану
+     * кількість пунктів (з обмеженням 0-100). Для пікселів, отриманих з RGBA,
+     * результат після {@link #toRGBA()} збігається з
+     * {@link ColorConverter#darkenRGBA(int, int)}.
+     * 
+     * @param mask   Маска для застосування.
+     * @param points Кількість пунктів яскравості для зменшення.
+     */
+    public void applyMask(BitMask mask, int points) {
+        int rows = Math.min(mask.getRows(), m);
+        int cols = Math.min(mask.getColumns(), n);
+        int rowWords = (cols + 63) >>> 6;
+        long tail = (cols & 63) == 0 ? -1L : (1L << cols) - 1; // Стовпці за межами зображення
+        for (int i = 0; i < rows; i++) {
+            int base = i * n;
+            for (int w = 0; w < rowWords; w++) {
+                long word = w == rowWords - 1 ? mask.word(i, w) & tail : mask.word(i, w);
+                while (word != 0) {
+                    int index = base + (w << 6) + Long.numberOfTrailingZeros(word);
+                    int hsb = pixels[index];
+                    int brightness = Math.max(0, Math.min(100, (hsb & 0xFF) - points));
+                    pixels[index] = (hsb & ~0xFF) | brightness;
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Повертає кількість рядків зображення.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return m;
+    }
+
+    /**
+     * Повертає кількість стовпців зображення.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return n;
+    }
+
+    /**
+     * Повертає масив пікселів для пакетних перетворень у межах пакета.
+     * 
+     * @return Масив упакованих значень HSB (не копія).
+     */
+    int[] pixels() {
+        return pixels;
+    }
+
+    /**
+     * Обчислює індекс пікселя у масиві, перевіряючи координати.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Індекс у масиві пікселів.
+     */
+    private int index(int i, int j) {
+        if (i < 0 || i >= m || j < 0 || j >= n) {
+            throw new IndexOutOfBoundsException("Піксель (" + i + ", " + j + ") поза межами зображення " + m + "x" + n);
+        }
+        return i * n + j;
+    }
+}
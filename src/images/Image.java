@@ -1,15 +1,32 @@
 package images;
 
 import colors.Color;
-import java.io.FileWriter;
+import colors.ColorConverter;
+import colors.ColorRGBA;
 import java.io.IOException;
+import java.nio.file.Path;
+import metrics.ImageIOEvent;
+import metrics.Metrics;
 
 /**
  * Клас Image представляє зображення, що складається з матриці кольорів.
+ * 
+ * <p>
+ * Пікселі зберігаються не як об'єкти {@link Color}, а як упаковані цілі числа
+ * у форматі {@link ColorRGBA#valueInt()} (R, G, B, A по 8 біт) у порядку
+ * рядків. Піксель (i, j) знаходиться за індексом <code>i * stride + j</code>.
+ * Зображення, створене конструктором, зберігає пікселі в масиві
+ * <code>int[]</code>; зображення, відкрите методом {@link #openBinary(String)},
+ * читає їх безпосередньо з відображеного у пам'ять файлу, а зображення,
+ * створене методом {@link #offHeap(int, int)}, зберігає їх поза купою
+ * JVM. Зображення з зовнішніми ресурсами слід закривати методом
+ * {@link #close()}.
+ * </p>
  */
-public class Image {
+public class Image implements AutoCloseable {
     private int m, n; // Розміри зображення: m - кількість рядків, n - кількість стовпців
-    private Color[][] pixels; // Матриця кольорів зображення
+    private int stride; // Крок між початками сусідніх рядків у сховищі пікселів
+    private PixelStore pixels; // Упаковані значення RGBA у порядку рядків
 
     /**
      * Конструктор для створення порожнього зображення з вказаними розмірами.
@@ -20,7 +37,104 @@ public class Image {
     public Image(int m, int n) {
         this.m = m;
         this.n = n;
-        this.pixels = new Color[m][n]; // Ініціалізація матриці кольорів
+        this.stride = n;
+        this.pixels = new ArrayPixelStore((long) m * n); // Ініціалізація упакованої матриці
+    }
+
+    /**
+     * Конструктор для зображення над наявним сховищем пікселів.
+     * 
+     * @param m      Кількість рядків.
+     * @param n      Кількість стовпців.
+     * @param stride Крок рядка у сховищі.
+     * @param pixels Сховище пікселів.
+     */
+    Image(int m, int n, int stride, PixelStore pixels) {
+        this.m = m;
+        this.n = n;
+        this.stride = stride;
+        this.pixels = pixels;
+    }
+
+    /**
+     * Створює порожнє зображення, пікселі якого зберігаються поза купою JVM
+     * через Foreign Memory API. Кількість пікселів не обмежена розміром масиву
+     * Java (64-бітна адресація), а збирач сміття не сканує ці дані.
+     * 
+     * <p>
+     * Пам'ять звільняється методом {@link #close()}; після цього зображення
+     * використовувати не можна. Доступ до пікселів дозволений з будь-якого
+     * потоку, тож зображення можна передавати паралельним режимам обробки.
+     * </p>
+     * 
+     * @param m Кількість рядків.
+     * @param n Кількість стовпців.
+     * @return Нове зображення поза купою.
+     */
+    public static Image offHeap(int m, int n) {
+        return new Image(m, n, n, new SegmentPixelStore((long) m * n));
+    }
+
+    /**
+     * Відкриває зображення, збережене методом {@link #saveAsBinary(String)},
+     * лише для читання. Файл відображається у пам'ять, і пікселі читаються
+     * безпосередньо з відображення без копіювання, тому відкриття не залежить
+     * від розміру файлу. Спроба змінити пікселі такого зображення викидає
+     * {@link UnsupportedOperationException}.
+     * 
+     * @param fileName Ім'я файлу.
+     * @return Зображення, що читає пікселі з файлу.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public static Image openBinary(String fileName) throws IOException {
+        return openBinary(fileName, false);
+    }
+
+    /**
+     * Відкриває зображення, збережене методом {@link #saveAsBinary(String)}.
+     * Якщо <code>writable</code> дорівнює true, зміни пікселів записуються
+     * безпосередньо у файл.
+     * 
+     * @param fileName Ім'я файлу.
+     * @param writable true, щоб дозволити зміну пікселів у файлі.
+     * @return Зображення, що використовує відображення файлу.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public static Image openBinary(String fileName, boolean writable) throws IOException {
+        ImageIOEvent event = new ImageIOEvent();
+        event.begin();
+        Path path = Path.of(fileName);
+        Image image = BinaryImageFormat.open(path, writable);
+        event.finish("openBinary", path, image.m, image.n, image.getStorageType());
+        return image;
+    }
+
+    /**
+     * Завантажує зображення, збережене методом {@link #saveAsText(String)}.
+     * Кількість рядків зображення дорівнює кількості рядків файлу, кількість
+     * стовпців - кількості значень у першому рядку.
+     * 
+     * <p>
+     * Файл відображається у пам'ять і розбивається на частини по межах рядків,
+     * які розбираються паралельно безпосередньо у сховище пікселів. Якщо
+     * пікселів більше, ніж вміщує масив, зображення створюється поза купою
+     * (див. {@link #offHeap(int, int)}).
+     * </p>
+     * 
+     * @param fileName Ім'я файлу.
+     * @return Завантажене зображення.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public static Image loadFromText(String fileName) throws IOException {
+        ImageIOEvent event = new ImageIOEvent();
+        event.begin();
+        Path path = Path.of(fileName);
+        Image image = TextImageReader.read(path);
+        event.finish("loadText", path, image.m, image.n, image.getStorageType());
+        return image;
     }
 
     /**
@@ -29,11 +143,16 @@ public class Image {
      * @param color Кольорова модель для заповнення зображення.
      */
     public void fill(Color color) {
-        for (int i = 0; i < m; i++) {
-            for (int j = 0; j < n; j++) {
-                pixels[i][j] = color;
-            }
-        }
+        fillRGBA(ColorConverter.toPackedRGBA(color));
+    }
+
+    /**
+     * Ініціалізує зображення заданим упакованим значенням RGBA.
+     * 
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    public void fillRGBA(int rgba) {
+        pixels.fill(rgba);
     }
 
     /**
@@ -45,7 +164,7 @@ public class Image {
      */
     public void setPixel(int i, int j, Color color) {
         if (isValidPixel(i, j)) {
-            pixels[i][j] = color;
+            pixels.set((long) i * stride + j, ColorConverter.toPackedRGBA(color));
         }
     }
 
@@ -57,7 +176,34 @@ public class Image {
      * @return Колір пікселя або null, якщо координати недійсні.
      */
     public Color getPixel(int i, int j) {
-        return isValidPixel(i, j) ? pixels[i][j] : null;
+        return isValidPixel(i, j) ? ColorRGBA.fromInt(pixels.get((long) i * stride + j)) : null;
+    }
+
+    /**
+     * Повертає упаковане значення RGBA пікселя без створення об'єкта кольору.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір пікселя у форматі {@link ColorRGBA#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати недійсні.
+     */
+    public int getRGBA(int i, int j) {
+        checkPixel(i, j);
+        return pixels.get((long) i * stride + j);
+    }
+
+    /**
+     * Встановлює упаковане значення RGBA для пікселя без створення об'єкта
+     * кольору.
+     * 
+     * @param i    Індекс рядка.
+     * @param j    Індекс стовпця.
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати недійсні.
+     */
+    public void setRGBA(int i, int j, int rgba) {
+        checkPixel(i, j);
+        pixels.set((long) i * stride + j, rgba);
     }
 
     /**
@@ -71,25 +217,156 @@ public class Image {
         return i >= 0 && i < m && j >= 0 && j < n;
     }
 
+    /**
+     * Викидає виняток, якщо індекси пікселя недійсні.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     */
+    private void checkPixel(int i, int j) {
+        if (!isValidPixel(i, j)) {
+            throw new IndexOutOfBoundsException("Піксель (" + i + ", " + j + ") поза межами зображення " + m + "x" + n);
+        }
+    }
+
+    /**
+     * Повертає упаковане значення за лінійним індексом без перевірки меж.
+     * Використовується внутрішніми ядрами пакета.
+     * 
+     * @param index Індекс у сховищі пікселів (<code>i * stride + j</code>).
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    int rgbaAt(long index) {
+        return pixels.get(index);
+    }
+
+    /**
+     * Записує упаковане значення за лінійним індексом без перевірки меж.
+     * Використовується внутрішніми ядрами пакета.
+     * 
+     * @param index Індекс у сховищі пікселів (<code>i * stride + j</code>).
+     * @param rgba  Колір у форматі {@link ColorRGBA#valueInt()}.
+     */
+    void setRgbaAt(long index, int rgba) {
+        pixels.set(index, rgba);
+    }
+
+    /**
+     * Повертає масив пікселів, якщо зображення зберігається у купі.
+     * 
+     * @return Масив пікселів (не копія) або null для інших сховищ.
+     */
+    int[] pixelArray() {
+        return pixels.array();
+    }
+
+    /**
+     * Повертає нове зображення, кожен піксель якого - побітове об'єднання (OR)
+     * відповідних пікселів цього та іншого зображень. Результат збігається з
+     * {@link ColorRGBA#or(Color)} для кожного пікселя.
+     * 
+     * @param other Інше зображення тих самих розмірів.
+     * @return Нове зображення.
+     * @throws IllegalArgumentException якщо розміри зображень відрізняються.
+     */
+    public Image or(Image other) {
+        return ImageAlgebra.combine(this, other, ImageAlgebra.OR);
+    }
+
+    /**
+     * Повертає нове зображення, кожен піксель якого - побітовий перетин (AND)
+     * відповідних пікселів цього та іншого зображень. Результат збігається з
+     * {@link ColorRGBA#and(Color)} для кожного пікселя.
+     * 
+     * @param other Інше зображення тих самих розмірів.
+     * @return Нове зображення.
+     * @throws IllegalArgumentException якщо розміри зображень відрізняються.
+     */
+    public Image and(Image other) {
+        return ImageAlgebra.combine(this, other, ImageAlgebra.AND);
+    }
+
+    /**
+     * Повертає нове зображення, кожен піксель якого - побітова операція XOR
+     * відповідних пікселів цього та іншого зображень. Результат збігається з
+     * {@link ColorRGBA#xor(Color)} для кожного пікселя.
+     * 
+     * @param other Інше зображення тих самих розмірів.
+     * @return Нове зображення.
+     * @throws IllegalArgumentException якщо розміри зображень відрізняються.
+     */
+    public Image xor(Image other) {
+        return ImageAlgebra.combine(this, other, ImageAlgebra.XOR);
+    }
+
+    /**
+     * Повертає нове зображення, кожен канал кожного пікселя якого - середнє
+     * (з округленням вниз) відповідних каналів цього та іншого зображень.
+     * Результат збігається з {@link ColorRGBA#add(Color)} для кожного пікселя.
+     * 
+     * @param other Інше зображення тих самих розмірів.
+     * @return Нове зображення.
+     * @throws IllegalArgumentException якщо розміри зображень відрізняються.
+     */
+    public Image average(Image other) {
+        return ImageAlgebra.combine(this, other, ImageAlgebra.AVERAGE);
+    }
+
     /**
      * Записує зображення у файл як текст, де кожен піксель представлений у вигляді
      * цілого значення.
      * 
+     * <p>
+     * Рядки форматуються у буфери байтів без {@link String#format} (для великих
+     * зображень паралельно) і записуються через канал файлу у порядку рядків.
+     * </p>
+     * 
      * @param fileName Ім'я файлу для збереження.
      */
     public void saveAsText(String fileName) {
-        try (FileWriter writer = new FileWriter(fileName)) {
-            for (int i = 0; i < m; i++) {
-                for (int j = 0; j < n; j++) {
-                    writer.write(String.format("%d ", pixels[i][j].valueInt()));
-                }
-                writer.write("\n");
-            }
+        try {
+            writeText(fileName);
         } catch (IOException e) {
             System.out.println("Помилка запису у файл: " + e.getMessage());
         }
     }
 
+    /**
+     * Зберігає зображення у текстовий файл у форматі
+     * {@link #saveAsText(String)}, повідомляючи про помилку запису винятком
+     * замість виведення на консоль.
+     * 
+     * @param fileName Ім'я файлу для збереження.
+     * @throws IOException              якщо виникла помилка запису.
+     * @throws IllegalArgumentException якщо рядок зображення занадто довгий
+     *                                  для текстового формату.
+     */
+    public void writeText(String fileName) throws IOException {
+        ImageIOEvent event = new ImageIOEvent();
+        event.begin();
+        long startNanos = Metrics.ENABLED ? System.nanoTime() : 0;
+        long bytes = TextImageWriter.write(this, Path.of(fileName));
+        if (Metrics.ENABLED) {
+            Metrics.save(bytes, m, System.nanoTime() - startNanos);
+        }
+        event.finish("saveText", fileName, m, n, bytes, getStorageType());
+    }
+
+    /**
+     * Записує зображення у компактний двійковий файл: заголовок з розмірами,
+     * моделлю кольору та розміщенням, за яким ідуть упаковані пікселі. Такий
+     * файл відкривається методом {@link #openBinary(String)}.
+     * 
+     * @param fileName Ім'я файлу для збереження.
+     * @throws IOException якщо виникла помилка запису.
+     */
+    public void saveAsBinary(String fileName) throws IOException {
+        ImageIOEvent event = new ImageIOEvent();
+        event.begin();
+        long bytes = BinaryImageFormat.write(this, Path.of(fileName));
+        event.finish("saveBinary", fileName, m, n, bytes, getStorageType());
+    }
+
     /**
      * Виводить зображення на консоль, представляючи кожен піксель у вигляді цілого
      * значення.
@@ -97,7 +374,7 @@ public class Image {
     public void display() {
         for (int i = 0; i < m; i++) {
             for (int j = 0; j < n; j++) {
-                System.out.print(pixels[i][j].valueInt() + " ");
+                System.out.print(pixels.get((long) i * stride + j) + " ");
             }
             System.out.println();
         }
@@ -120,4 +397,34 @@ public class Image {
     public int getColumns() {
         return n;
     }
+
+    /**
+     * Звільняє ресурси сховища пікселів: пам'ять поза купою звільняється, а
+     * змінені сторінки відображеного файлу записуються на диск. Для
+     * зображення у купі JVM метод нічого не робить.
+     */
+    @Override
+    public void close() {
+        pixels.close();
+    }
+
+    /**
+     * Повертає тип сховища пікселів: "heap" для масиву у купі JVM,
+     * "mapped-ro" або "mapped-rw" для відображеного у пам'ять файлу,
+     * "offheap" для пам'яті поза купою.
+     * 
+     * @return Назва типу сховища.
+     */
+    public String getStorageType() {
+        return pixels.type();
+    }
+
+    /**
+     * Повертає крок між початками сусідніх рядків у сховищі пікселів.
+     * 
+     * @return Крок рядка (у пікселях).
+     */
+    public int getStride() {
+        return stride;
+    }
 }
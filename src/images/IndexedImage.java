@@ -0,0 +1,658 @@
+package images;
+
+import colors.ColorConverter;
+import colors.ColorRGBA;
+import colors.PaletteIndex;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Клас IndexedImage представляє зображення з палітрою: кожен піксель
+ * зберігає лише індекс кольору у палітрі упакованих значень RGBA.
+ * 
+ * <p>
+ * Поки палітра містить не більше {@value #MAX_BYTE_PALETTE} кольорів,
+ * індекси зберігаються у масиві <code>byte[]</code> (1 байт на піксель),
+ * інакше - у <code>short[]</code> (2 байти на піксель); площина індексів
+ * розширюється автоматично, коли палітра перевищує межу. Палітра не може
+ * містити більше {@value #MAX_PALETTE} кольорів.
+ * </p>
+ * 
+ * <p>
+ * Операції, що змінюють колір, виконуються один раз для кожного кольору
+ * палітри, а не для кожного пікселя: {@link #darken(int)} змінює лише
+ * палітру, {@link #applyMask(BitMask, int)} перетворює кожен колір палітри
+ * не більше одного разу і перебудовує палітру лише з використаних кольорів, а
+ * {@link #toHSB()} перетворює палітру пакетно і розгортає її у пікселі.
+ * </p>
+ */
+public final class IndexedImage {
+    /**
+     * Найбільша кількість кольорів палітри, для якої індекси зберігаються у
+     * <code>byte[]</code>.
+     */
+    public static final int MAX_BYTE_PALETTE = 1 << 8;
+
+    /**
+     * Найбільша кількість кольорів палітри.
+     */
+    public static final int MAX_PALETTE = 1 << 16;
+
+    /**
+     * Мінімальна кількість пікселів, починаючи з якої
+     * {@link #remap(Image, PaletteIndex)} обробляє рядки паралельно.
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 18;
+
+    private final int m, n; // Розміри зображення: m - кількість рядків, n - кількість стовпців
+    private byte[] smallIndices; // Індекси кольорів, поки палітра не перевищує MAX_BYTE_PALETTE
+    private short[] wideIndices; // Індекси кольорів після розширення площини
+    private int[] palette; // Упаковані значення RGBA
+    private int paletteSize; // Кількість кольорів у палітрі
+    private PaletteLookup lookup; // Відображення кольору на його індекс у палітрі
+
+    /**
+     * Конструктор для створення зображення, всі пікселі якого мають колір
+     * 0 (прозорий чорний), з вказаними розмірами.
+     * 
+     * @param m Кількість рядків.
+     * @param n Кількість стовпців.
+     */
+    public IndexedImage(int m, int n) {
+        this.m = m;
+        this.n = n;
+        this.smallIndices = new byte[Math.multiplyExact(m, n)];
+        this.palette = new int[16];
+        this.lookup = new PaletteLookup();
+        addColor(0);
+    }
+
+    /**
+     * Створює зображення з палітрою з пікселів зображення {@link Image}, якщо
+     * кількість різних кольорів не перевищує {@value #MAX_PALETTE}.
+     * 
+     * <p>
+     * Перший прохід будує палітру і переривається, щойно кольорів стає
+     * забагато; другий прохід заповнює площину індексів потрібної ширини.
+     * Проміжний масив <code>int[]</code> на кожен піксель не створюється.
+     * </p>
+     * 
+     * @param image Зображення для перетворення.
+     * @return Нове зображення з палітрою або null, якщо кольорів забагато.
+     */
+    public static IndexedImage fromImage(Image image) {
+        int rows = image.getRows();
+        int cols = image.getColumns();
+        long stride = image.getStride();
+        PaletteLookup lookup = new PaletteLookup();
+        int[] palette = new int[16];
+        int size = 0;
+        for (int i = 0; i < rows; i++) {
+            long base = i * stride;
+            int last = 0, lastIndex = -1; // Сусідні пікселі часто мають той самий колір
+            for (int j = 0; j < cols; j++) {
+                int rgba = image.rgbaAt(base + j);
+                if (rgba == last && lastIndex >= 0) {
+                    continue;
+                }
+                int index = lookup.get(rgba);
+                if (index < 0) {
+                    if (size == MAX_PALETTE) {
+                        return null;
+                    }
+                    if (size == palette.length) {
+                        palette = Arrays.copyOf(palette, size * 2);
+                    }
+                    index = size++;
+                    palette[index] = rgba;
+                    lookup.put(rgba, index);
+                }
+                last = rgba;
+                lastIndex = index;
+            }
+        }
+
+        IndexedImage result = new IndexedImage(rows, cols, palette, size, lookup);
+        for (int i = 0; i < rows; i++) {
+            long base = i * stride;
+            int offset = i * cols;
+            int last = 0, lastIndex = -1;
+            for (int j = 0; j < cols; j++) {
+                int rgba = image.rgbaAt(base + j);
+                if (rgba != last || lastIndex < 0) {
+                    last = rgba;
+                    lastIndex = lookup.get(rgba);
+                }
+                result.setIndexAt(offset + j, lastIndex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Створює зображення з палітрою заданого індексу, замінюючи кожен піксель
+     * зображення {@link Image} найближчим кольором палітри
+     * ({@link PaletteIndex#nearest(int[], int, int[], int, int)}). Великі
+     * зображення обробляються паралельно по рядках; сховище будь-якого типу
+     * (зокрема поза купою) читається з потоків ForkJoinPool.
+     * 
+     * @param image Зображення для перетворення.
+     * @param index Індекс палітри.
+     * @return Нове зображення з палітрою індексу.
+     * @throws IllegalArgumentException якщо палітра містить більше
+     *                                  {@value #MAX_PALETTE} кольорів.
+     */
+    public static IndexedImage remap(Image image, PaletteIndex index) {
+        if (index.size() > MAX_PALETTE) {
+            throw new IllegalArgumentException("Палітра містить більше " + MAX_PALETTE + " кольорів: " + index.size());
+        }
+        int rows = image.getRows();
+        int cols = image.getColumns();
+        long stride = image.getStride();
+        int[] palette = index.getPalette();
+        IndexedImage result = new IndexedImage(rows, cols, palette, palette.length, new PaletteLookup());
+        result.rebuildLookup();
+        IntStream range = IntStream.range(0, rows);
+        (((long) rows * cols >= PARALLEL_THRESHOLD) ? range.parallel() : range).forEach(i -> {
+            int[] row = new int[cols];
+            long base = i * stride;
+            for (int j = 0; j < cols; j++) {
+                row[j] = image.rgbaAt(base + j);
+            }
+            index.nearest(row, 0, row, 0, cols);
+            int offset = i * cols;
+            for (int j = 0; j < cols; j++) {
+                result.setIndexAt(offset + j, row[j]);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Конструктор для зображення з уже побудованою палітрою; площина індексів
+     * обирається за розміром палітри і заповнюється нулями.
+     * 
+     * @param m           Кількість рядків.
+     * @param n           Кількість стовпців.
+     * @param palette     Палітра (не копіюється).
+     * @param paletteSize Кількість кольорів у палітрі.
+     * @param lookup      Відображення кольору на індекс для цієї палітри.
+     */
+    private IndexedImage(int m, int n, int[] palette, int paletteSize, PaletteLookup lookup) {
+        this.m = m;
+        this.n = n;
+        int pixels = Math.multiplyExact(m, n);
+        if (paletteSize <= MAX_BYTE_PALETTE) {
+            this.smallIndices = new byte[pixels];
+        } else {
+            this.wideIndices = new short[pixels];
+        }
+        this.palette = palette;
+        this.paletteSize = paletteSize;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Копіює пікселі у нове зображення {@link Image}.
+     * 
+     * @return Нове зображення з тими самими пікселями.
+     */
+    public Image toImage() {
+        Image image = new Image(m, n);
+        for (int i = 0; i < m; i++) {
+            long base = (long) i * image.getStride();
+            int offset = i * n;
+            for (int j = 0; j < n; j++) {
+                image.setRgbaAt(base + j, palette[indexAt(offset + j)]);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Розгортає палітру у нове зображення {@link RGBAImage}.
+     * 
+     * @return Нове зображення RGBA.
+     */
+    public RGBAImage toRGBA() {
+        RGBAImage result = new RGBAImage(m, n);
+        expand(palette, result.pixels());
+        return result;
+    }
+
+    /**
+     * Конвертує зображення у модель HSB: палітра перетворюється пакетним
+     * методом {@link ColorConverter#RGBtoHSB(int[], int, int[], int, int)}
+     * один раз для кожного кольору, після чого розгортається у пікселі.
+     * 
+     * @return Нове зображення HSB.
+     */
+    public HSBImage toHSB() {
+        int[] hsbPalette = new int[paletteSize];
+        ColorConverter.RGBtoHSB(palette, 0, hsbPalette, 0, paletteSize);
+        HSBImage result = new HSBImage(m, n);
+        expand(hsbPalette, result.pixels());
+        return result;
+    }
+
+    /**
+     * Зменшує яскравість HSB усього зображення, перетворюючи лише кольори
+     * палітри. Різні кольори можуть після цього збігтися; індекси пікселів не
+     * змінюються.
+     * 
+     * @param points Кількість пунктів яскравості для зменшення.
+     */
+    public void darken(int points) {
+        for (int k = 0; k < paletteSize; k++) {
+            palette[k] = ColorConverter.darkenRGBA(palette[k], points);
+        }
+        rebuildLookup();
+    }
+
+    /**
+     * Застосовує маску, зменшуючи яскравість HSB пікселів під маскою на
+     * {@link Mask#DEFAULT_DARKEN_POINTS} пунктів.
+     * 
+     * @param mask Маска для застосування.
+     * @throws IllegalStateException якщо затемнені кольори не вміщуються у
+     *                               палітру.
+     */
+    public void applyMask(BitMask mask) {
+        applyMask(mask, Mask.DEFAULT_DARKEN_POINTS);
+    }
+
+    /**
+     * Застосовує маску, зменшуючи яскравість HSB пікселів під маскою на
+     * вказану кількість пунктів. Результат збігається з
+     * {@link BitMask#applyToImage(Image, int)} для зображення {@link Image}
+     * з тими самими пікселями.
+     * 
+     * <p>
+     * Спершу підраховується, які кольори палітри зустрічаються під маскою та
+     * поза нею, і для кожного кольору під маскою один раз обчислюється
+     * затемнений колір. З цього будується нова палітра лише з кольорів, що
+     * залишаться у зображенні, тож невикористані кольори не накопичуються між
+     * проходами. Якщо нова палітра не вміщується у {@value #MAX_PALETTE}
+     * кольорів, виняток виникає до зміни будь-якого пікселя. Після цього
+     * індекси всіх пікселів переписуються за новою палітрою, а площина
+     * індексів звужується до <code>byte[]</code>, якщо це можливо.
+     * </p>
+     * 
+     * @param mask   Маска для застосування.
+     * @param points Кількість пунктів яскравості для зменшення.
+     * @throws IllegalStateException якщо затемнені кольори не вміщуються у
+     *                               палітру (зображення не змінюється).
+     */
+    public void applyMask(BitMask mask, int points) {
+        int pixels = m * n;
+        int[] total = new int[paletteSize]; // Кількість пікселів кожного кольору
+        int[] masked = new int[paletteSize]; // Кількість пікселів кожного кольору під маскою
+        for (int k = 0; k < pixels; k++) {
+            total[indexAt(k)]++;
+        }
+        int rows = Math.min(mask.getRows(), m);
+        for (int i = 0; i < rows; i++) {
+            int base = i * n;
+            for (int w = 0; w < (n + 63) >>> 6; w++) {
+                long word = maskWord(mask, i, w);
+                while (word != 0) {
+                    masked[indexAt(base + (w << 6) + Long.numberOfTrailingZeros(word))]++;
+                    word &= word - 1;
+                }
+            }
+        }
+
+        // Нова палітра: кольори, що лишаються поза маскою, потім затемнені кольори
+        PaletteLookup newLookup = new PaletteLookup();
+        int[] newPalette = new int[16];
+        int newSize = 0;
+        int[] kept = new int[paletteSize]; // Новий індекс кольору поза маскою
+        int[] darker = new int[paletteSize]; // Новий індекс затемненого кольору
+        for (int pass = 0; pass < 2; pass++) {
+            for (int k = 0; k < paletteSize; k++) {
+                boolean live = pass == 0 ? total[k] > masked[k] : masked[k] > 0;
+                if (!live) {
+                    continue;
+                }
+                int rgba = pass == 0 ? palette[k] : ColorConverter.darkenRGBA(palette[k], points);
+                int index = newLookup.get(rgba);
+                if (index < 0) {
+                    if (newSize == MAX_PALETTE) {
+                        throw new IllegalStateException("Затемнені кольори не вміщуються у палітру з "
+                                + MAX_PALETTE + " кольорів");
+                    }
+                    if (newSize == newPalette.length) {
+                        newPalette = Arrays.copyOf(newPalette, newSize * 2);
+                    }
+                    index = newSize++;
+                    newPalette[index] = rgba;
+                    newLookup.put(rgba, index);
+                }
+                (pass == 0 ? kept : darker)[k] = index;
+            }
+        }
+
+        byte[] small = newSize <= MAX_BYTE_PALETTE ? (smallIndices != null ? smallIndices : new byte[pixels]) : null;
+        short[] wide = small == null ? (wideIndices != null ? wideIndices : new short[pixels]) : null;
+        for (int i = 0; i < m; i++) {
+            int base = i * n;
+            for (int w = 0; w < (n + 63) >>> 6; w++) {
+                long word = i < rows ? maskWord(mask, i, w) : 0;
+                int end = Math.min(n, (w + 1) << 6);
+                for (int j = w << 6; j < end; j++) {
+                    int color = indexAt(base + j);
+                    int index = ((word >>> j) & 1) != 0 ? darker[color] : kept[color];
+                    if (small != null) {
+                        small[base + j] = (byte) index;
+                    } else {
+                        wide[base + j] = (short) index;
+                    }
+                }
+            }
+        }
+        smallIndices = small;
+        wideIndices = wide;
+        palette = newPalette;
+        paletteSize = newSize;
+        lookup = newLookup;
+    }
+
+    /**
+     * Повертає слово маски для рядка, обмежене стовпцями маски та
+     * зображення.
+     * 
+     * @param mask Маска.
+     * @param i    Індекс рядка (менший за кількість рядків маски).
+     * @param w    Номер 64-бітного слова рядка.
+     * @return Біти маски для стовпців <code>[64w, 64w + 64)</code>.
+     */
+    private long maskWord(BitMask mask, int i, int w) {
+        int cols = Math.min(mask.getColumns(), n);
+        int from = w << 6;
+        if (from >= cols) {
+            return 0;
+        }
+        long word = mask.word(i, w);
+        return cols - from >= 64 ? word : word & ((1L << (cols - from)) - 1);
+    }
+
+    /**
+     * Повертає колір пікселя у вказаних координатах.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір пікселя.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public ColorRGBA getPixel(int i, int j) {
+        return ColorRGBA.fromInt(getRGBA(i, j));
+    }
+
+    /**
+     * Встановлює колір для конкретного пікселя.
+     * 
+     * @param i     Індекс рядка.
+     * @param j     Індекс стовпця.
+     * @param color Колір для установки.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     * @throws IllegalStateException     якщо колір не вміщується у палітру.
+     */
+    public void setPixel(int i, int j, ColorRGBA color) {
+        setRGBA(i, j, color.valueInt());
+    }
+
+    /**
+     * Повертає упаковане значення RGBA пікселя.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public int getRGBA(int i, int j) {
+        return palette[indexAt(index(i, j))];
+    }
+
+    /**
+     * Встановлює упаковане значення RGBA пікселя, додаючи колір до палітри,
+     * якщо його там немає.
+     * 
+     * @param i    Індекс рядка.
+     * @param j    Індекс стовпця.
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     * @throws IllegalStateException     якщо колір не вміщується у палітру.
+     */
+    public void setRGBA(int i, int j, int rgba) {
+        int index = index(i, j);
+        setIndexAt(index, addColor(rgba));
+    }
+
+    /**
+     * Повертає копію палітри.
+     * 
+     * @return Упаковані значення RGBA у порядку індексів.
+     */
+    public int[] getPalette() {
+        return Arrays.copyOf(palette, paletteSize);
+    }
+
+    /**
+     * Повертає кількість кольорів у палітрі.
+     * 
+     * @return Розмір палітри.
+     */
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    /**
+     * Повертає ширину індексу пікселя.
+     * 
+     * @return 8 для площини <code>byte[]</code> або 16 для
+     *         <code>short[]</code>.
+     */
+    public int getIndexBits() {
+        return smallIndices != null ? 8 : 16;
+    }
+
+    /**
+     * Повертає кількість рядків зображення.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return m;
+    }
+
+    /**
+     * Повертає кількість стовпців зображення.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return n;
+    }
+
+    /**
+     * Повертає індекс кольору у палітрі, додаючи колір, якщо його там немає.
+     * Площина індексів розширюється до <code>short[]</code>, коли палітра
+     * перевищує {@value #MAX_BYTE_PALETTE} кольорів.
+     * 
+     * @param rgba Упакований колір RGBA.
+     * @return Індекс кольору у палітрі.
+     * @throws IllegalStateException якщо палітра вже містить
+     *                               {@value #MAX_PALETTE} кольорів.
+     */
+    private int addColor(int rgba) {
+        int index = lookup.get(rgba);
+        if (index >= 0) {
+            return index;
+        }
+        if (paletteSize == MAX_PALETTE) {
+            throw new IllegalStateException("Палітра вже містить " + MAX_PALETTE + " кольорів");
+        }
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, paletteSize * 2);
+        }
+        if (paletteSize == MAX_BYTE_PALETTE && smallIndices != null) {
+            wideIndices = new short[smallIndices.length];
+            for (int k = 0; k < smallIndices.length; k++) {
+                wideIndices[k] = (short) (smallIndices[k] & 0xFF);
+            }
+            smallIndices = null;
+        }
+        index = paletteSize++;
+        palette[index] = rgba;
+        lookup.put(rgba, index);
+        return index;
+    }
+
+    /**
+     * Перебудовує відображення кольору на індекс після зміни палітри; для
+     * однакових кольорів зберігається найменший індекс.
+     */
+    private void rebuildLookup() {
+        lookup = new PaletteLookup();
+        for (int k = 0; k < paletteSize; k++) {
+            if (lookup.get(palette[k]) < 0) {
+                lookup.put(palette[k], k);
+            }
+        }
+    }
+
+    /**
+     * Заповнює масив пікселів значеннями палітри за індексами.
+     * 
+     * @param colors Палітра (у будь-якій моделі).
+     * @param target Масив пікселів у порядку рядків.
+     */
+    private void expand(int[] colors, int[] target) {
+        if (smallIndices != null) {
+            for (int k = 0; k < target.length; k++) {
+                target[k] = colors[smallIndices[k] & 0xFF];
+            }
+        } else {
+            for (int k = 0; k < target.length; k++) {
+                target[k] = colors[wideIndices[k] & 0xFFFF];
+            }
+        }
+    }
+
+    /**
+     * Повертає індекс кольору пікселя.
+     * 
+     * @param k Індекс пікселя у порядку рядків.
+     * @return Індекс кольору у палітрі.
+     */
+    private int indexAt(int k) {
+        return smallIndices != null ? smallIndices[k] & 0xFF : wideIndices[k] & 0xFFFF;
+    }
+
+    /**
+     * Записує індекс кольору пікселя.
+     * 
+     * @param k     Індекс пікселя у порядку рядків.
+     * @param color Індекс кольору у палітрі.
+     */
+    private void setIndexAt(int k, int color) {
+        if (smallIndices != null) {
+            smallIndices[k] = (byte) color;
+        } else {
+            wideIndices[k] = (short) color;
+        }
+    }
+
+    /**
+     * Обчислює індекс пікселя, перевіряючи координати.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Індекс пікселя у порядку рядків.
+     */
+    private int index(int i, int j) {
+        if (i < 0 || i >= m || j < 0 || j >= n) {
+            throw new IndexOutOfBoundsException("Піксель (" + i + ", " + j + ") поза межами зображення " + m + "x" + n);
+        }
+        return i * n + j;
+    }
+
+    /**
+     * Відображення упакованого кольору на індекс у палітрі: хеш-таблиця з
+     * відкритою адресацією над масивом <code>long</code>, кожен елемент якого
+     * містить <code>колір &lt;&lt; 32 | (індекс + 1)</code> (0 - порожня
+     * комірка).
+     */
+    private static final class PaletteLookup {
+        private long[] table = new long[64]; // Пари колір << 32 | індекс + 1
+        private int size; // Кількість записів
+
+        /**
+         * Повертає індекс кольору.
+         * 
+         * @param rgba Упакований колір.
+         * @return Індекс у палітрі або -1, якщо кольору немає.
+         */
+        int get(int rgba) {
+            int mask = table.length - 1;
+            for (int slot = hash(rgba) & mask;; slot = (slot + 1) & mask) {
+                long entry = table[slot];
+                if (entry == 0) {
+                    return -1;
+                }
+                if ((int) (entry >>> 32) == rgba) {
+                    return (int) entry - 1;
+                }
+            }
+        }
+
+        /**
+         * Додає колір, якого ще немає у таблиці.
+         * 
+         * @param rgba  Упакований колір.
+         * @param index Індекс у палітрі.
+         */
+        void put(int rgba, int index) {
+            if (2 * (size + 1) > table.length) {
+                long[] old = table;
+                table = new long[old.length * 2];
+                for (long entry : old) {
+                    if (entry != 0) {
+                        insert(entry);
+                    }
+                }
+            }
+            insert(((long) rgba << 32) | (index + 1));
+            size++;
+        }
+
+        /**
+         * Записує пару у першу вільну комірку її ланцюжка.
+         * 
+         * @param entry Пара колір &lt;&lt; 32 | індекс + 1.
+         */
+        private void insert(long entry) {
+            int mask = table.length - 1;
+            int slot = hash((int) (entry >>> 32)) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry;
+        }
+
+        /**
+         * Перемішує біти кольору для рівномірного розподілу по таблиці.
+         * 
+         * @param rgba Упакований колір.
+         * @return Хеш кольору.
+         */
+        private static int hash(int rgba) {
+            int h = rgba * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
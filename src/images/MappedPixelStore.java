@@ -0,0 +1,81 @@
+package images;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Сховище пікселів, що читає та записує дані безпосередньо у відображений у
+ * пам'ять файл без копіювання.
+ * 
+ * <p>
+ * Один {@link MappedByteBuffer} не може перевищувати 2 ГБ, тому файл
+ * відображається частинами по {@value #CHUNK_BYTES} байтів. Межі частин
+ * кратні розміру пікселя, тож жоден піксель не розривається між частинами.
+ * </p>
+ */
+final class MappedPixelStore extends PixelStore {
+    private static final int CHUNK_SHIFT = 28; // 2^28 пікселів = 1 ГБ на частину
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    static final long CHUNK_BYTES = 4L << CHUNK_SHIFT;
+
+    private final MappedByteBuffer[] chunks;
+    private final boolean writable;
+
+    /**
+     * Відображає ділянку файлу з пікселями у пам'ять.
+     * 
+     * @param channel  Канал файлу.
+     * @param offset   Зміщення першого пікселя у файлі.
+     * @param size     Кількість пікселів.
+     * @param order    Порядок байтів пікселів.
+     * @param writable true, щоб зміни записувалися у файл, false - лише читання.
+     * @throws IOException якщо відобразити файл не вдалося.
+     */
+    MappedPixelStore(FileChannel channel, long offset, long size, ByteOrder order, boolean writable)
+            throws IOException {
+        super(size);
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        long bytes = size * 4;
+        int count = (int) ((bytes + CHUNK_BYTES - 1) / CHUNK_BYTES);
+        this.chunks = new MappedByteBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long position = (long) c * CHUNK_BYTES;
+            chunks[c] = channel.map(mode, offset + position, Math.min(CHUNK_BYTES, bytes - position));
+            chunks[c].order(order);
+        }
+        this.writable = writable;
+    }
+
+    @Override
+    int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getInt((int) (index & CHUNK_MASK) << 2);
+    }
+
+    @Override
+    void set(long index, int rgba) {
+        if (!writable) {
+            throw new UnsupportedOperationException("Зображення відкрите лише для читання");
+        }
+        chunks[(int) (index >>> CHUNK_SHIFT)].putInt((int) (index & CHUNK_MASK) << 2, rgba);
+    }
+
+    @Override
+    String type() {
+        return writable ? "mapped-rw" : "mapped-ro";
+    }
+
+    /**
+     * Записує змінені сторінки відображення на диск. Саме відображення
+     * звільняється збирачем сміття.
+     */
+    @Override
+    void close() {
+        if (writable) {
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+    }
+}
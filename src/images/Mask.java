@@ -1,7 +1,10 @@
 package images;
 
-import colors.ColorHSB;
-import colors.Color;
+import colors.ColorConverter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import metrics.MaskApplyEvent;
+import metrics.Metrics;
 
 /**
  * Клас Mask представляє маску для зображення, що складається з двовимірної
@@ -9,6 +12,25 @@ import colors.Color;
  * Маска може застосовуватися до зображення, модифікуючи його кольори.
  */
 public class Mask {
+    /**
+     * Кількість пунктів яскравості HSB, на яку маска затемнює пікселі за
+     * замовчуванням.
+     */
+    public static final int DEFAULT_DARKEN_POINTS = 20;
+
+    /**
+     * Мінімальна кількість пікселів, починаючи з якої паралельний режим
+     * розбиває роботу на смуги рядків. Менші зображення обробляються
+     * послідовно.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Приблизна кількість пікселів в одній смузі рядків для паралельного режиму
+     * (порядку розміру кешу L2 для упакованих пікселів).
+     */
+    private static final int BAND_PIXELS = 1 << 15;
+
     private int m, n; // Розміри маски
     private int[][] mask; // Матриця цілих чисел для маски
 
@@ -48,6 +70,24 @@ public class Mask {
         return isValidIndex(i, j) ? mask[i][j] : -1;
     }
 
+    /**
+     * Повертає кількість рядків маски.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return m;
+    }
+
+    /**
+     * Повертає кількість стовпців маски.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return n;
+    }
+
     /**
      * Перевіряє, чи є індекси маски дійсними.
      * 
@@ -66,18 +106,166 @@ public class Mask {
      * @param image Зображення для застосування маски.
      */
     public void applyToImage(Image image) {
-        for (int i = 0; i < m && i < image.getRows(); i++) {
-            for (int j = 0; j < n && j < image.getColumns(); j++) {
-                if (mask[i][j] == 1) {
-                    Color originalColor = image.getPixel(i, j);
-                    if (originalColor != null) {
-                        ColorHSB hsbColor = originalColor.toHSB();
-                        int newBrightness = Math.max(hsbColor.getB() - 20, 0); // Зменшуємо яскравість
-                        ColorHSB modifiedColor = new ColorHSB(hsbColor.getH(), hsbColor.getS(), newBrightness);
-                        image.setPixel(i, j, modifiedColor.toRGBA()); // Застосовуємо змінену яскравість
+        applyToImage(image, DEFAULT_DARKEN_POINTS);
+    }
+
+    /**
+     * Застосовує маску до зображення, зменшуючи яскравість HSB на вказану
+     * кількість пунктів у пікселях, де маска має значення 1.
+     * 
+     * <p>
+     * Обробка виконується над упакованими значеннями RGBA без створення
+     * об'єктів кольору для кожного пікселя.
+     * </p>
+     * 
+     * @param image  Зображення для застосування маски.
+     * @param points Кількість пунктів яскравості для зменшення.
+     */
+    public void applyToImage(Image image, int points) {
+        MaskApplyEvent event = new MaskApplyEvent();
+        event.begin();
+        long startNanos = Metrics.ENABLED ? System.nanoTime() : 0;
+        int rows = Math.min(m, image.getRows());
+        long modified = applyToRows(image, points, 0, rows);
+        long visited = (long) rows * Math.min(n, image.getColumns());
+        if (Metrics.ENABLED) {
+            Metrics.maskPass(visited, modified, System.nanoTime() - startNanos);
+        }
+        event.finish("dense", image.getRows(), image.getColumns(), visited, modified, image.getStorageType(),
+                false);
+    }
+
+    /**
+     * Застосовує маску до зображення паралельно, використовуючи спільний пул
+     * {@link ForkJoinPool#commonPool()}.
+     * 
+     * @param image Зображення для застосування маски.
+     * @see #applyToImageParallel(Image, int, ForkJoinPool)
+     */
+    public void applyToImageParallel(Image image) {
+        applyToImageParallel(image, DEFAULT_DARKEN_POINTS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Застосовує маску до зображення паралельно, розбиваючи його на смуги рядків,
+     * що обробляються у вказаному пулі потоків.
+     * 
+     * <p>
+     * Кожен піксель обробляється незалежно, тому результат повністю збігається
+     * з {@link #applyToImage(Image, int)}. Якщо зображення містить менше ніж
+     * {@link #PARALLEL_THRESHOLD} пікселів, маска застосовується послідовно у
+     * поточному потоці.
+     * </p>
+     * 
+     * @param image  Зображення для застосування маски.
+     * @param points Кількість пунктів яскравості для зменшення.
+     * @param pool   Пул потоків для виконання смуг.
+     */
+    public void applyToImageParallel(Image image, int points, ForkJoinPool pool) {
+        MaskApplyEvent event = new MaskApplyEvent();
+        event.begin();
+        long startNanos = Metrics.ENABLED ? System.nanoTime() : 0;
+        int rows = Math.min(m, image.getRows());
+        int cols = Math.min(n, image.getColumns());
+        boolean parallel = (long) rows * cols >= PARALLEL_THRESHOLD;
+        long modified;
+        if (!parallel) {
+            modified = applyToRows(image, points, 0, rows);
+        } else {
+            int bandRows = Math.max(1, BAND_PIXELS / Math.max(cols, 1));
+            modified = pool.invoke(new BandTask(this, image, points, 0, rows, bandRows));
+        }
+        if (Metrics.ENABLED) {
+            Metrics.maskPass((long) rows * cols, modified, System.nanoTime() - startNanos);
+        }
+        event.finish("dense", image.getRows(), image.getColumns(), (long) rows * cols, modified,
+                image.getStorageType(), parallel);
+    }
+
+    /**
+     * Застосовує маску до діапазону рядків зображення.
+     * 
+     * @param image   Зображення для застосування маски.
+     * @param points  Кількість пунктів яскравості для зменшення.
+     * @param fromRow Перший рядок (включно).
+     * @param toRow   Останній рядок (не включно).
+     * @return Кількість змінених пікселів.
+     */
+    private long applyToRows(Image image, int points, int fromRow, int toRow) {
+        int cols = Math.min(n, image.getColumns());
+        int stride = image.getStride();
+        int[] pixels = image.pixelArray(); // Швидкий шлях для зображень у купі
+        long modified = 0;
+        for (int i = fromRow; i < toRow; i++) {
+            int[] row = mask[i];
+            if (pixels != null) {
+                int base = i * stride;
+                for (int j = 0; j < cols; j++) {
+                    if (row[j] == 1) {
+                        pixels[base + j] = ColorConverter.darkenRGBA(pixels[base + j], points); // Зменшуємо яскравість
+                        modified++;
                     }
                 }
+                continue;
+            }
+            long base = (long) i * stride;
+            for (int j = 0; j < cols; j++) {
+                if (row[j] == 1) {
+                    long index = base + j;
+                    image.setRgbaAt(index, ColorConverter.darkenRGBA(image.rgbaAt(index), points)); // Зменшуємо яскравість
+                    modified++;
+                }
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Задача fork-join, що рекурсивно ділить діапазон рядків навпіл, доки
+     * смуга не стане меншою за задану кількість рядків. Результат задачі -
+     * кількість змінених пікселів. Задача виконується лише в межах однієї
+     * JVM і ніколи не серіалізується, хоча {@link RecursiveTask} успадковує
+     * {@link java.io.Serializable}.
+     */
+    @SuppressWarnings("serial")
+    private static final class BandTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Mask mask;
+        private final Image image;
+        private final int points;
+        private final int fromRow, toRow; // Діапазон рядків [fromRow, toRow)
+        private final int bandRows; // Максимальна кількість рядків в одній смузі
+
+        /**
+         * Конструктор задачі для діапазону рядків.
+         * 
+         * @param mask     Маска, що застосовується.
+         * @param image    Зображення для застосування маски.
+         * @param points   Кількість пунктів яскравості для зменшення.
+         * @param fromRow  Перший рядок (включно).
+         * @param toRow    Останній рядок (не включно).
+         * @param bandRows Максимальна кількість рядків в одній смузі.
+         */
+        BandTask(Mask mask, Image image, int points, int fromRow, int toRow, int bandRows) {
+            this.mask = mask;
+            this.image = image;
+            this.points = points;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected Long compute() {
+            if (toRow - fromRow <= bandRows) {
+                return mask.applyToRows(image, points, fromRow, toRow);
             }
+            int mid = (fromRow + toRow) >>> 1;
+            BandTask upper = new BandTask(mask, image, points, fromRow, mid, bandRows);
+            upper.fork();
+            long lower = new BandTask(mask, image, points, mid, toRow, bandRows).compute();
+            return upper.join() + lower;
         }
     }
 }
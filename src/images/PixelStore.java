@@ -0,0 +1,77 @@
+package images;
+
+/**
+ * Абстрактний клас PixelStore описує сховище упакованих пікселів зображення.
+ * 
+ * <p>
+ * Пікселі адресуються 64-бітним лінійним індексом у порядку рядків
+ * (<code>i * stride + j</code>) і зберігаються у форматі
+ * {@link colors.ColorRGBA#valueInt()}. Реалізації відрізняються лише місцем
+ * зберігання даних.
+ * </p>
+ */
+abstract class PixelStore {
+    protected final long size; // Кількість пікселів у сховищі
+
+    /**
+     * Конструктор для сховища вказаного розміру.
+     * 
+     * @param size Кількість пікселів.
+     */
+    PixelStore(long size) {
+        this.size = size;
+    }
+
+    /**
+     * Повертає упаковане значення за лінійним індексом.
+     * 
+     * @param index Лінійний індекс пікселя.
+     * @return Колір у форматі {@link colors.ColorRGBA#valueInt()}.
+     */
+    abstract int get(long index);
+
+    /**
+     * Записує упаковане значення за лінійним індексом.
+     * 
+     * @param index Лінійний індекс пікселя.
+     * @param rgba  Колір у форматі {@link colors.ColorRGBA#valueInt()}.
+     */
+    abstract void set(long index, int rgba);
+
+    /**
+     * Заповнює все сховище одним значенням.
+     * 
+     * @param rgba Колір у форматі {@link colors.ColorRGBA#valueInt()}.
+     */
+    void fill(int rgba) {
+        for (long index = 0; index < size; index++) {
+            set(index, rgba);
+        }
+    }
+
+    /**
+     * Повертає масив, у якому сховище зберігає пікселі, для ядер, що
+     * обробляють масив напряму.
+     * 
+     * @return Масив пікселів або null, якщо сховище не використовує масив.
+     */
+    int[] array() {
+        return null;
+    }
+
+    /**
+     * Повертає назву типу сховища.
+     * 
+     * @return Назва сховища (наприклад, "heap").
+     */
+    abstract String type();
+
+
+    /**
+     * Звільняє ресурси сховища. Після закриття сховище не можна
+     * використовувати.
+     */
+    void close() {
+        // Сховище у купі JVM звільняє збирач сміття
+    }
+}
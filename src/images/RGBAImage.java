@@ -0,0 +1,215 @@
+package images;
+
+import colors.ColorConverter;
+import colors.ColorRGBA;
+import java.util.Arrays;
+
+/**
+ * Клас RGBAImage представляє зображення у моделі RGBA, що зберігає пікселі
+ * безпосередньо у масиві <code>int[]</code> у форматі
+ * {@link ColorRGBA#valueInt()}.
+ * 
+ * <p>
+ * На відміну від {@link Image}, тут немає ні об'єктів кольору, ні змінного
+ * сховища пікселів: кожен цикл обробки працює з одним фінальним масивом і
+ * одним типом кольору, тому місця виклику мономорфні, і JIT вбудовує
+ * перетворення у цикл.
+ * </p>
+ */
+public final class RGBAImage {
+    private final int m, n; // Розміри зображення: m - кількість рядків, n - кількість стовпців
+    private final int[] pixels; // Упаковані значення RGBA у порядку рядків
+
+    /**
+     * Конструктор для створення порожнього зображення з вказаними розмірами.
+     * 
+     * @param m Кількість рядків.
+     * @param n Кількість стовпців.
+     */
+    public RGBAImage(int m, int n) {
+        this.m = m;
+        this.n = n;
+        this.pixels = new int[Math.multiplyExact(m, n)];
+    }
+
+    /**
+     * Створює зображення RGBA з копією пікселів зображення {@link Image}.
+     * 
+     * @param image Зображення для копіювання.
+     * @return Нове зображення RGBA.
+     */
+    public static RGBAImage fromImage(Image image) {
+        RGBAImage result = new RGBAImage(image.getRows(), image.getColumns());
+        for (int i = 0; i < result.m; i++) {
+            long base = (long) i * image.getStride();
+            for (int j = 0; j < result.n; j++) {
+                result.pixels[i * result.n + j] = image.rgbaAt(base + j);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Копіює пікселі у нове зображення {@link Image}.
+     * 
+     * @return Нове зображення з тими самими пікселями.
+     */
+    public Image toImage() {
+        Image image = new Image(m, n);
+        for (int k = 0; k < pixels.length; k++) {
+            image.setRgbaAt(k, pixels[k]);
+        }
+        return image;
+    }
+
+    /**
+     * Конвертує зображення у модель HSB пакетним перетворенням
+     * {@link ColorConverter#RGBtoHSB(int[], int, int[], int, int)}.
+     * 
+     * @return Нове зображення HSB.
+     */
+    public HSBImage toHSB() {
+        HSBImage result = new HSBImage(m, n);
+        ColorConverter.RGBtoHSB(pixels, 0, result.pixels(), 0, pixels.length);
+        return result;
+    }
+
+    /**
+     * Ініціалізує зображення заданим кольором.
+     * 
+     * @param color Колір для заповнення зображення.
+     */
+    public void fill(ColorRGBA color) {
+        Arrays.fill(pixels, color.valueInt());
+    }
+
+    /**
+     * Повертає колір пікселя у вказаних координатах.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір пікселя.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public ColorRGBA getPixel(int i, int j) {
+        return ColorRGBA.fromInt(getRGBA(i, j));
+    }
+
+    /**
+     * Встановлює колір для конкретного пікселя.
+     * 
+     * @param i     Індекс рядка.
+     * @param j     Індекс стовпця.
+     * @param color Колір для установки.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public void setPixel(int i, int j, ColorRGBA color) {
+        setRGBA(i, j, color.valueInt());
+    }
+
+    /**
+     * Повертає упаковане значення RGBA пікселя.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public int getRGBA(int i, int j) {
+        return pixels[index(i, j)];
+    }
+
+    /**
+     * Встановлює упаковане значення RGBA пікселя.
+     * 
+     * @param i    Індекс рядка.
+     * @param j    Індекс стовпця.
+     * @param rgba Колір у форматі {@link ColorRGBA#valueInt()}.
+     * @throws IndexOutOfBoundsException якщо координати виходять за межі
+     *                                   зображення.
+     */
+    public void setRGBA(int i, int j, int rgba) {
+        pixels[index(i, j)] = rgba;
+    }
+
+    /**
+     * Застосовує маску, зменшуючи яскравість HSB пікселів під маскою на
+     * {@link Mask#DEFAULT_DARKEN_POINTS} пунктів.
+     * 
+     * @param mask Маска для застосування.
+     */
+    public void applyMask(BitMask mask) {
+        applyMask(mask, Mask.DEFAULT_DARKEN_POINTS);
+    }
+
+    /**
+     * Застосовує маску, зменшуючи яскравість HSB пікселів під маскою на
+     * вказану кількість пунктів. Результат збігається з
+     * {@link BitMask#applyToImage(Image, int)} для зображення {@link Image}
+     * з тими самими пікселями.
+     * 
+     * @param mask   Маска для застосування.
+     * @param points Кількість пунктів яскравості для зменшення.
+     */
+    public void applyMask(BitMask mask, int points) {
+        int rows = Math.min(mask.getRows(), m);
+        int cols = Math.min(mask.getColumns(), n);
+        int rowWords = (cols + 63) >>> 6;
+        long tail = (cols & 63) == 0 ? -1L : (1L << cols) - 1; // Стовпці за межами зображення
+        for (int i = 0; i < rows; i++) {
+            int base = i * n;
+            for (int w = 0; w < rowWords; w++) {
+                long word = w == rowWords - 1 ? mask.word(i, w) & tail : mask.word(i, w);
+                while (word != 0) {
+                    int index = base + (w << 6) + Long.numberOfTrailingZeros(word);
+                    pixels[index] = ColorConverter.darkenRGBA(pixels[index], points);
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Повертає кількість рядків зображення.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return m;
+    }
+
+    /**
+     * Повертає кількість стовпців зображення.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return n;
+    }
+
+    /**
+     * Повертає масив пікселів для пакетних перетворень у межах пакета.
+     * 
+     * @return Масив упакованих значень RGBA (не копія).
+     */
+    int[] pixels() {
+        return pixels;
+    }
+
+    /**
+     * Обчислює індекс пікселя у масиві, перевіряючи координати.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return Індекс у масиві пікселів.
+     */
+    private int index(int i, int j) {
+        if (i < 0 || i >= m || j < 0 || j >= n) {
+            throw new IndexOutOfBoundsException("Піксель (" + i + ", " + j + ") поза межами зображення " + m + "x" + n);
+        }
+        return i * n + j;
+    }
+}
@@ -0,0 +1,366 @@
+package images;
+
+import colors.ColorConverter;
+import java.util.Arrays;
+import metrics.MaskApplyEvent;
+import metrics.Metrics;
+
+/**
+ * Клас RunLengthMask представляє розріджену маску як набір відрізків (серій)
+ * у кожному рядку разом з обмежувальним прямокутником усіх серій.
+ * 
+ * <p>
+ * Серія задається початковим стовпцем і довжиною. Застосування маски
+ * обробляє лише рядки всередині обмежувального прямокутника і лише пікселі,
+ * покриті серіями, тому вартість пропорційна площі маски, а не розміру
+ * зображення. Маска незмінна після створення.
+ * </p>
+ */
+public class RunLengthMask {
+    private static final int[] NO_RUNS = new int[0];
+
+    private int m, n; // Розміри маски
+    private int[][] runs; // Для кожного рядка: пари (початок, довжина), відсортовані за початком
+    private int top, left, bottom, right; // Обмежувальний прямокутник [top, bottom) x [left, right)
+    private long area; // Кількість покритих елементів
+
+    /**
+     * Конструктор, що приймає вже впорядковані та об'єднані серії.
+     * 
+     * @param m    Кількість рядків.
+     * @param n    Кількість стовпців.
+     * @param runs Серії для кожного рядка.
+     */
+    private RunLengthMask(int m, int n, int[][] runs) {
+        this.m = m;
+        this.n = n;
+        this.runs = runs;
+        this.top = m;
+        this.left = n;
+        for (int i = 0; i < m; i++) {
+            int[] row = runs[i];
+            if (row.length == 0) {
+                continue;
+            }
+            top = Math.min(top, i);
+            bottom = i + 1;
+            left = Math.min(left, row[0]);
+            right = Math.max(right, row[row.length - 2] + row[row.length - 1]);
+            for (int k = 1; k < row.length; k += 2) {
+                area += row[k];
+            }
+        }
+        if (area == 0) {
+            top = left = 0;
+        }
+    }
+
+    /**
+     * Створює маску з двовимірного масиву значень. Елементи зі значенням 1
+     * вважаються покритими, як у {@link Mask}.
+     * 
+     * @param values Матриця значень маски (рядки однакової довжини).
+     * @return Нова маска серій.
+     */
+    public static RunLengthMask fromArray(int[][] values) {
+        int m = values.length;
+        int n = m == 0 ? 0 : values[0].length;
+        Builder builder = new Builder(m, n);
+        for (int i = 0; i < m; i++) {
+            int[] row = values[i];
+            int j = 0;
+            while (j < row.length) {
+                if (row[j] != 1) {
+                    j++;
+                    continue;
+                }
+                int start = j;
+                while (j < row.length && row[j] == 1) {
+                    j++;
+                }
+                builder.addRun(i, start, j - start);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Створює маску серій з маски {@link Mask}.
+     * 
+     * @param mask Маска для перетворення.
+     * @return Нова маска серій тих самих розмірів.
+     */
+    public static RunLengthMask fromMask(Mask mask) {
+        int m = mask.getRows();
+        int n = mask.getColumns();
+        Builder builder = new Builder(m, n);
+        for (int i = 0; i < m; i++) { // Серії будуються без проміжної копії маски
+            int j = 0;
+            while (j < n) {
+                if (mask.getMaskValue(i, j) != 1) {
+                    j++;
+                    continue;
+                }
+                int start = j;
+                while (j < n && mask.getMaskValue(i, j) == 1) {
+                    j++;
+                }
+                builder.addRun(i, start, j - start);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Повертає будівник для створення маски з потоку серій.
+     * 
+     * @param m Кількість рядків.
+     * @param n Кількість стовпців.
+     * @return Новий будівник.
+     */
+    public static Builder builder(int m, int n) {
+        return new Builder(m, n);
+    }
+
+    /**
+     * Повертає значення елемента маски.
+     * 
+     * @param i Індекс рядка.
+     * @param j Індекс стовпця.
+     * @return 1, якщо елемент покритий серією, 0 - якщо ні, -1, якщо індекси
+     *         недійсні.
+     */
+    public int getMaskValue(int i, int j) {
+        if (i < 0 || i >= m || j < 0 || j >= n) {
+            return -1;
+        }
+        int[] row = runs[i];
+        int lo = 0, hi = row.length / 2 - 1;
+        while (lo <= hi) { // Двійковий пошук серії за початком
+            int mid = (lo + hi) >>> 1;
+            int start = row[2 * mid];
+            if (j < start) {
+                hi = mid - 1;
+            } else if (j >= start + row[2 * mid + 1]) {
+                lo = mid + 1;
+            } else {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Застосовує маску до зображення, змінюючи яскравість кольорів у покритих
+     * пікселях.
+     * 
+     * @param image Зображення для застосування маски.
+     */
+    public void applyToImage(Image image) {
+        applyToImage(image, Mask.DEFAULT_DARKEN_POINTS);
+    }
+
+    /**
+     * Застосовує маску до зображення, зменшуючи яскравість HSB на вказану
+     * кількість пунктів лише у пікселях, покритих серіями.
+     * 
+     * @param image  Зображення для застосування маски.
+     * @param points Кількість пунктів яскравості для зменшення.
+     */
+    public void applyToImage(Image image, int points) {
+        MaskApplyEvent event = new MaskApplyEvent();
+        event.begin();
+        long startNanos = Metrics.ENABLED ? System.nanoTime() : 0;
+        long modified = 0;
+        int rows = Math.min(bottom, image.getRows());
+        int cols = Math.min(n, image.getColumns());
+        int stride = image.getStride();
+        int[] pixels = image.pixelArray(); // Швидкий шлях для зображень у купі
+        for (int i = top; i < rows; i++) {
+            int[] row = runs[i];
+            long base = (long) i * stride;
+            for (int k = 0; k < row.length; k += 2) {
+                int start = row[k];
+                if (start >= cols) {
+                    break;
+                }
+                int end = Math.min(start + row[k + 1], cols);
+                if (pixels != null) {
+                    for (int index = (int) base + start; index < (int) base + end; index++) {
+                        pixels[index] = ColorConverter.darkenRGBA(pixels[index], points);
+                    }
+                } else {
+                    for (long index = base + start; index < base + end; index++) {
+                        image.setRgbaAt(index, ColorConverter.darkenRGBA(image.rgbaAt(index), points));
+                    }
+                }
+                modified += end - start;
+            }
+        }
+        long visited = (long) Math.max(rows - top, 0) * cols;
+        if (Metrics.ENABLED) {
+            Metrics.maskPass(visited, modified, System.nanoTime() - startNanos);
+        }
+        event.finish("run-length", image.getRows(), image.getColumns(), visited, modified,
+                image.getStorageType(), false);
+    }
+
+    /**
+     * Повертає кількість покритих елементів маски.
+     * 
+     * @return Площа маски.
+     */
+    public long getArea() {
+        return area;
+    }
+
+    /**
+     * Повертає перший рядок обмежувального прямокутника.
+     * 
+     * @return Індекс верхнього рядка (включно).
+     */
+    public int getTop() {
+        return top;
+    }
+
+    /**
+     * Повертає перший стовпець обмежувального прямокутника.
+     * 
+     * @return Індекс лівого стовпця (включно).
+     */
+    public int getLeft() {
+        return left;
+    }
+
+    /**
+     * Повертає межу обмежувального прямокутника за рядками.
+     * 
+     * @return Індекс рядка після останнього покритого (не включно).
+     */
+    public int getBottom() {
+        return bottom;
+    }
+
+    /**
+     * Повертає межу обмежувального прямокутника за стовпцями.
+     * 
+     * @return Індекс стовпця після останнього покритого (не включно).
+     */
+    public int getRight() {
+        return right;
+    }
+
+    /**
+     * Повертає кількість рядків маски.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return m;
+    }
+
+    /**
+     * Повертає кількість стовпців маски.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return n;
+    }
+
+    /**
+     * Будівник маски серій. Серії можуть надходити у довільному порядку,
+     * перекриватися або виходити за межі маски: під час побудови вони
+     * обрізаються, сортуються та об'єднуються.
+     */
+    public static class Builder {
+        private int m, n; // Розміри маски
+        private int[][] runs; // Для кожного рядка: пари (початок, довжина) у порядку додавання
+        private int[] sizes; // Кількість зайнятих елементів у кожному рядку масиву runs
+
+        /**
+         * Конструктор будівника для маски з вказаними розмірами.
+         * 
+         * @param m Кількість рядків.
+         * @param n Кількість стовпців.
+         */
+        public Builder(int m, int n) {
+            this.m = m;
+            this.n = n;
+            this.runs = new int[m][];
+            this.sizes = new int[m];
+        }
+
+        /**
+         * Додає серію покритих елементів у рядку.
+         * 
+         * @param row    Індекс рядка.
+         * @param start  Початковий стовпець.
+         * @param length Довжина серії.
+         * @return Поточний будівник.
+         */
+        public Builder addRun(int row, int start, int length) {
+            int from = Math.max(start, 0);
+            int to = (int) Math.min((long) start + length, n);
+            if (row < 0 || row >= m || from >= to) {
+                return this; // Порожня або повністю зовнішня серія
+            }
+            int[] list = runs[row];
+            if (list == null) {
+                list = runs[row] = new int[4];
+            } else if (sizes[row] == list.length) {
+                list = runs[row] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[sizes[row]++] = from;
+            list[sizes[row]++] = to - from;
+            return this;
+        }
+
+        /**
+         * Будує маску серій.
+         * 
+         * @return Нова маска серій.
+         */
+        public RunLengthMask build() {
+            int[][] result = new int[m][];
+            for (int i = 0; i < m; i++) {
+                result[i] = runs[i] == null ? NO_RUNS : normalize(runs[i], sizes[i]);
+            }
+            return new RunLengthMask(m, n, result);
+        }
+
+        /**
+         * Сортує серії рядка за початком та об'єднує ті, що перекриваються або
+         * стикуються.
+         * 
+         * @param list Пари (початок, довжина).
+         * @param size Кількість зайнятих елементів у списку.
+         * @return Впорядковані пари без перекриттів.
+         */
+        private static int[] normalize(int[] list, int size) {
+            int count = size / 2;
+            long[] packed = new long[count]; // Початок у старших бітах для сортування
+            for (int k = 0; k < count; k++) {
+                packed[k] = ((long) list[2 * k] << 32) | (list[2 * k] + list[2 * k + 1]);
+            }
+            Arrays.sort(packed);
+            int[] merged = new int[size];
+            int used = 0;
+            int start = (int) (packed[0] >>> 32), end = (int) packed[0];
+            for (int k = 1; k < count; k++) {
+                int s = (int) (packed[k] >>> 32), e = (int) packed[k];
+                if (s <= end) {
+                    end = Math.max(end, e);
+                } else {
+                    merged[used++] = start;
+                    merged[used++] = end - start;
+                    start = s;
+                    end = e;
+                }
+            }
+            merged[used++] = start;
+            merged[used++] = end - start;
+            return Arrays.copyOf(merged, used);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package images;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Сховище пікселів поза купою JVM на основі Foreign Memory API
+ * ({@link MemorySegment} та {@link Arena}).
+ * 
+ * <p>
+ * Пам'ять виділяється однією ділянкою з 64-бітною адресацією, тому кількість
+ * пікселів не обмежена розміром масиву Java, а збирач сміття не сканує ці
+ * дані. Пам'ять звільняється явно методом {@link #close()}. Арена завжди
+ * спільна (shared): паралельні шляхи бібліотеки (запис тексту, попіксельні
+ * операції, заміна палітрою) читають пікселі з потоків ForkJoinPool, тож
+ * обмежена потоком-власником арена з ними несумісна.
+ * </p>
+ */
+final class SegmentPixelStore extends PixelStore {
+    private final Arena arena;
+    private final MemorySegment segment;
+
+    /**
+     * Виділяє сховище вказаного розміру поза купою.
+     * 
+     * @param size Кількість пікселів.
+     */
+    SegmentPixelStore(long size) {
+        super(size);
+        this.arena = Arena.ofShared();
+        this.segment = arena.allocate(Math.multiplyExact(size, ValueLayout.JAVA_INT.byteSize()),
+                ValueLayout.JAVA_INT.byteAlignment());
+    }
+
+    @Override
+    int get(long index) {
+        return segment.getAtIndex(ValueLayout.JAVA_INT, index);
+    }
+
+    @Override
+    void set(long index, int rgba) {
+        segment.setAtIndex(ValueLayout.JAVA_INT, index, rgba);
+    }
+
+    @Override
+    void fill(int rgba) {
+        if (size == 0) {
+            return;
+        }
+        segment.setAtIndex(ValueLayout.JAVA_INT, 0, rgba);
+        long bytes = segment.byteSize();
+        for (long filled = ValueLayout.JAVA_INT.byteSize(); filled < bytes; filled *= 2) {
+            // Подвоюємо заповнену ділянку копіюванням блоків пам'яті
+            MemorySegment.copy(segment, 0, segment, filled, Math.min(filled, bytes - filled));
+        }
+    }
+
+    @Override
+    String type() {
+        return "offheap";
+    }
+
+    @Override
+    void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,313 @@
+package images;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Клас TextImageReader читає зображення, збережені у текстовому форматі
+ * {@link Image#saveAsText(String)}.
+ * 
+ * <p>
+ * Файл відображається у пам'ять частинами, межі яких зсунуті до початку
+ * рядка, тож кожна частина містить лише цілі рядки зображення. Спочатку
+ * паралельно підраховуються символи нового рядка в кожній частині, що дає
+ * номер першого рядка зображення для кожної частини. Потім частини
+ * паралельно розбираються безпосередньо у сховище пікселів зображення без
+ * створення проміжних рядків чи масивів.
+ * </p>
+ */
+final class TextImageReader {
+    /**
+     * Мінімальний розмір частини файлу: менші файли розбираються одним потоком.
+     */
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Максимальний розмір частини файлу (обмеження {@link MappedByteBuffer}).
+     */
+    private static final long MAX_CHUNK_BYTES = 1 << 30;
+
+    /**
+     * Розмір буфера для пошуку кінця рядка біля межі частини.
+     */
+    private static final int PROBE_BYTES = 1 << 12;
+
+    /**
+     * Максимальний розмір масиву int[] для сховища у купі.
+     */
+    private static final long MAX_HEAP_PIXELS = Integer.MAX_VALUE - 8;
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private TextImageReader() {
+    }
+
+    /**
+     * Читає зображення з текстового файлу.
+     * 
+     * @param path Шлях до файлу.
+     * @return Прочитане зображення (у купі або поза купою, якщо пікселів
+     *         забагато для масиву).
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    static Image read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new Image(0, 0);
+            }
+            MappedByteBuffer[] chunks = map(channel, split(channel, size));
+            IntStream indices = IntStream.range(0, chunks.length);
+            long[] newlines = (chunks.length > 1 ? indices.parallel() : indices)
+                    .mapToLong(k -> countNewlines(chunks[k])).toArray();
+
+            long[] firstRow = new long[chunks.length];
+            long lines = 0;
+            for (int k = 0; k < chunks.length; k++) {
+                firstRow[k] = lines;
+                lines += newlines[k];
+            }
+            ByteBuffer last = chunks[chunks.length - 1];
+            if (last.get(last.limit() - 1) != '\n') {
+                lines++; // Останній рядок без символу нового рядка
+            }
+            if (lines > Integer.MAX_VALUE) {
+                throw new IOException("Забагато рядків у файлі: " + lines);
+            }
+            int m = (int) lines;
+            long columns = countValues(chunks[0]);
+            if (columns > Integer.MAX_VALUE) {
+                throw new IOException("Забагато стовпців у файлі: " + columns);
+            }
+            int n = (int) columns;
+
+            Image image = (long) m * n <= MAX_HEAP_PIXELS ? new Image(m, n) : Image.offHeap(m, n);
+            try {
+                IntStream parts = IntStream.range(0, chunks.length);
+                (chunks.length > 1 ? parts.parallel() : parts).forEach(k -> {
+                    try {
+                        parse(chunks[k], (int) firstRow[k], image);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                image.close();
+                throw e.getCause();
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Розбиває файл на частини, кожна з яких починається з нового рядка.
+     * 
+     * @param channel Канал файлу.
+     * @param size    Розмір файлу.
+     * @return Позиції початків частин і, останнім елементом, розмір файлу.
+     * @throws IOException якщо виникла помилка читання.
+     */
+    private static long[] split(FileChannel channel, long size) throws IOException {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long target = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / (4L * parallelism)));
+        List<Long> starts = new ArrayList<>();
+        starts.add(0L);
+        long start = 0;
+        while (size - start > target) {
+            long next = lineStartAfter(channel, start + target - 1, size);
+            if (next - start > MAX_CHUNK_BYTES) {
+                throw new IOException("Рядок файлу довший за " + MAX_CHUNK_BYTES + " байтів");
+            }
+            if (next >= size) {
+                break;
+            }
+            starts.add(next);
+            start = next;
+        }
+        long[] bounds = new long[starts.size() + 1];
+        for (int k = 0; k < starts.size(); k++) {
+            bounds[k] = starts.get(k);
+        }
+        bounds[starts.size()] = size;
+        return bounds;
+    }
+
+    /**
+     * Знаходить початок рядка, що слідує за першим символом нового рядка,
+     * починаючи з вказаної позиції.
+     * 
+     * @param channel  Канал файлу.
+     * @param position Позиція, з якої починається пошук.
+     * @param size     Розмір файлу.
+     * @return Позиція після символу нового рядка або розмір файлу.
+     * @throws IOException якщо виникла помилка читання.
+     */
+    private static long lineStartAfter(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_BYTES);
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Відображає частини файлу у пам'ять лише для читання.
+     * 
+     * @param channel Канал файлу.
+     * @param bounds  Межі частин.
+     * @return Відображення частин.
+     * @throws IOException якщо відобразити файл не вдалося.
+     */
+    private static MappedByteBuffer[] map(FileChannel channel, long[] bounds) throws IOException {
+        MappedByteBuffer[] chunks = new MappedByteBuffer[bounds.length - 1];
+        for (int k = 0; k < chunks.length; k++) {
+            chunks[k] = channel.map(FileChannel.MapMode.READ_ONLY, bounds[k], bounds[k + 1] - bounds[k]);
+        }
+        return chunks;
+    }
+
+    /**
+     * Підраховує символи нового рядка у частині файлу.
+     * 
+     * @param chunk Частина файлу.
+     * @return Кількість символів нового рядка.
+     */
+    private static long countNewlines(ByteBuffer chunk) {
+        long count = 0;
+        for (int i = 0, limit = chunk.limit(); i < limit; i++) {
+            if (chunk.get(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Підраховує значення у першому рядку частини файлу.
+     * 
+     * @param chunk Частина файлу.
+     * @return Кількість значень у першому рядку.
+     */
+    private static long countValues(ByteBuffer chunk) {
+        long count = 0;
+        boolean inValue = false;
+        for (int i = 0, limit = chunk.limit(); i < limit; i++) {
+            byte c = chunk.get(i);
+            if (c == '\n') {
+                break;
+            }
+            boolean separator = isSeparator(c);
+            if (!separator && !inValue) {
+                count++;
+            }
+            inValue = !separator;
+        }
+        return count;
+    }
+
+    /**
+     * Розбирає рядки частини файлу у пікселі зображення.
+     * 
+     * @param chunk    Частина файлу, що починається з нового рядка.
+     * @param firstRow Індекс першого рядка зображення у частині.
+     * @param image    Зображення для заповнення.
+     * @throws IOException якщо частина має неправильний формат.
+     */
+    private static void parse(ByteBuffer chunk, int firstRow, Image image) throws IOException {
+        int n = image.getColumns();
+        long stride = image.getStride();
+        int limit = chunk.limit();
+        int row = firstRow;
+        int column = 0;
+        long base = (long) row * stride;
+        int i = 0;
+        while (i < limit) {
+            byte c = chunk.get(i);
+            if (c == '\n') {
+                checkColumns(row, column, n);
+                row++;
+                column = 0;
+                base += stride;
+                i++;
+            } else if (isSeparator(c)) {
+                i++;
+            } else {
+                if (column == n) {
+                    throw new IOException("Рядок " + (row + 1) + " містить більше ніж " + n + " значень");
+                }
+                boolean negative = c == '-';
+                if (negative) {
+                    i++;
+                }
+                long value = 0;
+                int digits = 0;
+                while (i < limit && (c = chunk.get(i)) >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    if (value > (long) Integer.MAX_VALUE + 1) {
+                        throw new IOException("Рядок " + (row + 1) + ": значення виходить за межі типу int");
+                    }
+                    digits++;
+                    i++;
+                }
+                if (negative) {
+                    value = -value;
+                }
+                if (digits == 0 || value > Integer.MAX_VALUE
+                        || (i < limit && c != '\n' && !isSeparator(c))) {
+                    throw new IOException("Рядок " + (row + 1) + ", стовпець " + (column + 1)
+                            + ": очікувалося ціле число");
+                }
+                image.setRgbaAt(base + column, (int) value);
+                column++;
+            }
+        }
+        if (limit > 0 && chunk.get(limit - 1) != '\n') {
+            checkColumns(row, column, n); // Останній рядок файлу без символу нового рядка
+        }
+    }
+
+    /**
+     * Перевіряє, що рядок містить рівно <code>n</code> значень.
+     * 
+     * @param row    Індекс рядка.
+     * @param column Кількість прочитаних значень.
+     * @param n      Очікувана кількість значень.
+     * @throws IOException якщо кількість значень не співпадає.
+     */
+    private static void checkColumns(int row, int column, int n) throws IOException {
+        if (column != n) {
+            throw new IOException("Рядок " + (row + 1) + " містить " + column + " значень замість " + n);
+        }
+    }
+
+    /**
+     * Перевіряє, чи є байт роздільником значень у межах рядка.
+     * 
+     * @param c Байт.
+     * @return true для пробілу, табуляції та символу повернення каретки.
+     */
+    private static boolean isSeparator(byte c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+}
@@ -0,0 +1,170 @@
+package images;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Клас TextImageWriter записує зображення у текстовий формат
+ * {@link Image#saveAsText(String)}: кожен піксель як десяткове ціле значення з
+ * пробілом після нього, кожен рядок завершується символом нового рядка.
+ * 
+ * <p>
+ * Цілі числа перетворюються у ASCII вручну, без {@link String#format}. Рядки
+ * форматуються пакетами в окремі буфери, що використовуються повторно (для
+ * великих зображень паралельно), і записуються у {@link FileChannel} одним
+ * збірним записом у порядку рядків.
+ * </p>
+ */
+final class TextImageWriter {
+    /**
+     * Максимальна довжина одного значення: "-2147483648 ".
+     */
+    private static final int MAX_VALUE_BYTES = 12;
+
+    /**
+     * Максимальний розмір масиву, який гарантовано можна створити.
+     */
+    private static final long MAX_ARRAY_BYTES = Integer.MAX_VALUE - 8;
+
+    /**
+     * Приблизний обсяг тексту в одному пакеті рядків.
+     */
+    private static final int BATCH_BYTES = 4 << 20;
+
+    /**
+     * Мінімальна кількість пікселів, починаючи з якої рядки форматуються
+     * паралельно.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private TextImageWriter() {
+    }
+
+    /**
+     * Записує зображення у файл.
+     * 
+     * @param image Зображення для запису.
+     * @param path  Шлях до файлу (файл перезаписується).
+     * @return Кількість записаних байтів.
+     * @throws IOException якщо виникла помилка запису.
+     */
+    static long write(Image image, Path path) throws IOException {
+        int m = image.getRows();
+        int n = image.getColumns();
+        int rowCapacity = rowCapacity(n);
+        int batchRows = Math.max(1, Math.min(m, BATCH_BYTES / rowCapacity));
+        boolean parallel = (long) m * n >= PARALLEL_THRESHOLD;
+
+        byte[][] rows = new byte[batchRows][rowCapacity]; // Буфери використовуються повторно для кожного пакета
+        int[] lengths = new int[batchRows];
+        ByteBuffer[] views = new ByteBuffer[batchRows];
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (int first = 0; first < m; first += batchRows) {
+                int start = first;
+                int count = Math.min(batchRows, m - first);
+                IntStream slots = IntStream.range(0, count);
+                (parallel ? slots.parallel() : slots)
+                        .forEach(k -> lengths[k] = formatRow(image, start + k, rows[k]));
+                for (int k = 0; k < count; k++) {
+                    views[k] = ByteBuffer.wrap(rows[k], 0, lengths[k]);
+                }
+                written += writeFully(channel, views, count);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Форматує один рядок зображення у буфер.
+     * 
+     * @param image Зображення.
+     * @param row   Індекс рядка.
+     * @param out   Буфер для тексту рядка.
+     * @return Кількість записаних у буфер байтів.
+     */
+    static int formatRow(Image image, int row, byte[] out) {
+        int n = image.getColumns();
+        long base = (long) row * image.getStride();
+        int pos = 0;
+        for (int j = 0; j < n; j++) {
+            pos = writeInt(out, pos, image.rgbaAt(base + j));
+            out[pos++] = ' ';
+        }
+        out[pos++] = '\n';
+        return pos;
+    }
+
+    /**
+     * Обчислює розмір буфера для тексту одного рядка.
+     * 
+     * @param columns Кількість стовпців зображення.
+     * @return Максимальна кількість байтів тексту рядка разом з переведенням
+     *         рядка.
+     * @throws IllegalArgumentException якщо рядок не вміщується в один масив.
+     */
+    static int rowCapacity(int columns) {
+        long capacity = (long) columns * MAX_VALUE_BYTES + 1;
+        if (capacity > MAX_ARRAY_BYTES) {
+            throw new IllegalArgumentException("Рядок з " + columns + " стовпців не вміщується в буфер запису ("
+                    + capacity + " байтів)");
+        }
+        return (int) capacity;
+    }
+
+    /**
+     * Записує десяткове представлення цілого числа у буфер.
+     * 
+     * @param out   Буфер.
+     * @param pos   Позиція для запису.
+     * @param value Значення.
+     * @return Позиція після останньої записаної цифри.
+     */
+    static int writeInt(byte[] out, int pos, int value) {
+        int q = value; // Працюємо з від'ємним значенням, щоб обробити Integer.MIN_VALUE
+        if (q < 0) {
+            out[pos++] = '-';
+        } else {
+            q = -q;
+        }
+        int digits = 1;
+        for (int t = q; t <= -10; t /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int p = end - 1; p >= pos; p--) {
+            out[p] = (byte) ('0' - q % 10);
+            q /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * Записує буфери у канал повністю.
+     * 
+     * @param channel Канал файлу.
+     * @param buffers Буфери для запису.
+     * @param count   Кількість буферів на початку масиву.
+     * @return Кількість записаних байтів.
+     * @throws IOException якщо виникла помилка запису.
+     */
+    private static long writeFully(FileChannel channel, ByteBuffer[] buffers, int count) throws IOException {
+        long total = 0;
+        int first = 0;
+        while (first < count) {
+            total += channel.write(buffers, first, count - first);
+            while (first < count && !buffers[first].hasRemaining()) {
+                first++;
+            }
+        }
+        return total;
+    }
+}
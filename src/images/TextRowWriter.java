@@ -0,0 +1,96 @@
+package images;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Клас TextRowWriter записує зображення у текстовий формат
+ * {@link Image#saveAsText(String)} рядок за рядком, не маючи всього
+ * зображення в пам'яті. Текст накопичується у буфері, що використовується
+ * повторно, і записується у канал файлу, коли буфер заповнюється.
+ */
+public class TextRowWriter implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final int columns; // Кількість значень у рядку
+    private final int rowCapacity; // Максимальна довжина тексту одного рядка
+    private final byte[] buffer;
+    private int length; // Кількість байтів у буфері
+    private long written; // Кількість записаних у файл байтів
+
+    /**
+     * Створює (або перезаписує) файл для запису рядків.
+     * 
+     * @param path    Шлях до файлу.
+     * @param columns Кількість стовпців зображення.
+     * @throws IOException              якщо файл не вдалося створити.
+     * @throws IllegalArgumentException якщо рядок не вміщується в буфер
+     *                                  запису.
+     */
+    public TextRowWriter(Path path, int columns) throws IOException {
+        this.columns = columns;
+        this.rowCapacity = TextImageWriter.rowCapacity(columns);
+        this.buffer = new byte[Math.max(BUFFER_BYTES, rowCapacity)];
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Записує один рядок зображення.
+     * 
+     * @param rgba Упаковані значення RGBA; використовуються перші
+     *             <code>columns</code> елементів.
+     * @throws IOException якщо виникла помилка запису.
+     */
+    public void writeRow(int[] rgba) throws IOException {
+        if (buffer.length - length < rowCapacity) {
+            flush();
+        }
+        int pos = length;
+        for (int j = 0; j < columns; j++) {
+            pos = TextImageWriter.writeInt(buffer, pos, rgba[j]);
+            buffer[pos++] = ' ';
+        }
+        buffer[pos++] = '\n';
+        length = pos;
+    }
+
+    /**
+     * Записує накопичений текст у файл.
+     * 
+     * @throws IOException якщо виникла помилка запису.
+     */
+    public void flush() throws IOException {
+        ByteBuffer view = ByteBuffer.wrap(buffer, 0, length);
+        while (view.hasRemaining()) {
+            written += channel.write(view);
+        }
+        length = 0;
+    }
+
+    /**
+     * Повертає кількість байтів, записаних у файл.
+     * 
+     * @return Кількість байтів.
+     */
+    public long getBytesWritten() {
+        return written;
+    }
+
+    /**
+     * Записує залишок тексту та закриває файл.
+     * 
+     * @throws IOException якщо виникла помилка запису.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+}
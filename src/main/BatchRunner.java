@@ -0,0 +1,237 @@
+package main;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Клас BatchRunner виконує набір файлів завдань у межах однієї JVM.
+ * 
+ * <p>
+ * Кожне завдання виконується у власному віртуальному потоці, а кількість
+ * одночасно виконуваних завдань обмежується семафором, що обмежує
+ * використання пам'яті та процесора. Помилка одного завдання не зупиняє
+ * інші: для кожного завдання повертається результат з часом виконання або
+ * помилкою.
+ * </p>
+ */
+public class BatchRunner {
+    private final int maxInFlight; // Максимальна кількість одночасних завдань
+
+    /**
+     * Конструктор виконавця завдань.
+     * 
+     * @param maxInFlight Максимальна кількість одночасно виконуваних завдань.
+     */
+    public BatchRunner(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Кількість одночасних завдань повинна бути додатною: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Повертає список файлів завдань. Якщо шлях є каталогом, повертаються всі
+     * файли <code>*.dat</code> у ньому в алфавітному порядку. Інакше шлях
+     * вважається файлом-переліком: кожен непорожній рядок, що не починається
+     * з <code>#</code>, задає шлях до файлу завдання відносно каталогу
+     * переліку.
+     * 
+     * @param source Каталог або файл-перелік.
+     * @return Шляхи до файлів завдань.
+     * @throws IOException якщо каталог або перелік не вдалося прочитати.
+     */
+    public static List<Path> collectJobs(Path source) throws IOException {
+        List<Path> jobs = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                files.filter(p -> p.getFileName().toString().endsWith(".dat") && Files.isRegularFile(p))
+                        .sorted().forEach(jobs::add);
+            }
+        } else {
+            Path base = source.toAbsolutePath().getParent();
+            for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+                String entry = line.strip();
+                if (!entry.isEmpty() && !entry.startsWith("#")) {
+                    jobs.add(base.resolve(entry));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Виконує одне завдання: розбирає файл, застосовує маску та зберігає
+     * результат у каталозі файлу завдання.
+     * 
+     * @param jobPath Шлях до файлу завдання.
+     * @return Шлях до збереженого зображення.
+     * @throws IOException якщо файл не вдалося прочитати або результат не
+     *                     вдалося записати.
+     */
+    public static Path runJob(Path jobPath) throws IOException {
+        JobFile job = JobFileParser.parse(jobPath);
+        Path output = outputPath(jobPath, job.getOutputName());
+        job.render().writeText(output.toString());
+        return output;
+    }
+
+    /**
+     * Повертає шлях для збереження результату завдання: ім'я файлу
+     * розглядається відносно каталогу файлу завдання.
+     * 
+     * @param jobPath    Шлях до файлу завдання.
+     * @param outputName Ім'я файлу результату з файлу завдання.
+     * @return Шлях до файлу результату.
+     */
+    static Path outputPath(Path jobPath, String outputName) {
+        Path parent = jobPath.toAbsolutePath().getParent();
+        return parent.resolve(outputName);
+    }
+
+    /**
+     * Виконує завдання у віртуальних потоках і чекає на завершення всіх.
+     * 
+     * @param jobs Шляхи до файлів завдань.
+     * @return Результати у порядку завдань.
+     * @throws InterruptedException якщо потік перервано під час очікування.
+     */
+    public List<Result> run(List<Path> jobs) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        List<Future<Result>> futures = new ArrayList<>(jobs.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path jobPath : jobs) {
+                permits.acquire(); // Нові завдання не створюються, доки не звільниться місце
+                futures.add(executor.submit(() -> {
+                    try {
+                        return execute(jobPath);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<Result> results = new ArrayList<>(futures.size());
+        for (Future<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error; // Наприклад, OutOfMemoryError: не приховуємо вичерпання пам'яті
+                }
+                throw new IllegalStateException(e.getCause()); // execute() перехоплює всі винятки
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Виконує одне завдання та вимірює час виконання.
+     * 
+     * @param jobPath Шлях до файлу завдання.
+     * @return Результат завдання.
+     */
+    private static Result execute(Path jobPath) {
+        long start = System.nanoTime();
+        try {
+            Path output = runJob(jobPath);
+            return new Result(jobPath, output, System.nanoTime() - start, null);
+        } catch (Exception e) {
+            return new Result(jobPath, null, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Результат виконання одного завдання.
+     */
+    public static class Result {
+        private final Path job; // Файл завдання
+        private final Path output; // Файл результату (null у разі помилки)
+        private final long nanos; // Час виконання у наносекундах
+        private final Throwable error; // Помилка (null у разі успіху)
+
+        /**
+         * Конструктор результату.
+         * 
+         * @param job    Файл завдання.
+         * @param output Файл результату або null.
+         * @param nanos  Час виконання у наносекундах.
+         * @param error  Помилка або null.
+         */
+        Result(Path job, Path output, long nanos, Throwable error) {
+            this.job = job;
+            this.output = output;
+            this.nanos = nanos;
+            this.error = error;
+        }
+
+        /**
+         * Повертає шлях до файлу завдання.
+         * 
+         * @return Файл завдання.
+         */
+        public Path getJob() {
+            return job;
+        }
+
+        /**
+         * Повертає шлях до файлу результату.
+         * 
+         * @return Файл результату або null, якщо завдання завершилося помилкою.
+         */
+        public Path getOutput() {
+            return output;
+        }
+
+        /**
+         * Повертає час виконання завдання.
+         * 
+         * @return Час у наносекундах.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Повертає помилку завдання.
+         * 
+         * @return Помилка або null, якщо завдання виконано успішно.
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * Перевіряє, чи завдання виконано успішно.
+         * 
+         * @return true, якщо помилки не було.
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /**
+         * Повертає рядок звіту про завдання.
+         * 
+         * @return Рядок з результатом і часом виконання.
+         */
+        @Override
+        public String toString() {
+            String time = String.format("%.1f мс", nanos / 1e6);
+            if (isSuccess()) {
+                return "OK      " + job + " -> " + output + " (" + time + ")";
+            }
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+            return "ПОМИЛКА " + job + ": " + message + " (" + time + ")";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Клас JobClient - клієнт сервера {@link JobServer}: надсилає запити через
+ * сокет домену Unix і повертає рядки відповідей.
+ */
+public class JobClient implements Closeable {
+    private final SocketChannel channel;
+    private final BufferedReader in;
+    private final BufferedWriter out;
+
+    /**
+     * Під'єднується до сервера.
+     * 
+     * @param socketPath Шлях до файлу сокета сервера.
+     * @throws IOException якщо під'єднатися не вдалося.
+     */
+    public JobClient(Path socketPath) throws IOException {
+        this.channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(socketPath));
+        this.in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Надсилає запит і чекає на відповідь.
+     * 
+     * @param request Рядок запиту (без символу нового рядка).
+     * @return Рядок відповіді.
+     * @throws IOException якщо сервер закрив з'єднання або виникла помилка
+     *                     сокета.
+     */
+    public String send(String request) throws IOException {
+        out.write(request);
+        out.newLine();
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null) {
+            throw new IOException("Сервер закрив з'єднання");
+        }
+        return reply;
+    }
+
+    /**
+     * Надсилає запит на виконання файлу завдання.
+     * 
+     * @param jobPath Шлях до файлу завдання відносно робочого каталогу
+     *                сервера.
+     * @return Рядок відповіді.
+     * @throws IOException якщо виникла помилка сокета.
+     */
+    public String submit(Path jobPath) throws IOException {
+        return send("FILE " + jobPath);
+    }
+
+    /**
+     * Закриває з'єднання.
+     * 
+     * @throws IOException якщо виникла помилка закриття.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
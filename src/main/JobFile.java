@@ -0,0 +1,92 @@
+package main;
+
+import colors.ColorRGBA;
+import images.BitMask;
+import images.Image;
+
+/**
+ * Клас JobFile представляє одне завдання з файлу у форматі
+ * <code>NZ_test.dat</code>: розміри зображення, колір заповнення, маску та
+ * ім'я файлу для збереження результату.
+ */
+public class JobFile {
+    private int rows, columns; // Розміри зображення
+    private ColorRGBA color; // Колір для заповнення зображення
+    private BitMask mask; // Маска для застосування
+    private String outputName; // Ім'я файлу результату
+
+    /**
+     * Конструктор завдання.
+     * 
+     * @param rows       Кількість рядків зображення.
+     * @param columns    Кількість стовпців зображення.
+     * @param color      Колір для заповнення зображення.
+     * @param mask       Маска для застосування.
+     * @param outputName Ім'я файлу результату.
+     */
+    public JobFile(int rows, int columns, ColorRGBA color, BitMask mask, String outputName) {
+        this.rows = rows;
+        this.columns = columns;
+        this.color = color;
+        this.mask = mask;
+        this.outputName = outputName;
+    }
+
+    /**
+     * Створює зображення завдання, заповнене кольором, і застосовує до нього
+     * маску.
+     * 
+     * @return Оброблене зображення.
+     */
+    public Image render() {
+        Image image = new Image(rows, columns);
+        image.fill(color);
+        mask.applyToImage(image);
+        return image;
+    }
+
+    /**
+     * Повертає кількість рядків зображення.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Повертає кількість стовпців зображення.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Повертає колір для заповнення зображення.
+     * 
+     * @return Колір у форматі RGBA.
+     */
+    public ColorRGBA getColor() {
+        return color;
+    }
+
+    /**
+     * Повертає маску завдання.
+     * 
+     * @return Бітова маска.
+     */
+    public BitMask getMask() {
+        return mask;
+    }
+
+    /**
+     * Повертає ім'я файлу результату.
+     * 
+     * @return Ім'я файлу.
+     */
+    public String getOutputName() {
+        return outputName;
+    }
+}
@@ -0,0 +1,46 @@
+package main;
+
+import java.io.IOException;
+
+/**
+ * Виняток, що описує помилку розбору файлу завдання з номером рядка та
+ * стовпця, де її виявлено.
+ */
+public class JobFileParseException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long line; // Номер рядка (з 1)
+    private final long column; // Номер стовпця (з 1)
+
+    /**
+     * Конструктор винятку.
+     * 
+     * @param source  Назва джерела (наприклад, шлях до файлу).
+     * @param line    Номер рядка (з 1).
+     * @param column  Номер стовпця (з 1).
+     * @param message Опис помилки.
+     */
+    public JobFileParseException(String source, long line, long column, String message) {
+        super(source + ":" + line + ":" + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Повертає номер рядка, де виявлено помилку.
+     * 
+     * @return Номер рядка (з 1).
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Повертає номер стовпця, де виявлено помилку.
+     * 
+     * @return Номер стовпця (з 1).
+     */
+    public long getColumn() {
+        return column;
+    }
+}
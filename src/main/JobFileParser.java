@@ -0,0 +1,382 @@
+package main;
+
+import colors.ColorRGBA;
+import images.BitMask;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Клас JobFileParser розбирає файли завдань у форматі
+ * <code>NZ_test.dat</code>:
+ * 
+ * <pre>
+ * m n
+ * r g b a
+ * maskRows maskCols
+ * maskRows x maskCols значень маски
+ * ім'я_файлу_результату
+ * </pre>
+ * 
+ * <p>
+ * На відміну від {@link java.util.Scanner}, парсер не використовує
+ * регулярних виразів і не створює рядків для чисел: байти читаються з каналу
+ * файлу блоками у буфер, що використовується повторно, а цілі числа
+ * збираються безпосередньо з цифр. Маска заповнюється рядок за рядком під
+ * час читання. Помилки повідомляються винятком {@link JobFileParseException}
+ * з номером рядка та стовпця.
+ * </p>
+ */
+public class JobFileParser implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Максимальна кількість поспіль прочитань без даних, після якої канал
+     * вважається несправним.
+     */
+    private static final int MAX_EMPTY_READS = 16;
+
+    private final String source; // Назва джерела для повідомлень про помилки
+    private final ReadableByteChannel channel;
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    private final ByteBuffer view = ByteBuffer.wrap(buffer);
+    private int position, limit; // Поточна позиція та кінець даних у буфері
+    private long consumed; // Кількість байтів файлу до початку буфера
+    private long line = 1; // Номер поточного рядка
+    private long lineStart; // Позиція у файлі початку поточного рядка
+    private long tokenLine, tokenColumn; // Початок останньої лексеми
+    private int rows, columns; // Розміри зображення з заголовка
+    private ColorRGBA color; // Колір з заголовка
+    private int maskRows, maskColumns; // Розміри маски з заголовка
+
+    /**
+     * Відкриває файл завдання для розбору.
+     * 
+     * @param path Шлях до файлу.
+     * @throws IOException якщо файл не вдалося відкрити.
+     */
+    public JobFileParser(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), path.toString());
+    }
+
+    /**
+     * Створює парсер для довільного каналу, наприклад для завдання, переданого
+     * у запиті без файлу. Канал закривається методом {@link #close()}.
+     * 
+     * @param channel Канал з текстом завдання (у блокуючому режимі).
+     * @param source  Назва джерела для повідомлень про помилки.
+     * @throws IllegalArgumentException якщо канал працює у неблокуючому
+     *                                  режимі.
+     */
+    public JobFileParser(ReadableByteChannel channel, String source) {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException("Парсер потребує блокуючого каналу: " + source);
+        }
+        this.source = source;
+        this.channel = channel;
+    }
+
+    /**
+     * Розбирає файл завдання повністю.
+     * 
+     * @param path Шлях до файлу.
+     * @return Завдання з файлу.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public static JobFile parse(Path path) throws IOException {
+        try (JobFileParser parser = new JobFileParser(path)) {
+            return parser.readJob();
+        }
+    }
+
+    /**
+     * Читає завдання з поточної позиції файлу.
+     * 
+     * @return Завдання з файлу.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public JobFile readJob() throws IOException {
+        readHeader();
+        BitMask mask = new BitMask(maskRows, maskColumns);
+        for (int i = 0; i < maskRows; i++) {
+            for (int j = 0; j < maskColumns; j++) {
+                if (nextInt() == 1) {
+                    mask.setMaskValue(i, j, 1);
+                }
+            }
+        }
+        return new JobFile(rows, columns, color, mask, readOutputName());
+    }
+
+    /**
+     * Читає заголовок завдання: розміри зображення, колір і розміри маски.
+     * Після нього рядки маски читаються методом {@link #readMaskRow(long[])},
+     * а потім ім'я файлу результату - методом {@link #readOutputName()}.
+     * 
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public void readHeader() throws IOException {
+        rows = nextDimension("кількість рядків зображення");
+        columns = nextDimension("кількість стовпців зображення");
+        color = new ColorRGBA(nextInt(), nextInt(), nextInt(), nextInt());
+        maskRows = nextDimension("кількість рядків маски");
+        maskColumns = nextDimension("кількість стовпців маски");
+    }
+
+    /**
+     * Читає наступний рядок маски у бітовий масив: біт <code>j</code>
+     * встановлюється, якщо значення у стовпці <code>j</code> дорівнює 1.
+     * 
+     * @param bits Масив щонайменше з <code>(maskColumns + 63) / 64</code>
+     *             слів; попередній вміст перезаписується.
+     * @throws IOException якщо файл не вдалося прочитати або він має
+     *                     неправильний формат.
+     */
+    public void readMaskRow(long[] bits) throws IOException {
+        Arrays.fill(bits, 0, (maskColumns + 63) >>> 6, 0L);
+        for (int j = 0; j < maskColumns; j++) {
+            if (nextInt() == 1) {
+                bits[j >>> 6] |= 1L << j;
+            }
+        }
+    }
+
+    /**
+     * Читає ім'я файлу результату, що завершує завдання.
+     * 
+     * @return Ім'я файлу результату.
+     * @throws IOException якщо ім'я відсутнє.
+     */
+    public String readOutputName() throws IOException {
+        return nextWord();
+    }
+
+    /**
+     * Повертає кількість рядків зображення з заголовка.
+     * 
+     * @return Кількість рядків.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Повертає кількість стовпців зображення з заголовка.
+     * 
+     * @return Кількість стовпців.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Повертає колір для заповнення зображення з заголовка.
+     * 
+     * @return Колір у форматі RGBA.
+     */
+    public ColorRGBA getColor() {
+        return color;
+    }
+
+    /**
+     * Повертає кількість рядків маски з заголовка.
+     * 
+     * @return Кількість рядків маски.
+     */
+    public int getMaskRows() {
+        return maskRows;
+    }
+
+    /**
+     * Повертає кількість стовпців маски з заголовка.
+     * 
+     * @return Кількість стовпців маски.
+     */
+    public int getMaskColumns() {
+        return maskColumns;
+    }
+
+    /**
+     * Читає наступне невід'ємне ціле число, що задає розмір.
+     * 
+     * @param what Опис значення для повідомлення про помилку.
+     * @return Прочитане значення.
+     * @throws IOException якщо значення відсутнє або від'ємне.
+     */
+    int nextDimension(String what) throws IOException {
+        int value = nextInt();
+        if (value < 0) {
+            throw error(tokenLine, tokenColumn, "від'ємне значення (" + value + ") для: " + what);
+        }
+        return value;
+    }
+
+    /**
+     * Читає наступне ціле число, розділене пробільними символами.
+     * 
+     * @return Прочитане значення.
+     * @throws IOException якщо наступна лексема не є цілим числом типу int.
+     */
+    int nextInt() throws IOException {
+        int c = skipWhitespace();
+        if (c < 0) {
+            throw error(tokenLine, tokenColumn, "неочікуваний кінець файлу, очікувалося ціле число");
+        }
+        boolean negative = c == '-';
+        if (c == '-' || c == '+') {
+            position++;
+            c = peek();
+        }
+        if (c < '0' || c > '9') {
+            throw error(line, column(), "очікувалося ціле число");
+        }
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error(tokenLine, tokenColumn, "число виходить за межі типу int");
+            }
+            position++;
+            c = peek();
+        }
+        if (c >= 0 && !isWhitespace(c)) {
+            throw error(line, column(), "неочікуваний символ '" + (char) c + "' у цілому числі");
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error(tokenLine, tokenColumn, "число виходить за межі типу int");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Читає наступне слово, розділене пробільними символами.
+     * 
+     * @return Прочитане слово.
+     * @throws IOException якщо слово відсутнє.
+     */
+    String nextWord() throws IOException {
+        int c = skipWhitespace();
+        if (c < 0) {
+            throw error(tokenLine, tokenColumn, "неочікуваний кінець файлу, очікувалося ім'я файлу");
+        }
+        ByteArrayOutputStream word = new ByteArrayOutputStream();
+        while (c >= 0 && !isWhitespace(c)) {
+            word.write(c);
+            position++;
+            c = peek();
+        }
+        return word.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Пропускає пробільні символи та запам'ятовує початок наступної лексеми.
+     * 
+     * @return Перший байт лексеми або -1 у кінці файлу.
+     * @throws IOException якщо виникла помилка читання.
+     */
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c >= 0 && isWhitespace(c)) {
+            if (c == '\n') {
+                line++;
+                lineStart = consumed + position + 1;
+            }
+            position++;
+            c = peek();
+        }
+        tokenLine = line;
+        tokenColumn = column();
+        return c;
+    }
+
+    /**
+     * Повертає поточний байт без переходу далі, за потреби дочитуючи буфер.
+     * 
+     * @return Поточний байт (0-255) або -1 у кінці файлу.
+     * @throws IOException якщо виникла помилка читання.
+     */
+    private int peek() throws IOException {
+        if (position == limit && !refill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Заповнює буфер наступним блоком файлу.
+     * 
+     * @return false, якщо досягнуто кінця файлу.
+     * @throws IOException якщо виникла помилка читання.
+     */
+    private boolean refill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        view.clear();
+        int read = channel.read(view);
+        for (int empty = 1; read == 0; empty++) { // Блокуючий канал повертає 0 лише зрідка
+            if (empty == MAX_EMPTY_READS) {
+                throw new IOException("Канал " + source + " не повертає даних");
+            }
+            read = channel.read(view);
+        }
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Повертає номер поточного стовпця.
+     * 
+     * @return Номер стовпця (з 1).
+     */
+    private long column() {
+        return consumed + position - lineStart + 1;
+    }
+
+    /**
+     * Перевіряє, чи є байт пробільним символом.
+     * 
+     * @param c Байт.
+     * @return true для пробілу, табуляції та символів кінця рядка.
+     */
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * Створює виняток розбору з вказаною позицією.
+     * 
+     * @param atLine   Номер рядка.
+     * @param atColumn Номер стовпця.
+     * @param message  Опис помилки.
+     * @return Виняток розбору.
+     */
+    private JobFileParseException error(long atLine, long atColumn, String message) {
+        return new JobFileParseException(source, atLine, atColumn, message);
+    }
+
+    /**
+     * Закриває файл.
+     * 
+     * @throws IOException якщо виникла помилка закриття.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
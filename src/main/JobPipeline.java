@@ -0,0 +1,298 @@
+package main;
+
+import colors.ColorConverter;
+import images.Mask;
+import images.TextRowWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Клас JobPipeline виконує файл завдання потоково, не створюючи зображення
+ * цілком.
+ * 
+ * <p>
+ * Три етапи працюють одночасно у віртуальних потоках: читач розбирає рядки
+ * маски з файлу завдання, етап маски заповнює рядок зображення кольором і
+ * затемнює пікселі під маскою, а записувач форматує рядок у текст
+ * {@link images.Image#saveAsText(String)}. Етапи з'єднані черговими
+ * буферами, а рядки беруться зі спільного пулу фіксованого розміру, тому
+ * пам'ять обмежена кількома рядками, а повільний етап пригальмовує
+ * попередні. Оскільки ім'я файлу результату стоїть у кінці файлу завдання,
+ * результат спочатку записується у тимчасовий файл, який потім
+ * перейменовується.
+ * </p>
+ */
+public class JobPipeline {
+    /**
+     * Кількість рядків у черзі між етапами за замовчуванням.
+     */
+    public static final int DEFAULT_QUEUE_ROWS = 16;
+
+    private final int queueRows; // Кількість рядків у черзі між етапами
+
+    /**
+     * Конструктор конвеєра.
+     * 
+     * @param queueRows Кількість рядків у черзі між етапами.
+     */
+    public JobPipeline(int queueRows) {
+        if (queueRows < 1) {
+            throw new IllegalArgumentException("Розмір черги повинен бути додатним: " + queueRows);
+        }
+        this.queueRows = queueRows;
+    }
+
+    /**
+     * Виконує файл завдання. Результат зберігається у каталозі файлу завдання
+     * так само, як у {@link BatchRunner#runJob(Path)}.
+     * 
+     * @param jobPath Шлях до файлу завдання.
+     * @return Шлях до збереженого зображення.
+     * @throws IOException          якщо файл не вдалося прочитати, він має
+     *                              неправильний формат або результат не вдалося
+     *                              записати.
+     * @throws InterruptedException якщо потік перервано.
+     */
+    public Path run(Path jobPath) throws IOException, InterruptedException {
+        try (JobFileParser parser = new JobFileParser(jobPath)) {
+            parser.readHeader();
+            Path directory = jobPath.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(directory, "." + jobPath.getFileName(), ".tmp");
+            try {
+                String outputName = execute(parser, temp);
+                Path output = BatchRunner.outputPath(jobPath, outputName);
+                move(temp, output);
+                return output;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Запускає етапи конвеєра і чекає на їх завершення. Якщо один з етапів
+     * завершився помилкою, інші перериваються.
+     * 
+     * @param parser Парсер з уже прочитаним заголовком.
+     * @param temp   Тимчасовий файл для результату.
+     * @return Ім'я файлу результату з файлу завдання.
+     * @throws IOException          якщо один з етапів завершився помилкою.
+     * @throws InterruptedException якщо потік перервано.
+     */
+    private String execute(JobFileParser parser, Path temp) throws IOException, InterruptedException {
+        int m = parser.getRows();
+        int n = parser.getColumns();
+        int maskWords = (parser.getMaskColumns() + 63) >>> 6;
+        int poolRows = Math.min(2 * queueRows + 3, Math.max(m, 1)); // По рядку на кожен етап і дві черги
+        BlockingQueue<Row> free = new ArrayBlockingQueue<>(poolRows);
+        BlockingQueue<Row> parsed = new ArrayBlockingQueue<>(poolRows + 1);
+        BlockingQueue<Row> masked = new ArrayBlockingQueue<>(poolRows + 1);
+        for (int k = 0; k < poolRows; k++) {
+            free.add(new Row(n, maskWords));
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<String> stages = new ExecutorCompletionService<>(executor);
+            Future<String> reader = stages.submit(() -> read(parser, free, parsed));
+            stages.submit(stage(() -> mask(parser, parsed, masked)));
+            stages.submit(stage(() -> write(temp, n, masked, free)));
+            for (int k = 0; k < 3; k++) {
+                try {
+                    stages.take().get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw unwrap(e.getCause());
+                }
+            }
+            return reader.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            executor.close();
+        }
+    }
+
+    /**
+     * Етап читання: розбирає рядки маски і передає рядки зображення далі.
+     * 
+     * @param parser Парсер з уже прочитаним заголовком.
+     * @param free   Пул вільних рядків.
+     * @param out    Черга розібраних рядків.
+     * @return Ім'я файлу результату.
+     * @throws IOException          якщо файл має неправильний формат.
+     * @throws InterruptedException якщо потік перервано.
+     */
+    private static String read(JobFileParser parser, BlockingQueue<Row> free, BlockingQueue<Row> out)
+            throws IOException, InterruptedException {
+        int m = parser.getRows();
+        int maskRows = parser.getMaskRows();
+        long[] skipped = new long[(parser.getMaskColumns() + 63) >>> 6]; // Рядки маски за межами зображення
+        for (int i = 0; i < Math.max(m, maskRows); i++) {
+            if (i < m) {
+                Row row = free.take();
+                row.masked = i < maskRows;
+                if (row.masked) {
+                    parser.readMaskRow(row.mask);
+                }
+                out.put(row);
+            } else {
+                parser.readMaskRow(skipped);
+            }
+        }
+        out.put(Row.END);
+        return parser.readOutputName();
+    }
+
+    /**
+     * Етап маски: заповнює рядки кольором і затемнює пікселі під маскою.
+     * Усі пікселі мають однаковий колір, тому затемнений колір обчислюється
+     * один раз.
+     * 
+     * @param parser Парсер з уже прочитаним заголовком.
+     * @param in     Черга розібраних рядків.
+     * @param out    Черга оброблених рядків.
+     * @throws InterruptedException якщо потік перервано.
+     */
+    private static void mask(JobFileParser parser, BlockingQueue<Row> in, BlockingQueue<Row> out)
+            throws InterruptedException {
+        int rgba = parser.getColor().valueInt();
+        int darkened = ColorConverter.darkenRGBA(rgba, Mask.DEFAULT_DARKEN_POINTS);
+        int cols = Math.min(parser.getColumns(), parser.getMaskColumns());
+        int rowWords = (cols + 63) >>> 6;
+        long tail = (cols & 63) == 0 ? -1L : (1L << cols) - 1; // Стовпці за межами зображення
+        for (Row row = in.take(); row != Row.END; row = in.take()) {
+            Arrays.fill(row.pixels, rgba);
+            if (row.masked) {
+                for (int w = 0; w < rowWords; w++) {
+                    long word = w == rowWords - 1 ? row.mask[w] & tail : row.mask[w];
+                    while (word != 0) {
+                        row.pixels[(w << 6) + Long.numberOfTrailingZeros(word)] = darkened;
+                        word &= word - 1;
+                    }
+                }
+            }
+            out.put(row);
+        }
+        out.put(Row.END);
+    }
+
+    /**
+     * Етап запису: форматує рядки у текст і повертає їх до пулу.
+     * 
+     * @param temp    Тимчасовий файл для результату.
+     * @param columns Кількість стовпців зображення.
+     * @param in      Черга оброблених рядків.
+     * @param free    Пул вільних рядків.
+     * @throws IOException          якщо виникла помилка запису.
+     * @throws InterruptedException якщо потік перервано.
+     */
+    private static void write(Path temp, int columns, BlockingQueue<Row> in, BlockingQueue<Row> free)
+            throws IOException, InterruptedException {
+        try (TextRowWriter writer = new TextRowWriter(temp, columns)) {
+            for (Row row = in.take(); row != Row.END; row = in.take()) {
+                writer.writeRow(row.pixels);
+                free.put(row);
+            }
+        }
+    }
+
+    /**
+     * Переміщує тимчасовий файл на місце файлу результату, атомарно, якщо
+     * файлова система це підтримує.
+     * 
+     * @param temp   Тимчасовий файл.
+     * @param output Файл результату.
+     * @throws IOException якщо перемістити файл не вдалося.
+     */
+    private static void move(Path temp, Path output) throws IOException {
+        try {
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Перетворює етап без результату на {@link Callable}.
+     * 
+     * @param stage Етап конвеєра.
+     * @return Завдання, що повертає null.
+     */
+    private static Callable<String> stage(Stage stage) {
+        return () -> {
+            stage.run();
+            return null;
+        };
+    }
+
+    /**
+     * Повертає причину помилки етапу як {@link IOException}.
+     * 
+     * @param cause Причина помилки.
+     * @return Виняток для повторного викидання.
+     */
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof IOException e) {
+            return e;
+        }
+        if (cause instanceof RuntimeException e) {
+            throw e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Етап конвеєра без результату.
+     */
+    private interface Stage {
+        /**
+         * Виконує етап.
+         * 
+         * @throws Exception якщо етап завершився помилкою.
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Рядок зображення, що передається між етапами.
+     */
+    private static final class Row {
+        /**
+         * Маркер кінця потоку рядків.
+         */
+        static final Row END = new Row(0, 0);
+
+        final int[] pixels; // Упаковані значення RGBA рядка
+        final long[] mask; // Біти рядка маски
+        boolean masked; // Чи є для рядка рядок маски
+
+        /**
+         * Конструктор рядка.
+         * 
+         * @param columns   Кількість стовпців зображення.
+         * @param maskWords Кількість 64-бітних слів рядка маски.
+         */
+        Row(int columns, int maskWords) {
+            this.pixels = new int[columns];
+            this.mask = new long[maskWords];
+        }
+    }
+}
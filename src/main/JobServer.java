@@ -0,0 +1,319 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.ConnectException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Клас JobServer - резидентний сервер, що виконує завдання, отримані через
+ * сокет домену Unix, в одній JVM з уже скомпільованим JIT кодом.
+ * 
+ * <p>
+ * Протокол рядковий (UTF-8): кожен запит - один рядок, на який сервер
+ * відповідає одним рядком. Запити:
+ * </p>
+ * <ul>
+ * <li><code>FILE &lt;шлях&gt;</code> - виконати файл завдання, шлях до якого
+ * задано відносно робочого каталогу сервера; результат зберігається у
+ * каталозі файлу завдання;</li>
+ * <li><code>INLINE &lt;вміст&gt;</code> - виконати завдання, заданий у тому ж
+ * форматі, що і файл завдання, але в одному рядку; ім'я файлу результату
+ * розглядається відносно робочого каталогу сервера;</li>
+ * <li><code>PING</code> - перевірити, що сервер працює;</li>
+ * <li><code>SHUTDOWN</code> - зупинити сервер.</li>
+ * </ul>
+ * <p>
+ * Відповідь: <code>OK &lt;файл результату&gt; &lt;час у мс&gt;</code> або
+ * <code>ERROR &lt;повідомлення&gt;</code>. Кожне з'єднання обслуговується
+ * віртуальним потоком, а кількість одночасно виконуваних завдань обмежена
+ * семафором.
+ * </p>
+ * <p>
+ * Сокет доступний будь-якому локальному процесу, тому сервер читає і
+ * записує файли лише всередині свого робочого каталогу: абсолютні шляхи,
+ * сегменти <code>..</code> та символьні посилання, що ведуть за межі
+ * каталогу, відхиляються.
+ * </p>
+ */
+public class JobServer implements Closeable {
+    /**
+     * Максимальний час очікування завершення запитів під час зупинки сервера
+     * (секунди).
+     */
+    public static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final Path socketPath; // Шлях до файлу сокета
+    private final Path directory; // Робочий каталог (реальний шлях)
+    private final ServerSocketChannel server;
+    private final Semaphore permits; // Обмеження кількості одночасних завдань
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<SocketChannel> clients = ConcurrentHashMap.newKeySet(); // Відкриті з'єднання
+
+    /**
+     * Створює сервер і прив'язує його до сокета. Застарілий файл сокета,
+     * залишений попереднім запуском, видаляється, але лише якщо це сокет, на
+     * якому ніхто не приймає з'єднань.
+     * 
+     * @param socketPath  Шлях до файлу сокета.
+     * @param directory   Робочий каталог, у межах якого сервер читає файли
+     *                    завдань і записує результати.
+     * @param maxInFlight Максимальна кількість одночасно виконуваних завдань.
+     * @throws IOException якщо за шляхом вже працює інший сервер, шлях
+     *                     зайнятий звичайним файлом, робочий каталог не
+     *                     існує або сокет не вдалося створити.
+     */
+    public JobServer(Path socketPath, Path directory, int maxInFlight) throws IOException {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Кількість одночасних завдань повинна бути додатною: " + maxInFlight);
+        }
+        this.socketPath = socketPath;
+        this.directory = directory.toRealPath();
+        if (!Files.isDirectory(this.directory)) {
+            throw new IOException("Робочий каталог сервера не є каталогом: " + directory);
+        }
+        this.permits = new Semaphore(maxInFlight);
+        removeStaleSocket(socketPath);
+        this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+    }
+
+    /**
+     * Видаляє файл сокета, залишений попереднім запуском.
+     * 
+     * @param socketPath Шлях до файлу сокета.
+     * @throws IOException якщо шлях зайнятий не сокетом або на сокеті вже
+     *                     працює сервер.
+     */
+    private static void removeStaleSocket(Path socketPath) throws IOException {
+        if (!Files.exists(socketPath)) {
+            return;
+        }
+        if (!Files.readAttributes(socketPath, BasicFileAttributes.class).isOther()) {
+            throw new IOException("Шлях сокета зайнятий файлом або каталогом: " + socketPath);
+        }
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+            throw new IOException("На сокеті " + socketPath + " вже працює сервер");
+        } catch (ConnectException e) {
+            // Ніхто не приймає з'єднань: файл залишився від попереднього запуску
+        }
+        Files.deleteIfExists(socketPath);
+    }
+
+    /**
+     * Приймає з'єднання, доки сервер не буде зупинено запитом
+     * <code>SHUTDOWN</code> або методом {@link #close()}.
+     * 
+     * @throws IOException якщо виникла помилка сокета.
+     */
+    public void serve() throws IOException {
+        try {
+            while (true) {
+                SocketChannel client = server.accept();
+                clients.add(client); // До submit(), щоб close() бачив кожне прийняте з'єднання
+                try {
+                    connections.submit(() -> handle(client));
+                } catch (RejectedExecutionException e) {
+                    clients.remove(client); // Сервер зупиняється
+                    client.close();
+                }
+            }
+        } catch (ClosedChannelException e) {
+            // Сервер зупинено
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Обслуговує одне з'єднання: читає запити та надсилає відповіді.
+     * 
+     * @param client Канал клієнта.
+     */
+    private void handle(SocketChannel client) {
+        try (client;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8))) {
+            String request;
+            while ((request = in.readLine()) != null) {
+                boolean shutdown = request.strip().equals("SHUTDOWN");
+                out.write(shutdown ? "OK" : process(request));
+                out.newLine();
+                out.flush();
+                if (shutdown) {
+                    server.close();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Клієнт від'єднався; інші з'єднання продовжують роботу
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    /**
+     * Виконує один запит.
+     * 
+     * @param request Рядок запиту.
+     * @return Рядок відповіді.
+     */
+    String process(String request) {
+        String line = request.strip();
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String argument = space < 0 ? "" : line.substring(space + 1).strip();
+        if (command.equals("PING")) {
+            return "OK";
+        }
+        if (!command.equals("FILE") && !command.equals("INLINE")) {
+            return "ERROR невідомий запит: " + command;
+        }
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+            try {
+                Path output = command.equals("FILE") ? runFile(argument) : runInline(argument);
+                return String.format(Locale.ROOT, "OK %s %.3f", output, (System.nanoTime() - start) / 1e6);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERROR запит перервано";
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            return "ERROR " + message.replace('\n', ' ');
+        }
+    }
+
+    /**
+     * Виконує файл завдання з робочого каталогу. Результат зберігається у
+     * каталозі файлу завдання, як у {@link BatchRunner#runJob(Path)}.
+     * 
+     * @param name Шлях до файлу завдання відносно робочого каталогу.
+     * @return Шлях до збереженого зображення.
+     * @throws IOException якщо шлях виходить за межі робочого каталогу,
+     *                     завдання має неправильний формат або результат не
+     *                     вдалося записати.
+     */
+    private Path runFile(String name) throws IOException {
+        Path jobPath = resolve(directory, name);
+        JobFile job = JobFileParser.parse(jobPath);
+        Path output = resolve(jobPath.getParent(), job.getOutputName());
+        job.render().writeText(output.toString());
+        return output;
+    }
+
+    /**
+     * Виконує завдання, передане у запиті.
+     * 
+     * @param content Вміст завдання у форматі файлу завдання.
+     * @return Шлях до збереженого зображення.
+     * @throws IOException якщо завдання має неправильний формат, ім'я файлу
+     *                     результату виходить за межі робочого каталогу або
+     *                     результат не вдалося записати.
+     */
+    private Path runInline(String content) throws IOException {
+        JobFile job;
+        try (JobFileParser parser = new JobFileParser(
+                Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))), "INLINE")) {
+            job = parser.readJob();
+        }
+        Path output = resolve(directory, job.getOutputName());
+        job.render().writeText(output.toString());
+        return output;
+    }
+
+    /**
+     * Розглядає ім'я файлу, отримане від клієнта, відносно каталогу всередині
+     * робочого каталогу сервера.
+     * 
+     * @param base Каталог всередині робочого каталогу.
+     * @param name Відносний шлях від клієнта.
+     * @return Шлях до файлу всередині робочого каталогу.
+     * @throws IOException якщо шлях порожній, абсолютний, містить сегмент
+     *                     <code>..</code>, вказує на символьне посилання або
+     *                     його каталог лежить за межами робочого каталогу.
+     */
+    private Path resolve(Path base, String name) throws IOException {
+        if (name.isBlank()) {
+            throw new IOException("Порожній шлях до файлу");
+        }
+        Path relative = Paths.get(name);
+        if (relative.isAbsolute()) {
+            throw new IOException("Абсолютні шляхи не дозволені: " + name);
+        }
+        for (Path part : relative) {
+            if (part.toString().equals("..")) {
+                throw new IOException("Шлях не може містити '..': " + name);
+            }
+        }
+        Path file = base.resolve(relative).normalize();
+        Path parent = file.getParent().toRealPath(); // Розкриває символьні посилання на каталоги
+        if (!parent.startsWith(directory)) {
+            throw new IOException("Шлях виходить за межі робочого каталогу сервера: " + name);
+        }
+        if (Files.isSymbolicLink(file)) {
+            throw new IOException("Символьні посилання не дозволені: " + name);
+        }
+        return parent.resolve(file.getFileName());
+    }
+
+    /**
+     * Зупиняє сервер і видаляє файл сокета. Нові запити не приймаються:
+     * читання з усіх з'єднань закривається, тож очікуючі клієнти
+     * від'єднуються, а запити, що вже виконуються, завершуються та надсилають
+     * відповідь. Якщо вони не завершилися за {@value #CLOSE_TIMEOUT_SECONDS}
+     * секунд, їх потоки перериваються.
+     * 
+     * @throws IOException якщо сокет не вдалося закрити.
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        connections.shutdown();
+        for (SocketChannel client : clients) {
+            try {
+                client.shutdownInput(); // readLine() поверне null після поточного запиту
+            } catch (IOException e) {
+                // З'єднання вже закрите
+            }
+        }
+        try {
+            if (!connections.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                connections.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            connections.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        Files.deleteIfExists(socketPath);
+    }
+}
@@ -2,8 +2,11 @@
 // Ізвекова, компмат 1, 01.12.2024 22:27
 package main;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Scanner;
 
 import colors.ColorRGBA;
@@ -37,9 +40,35 @@ public class Main {
     /**
      * Головний метод для запуску програми.
      * 
-     * @param args аргументи командного рядка (не використовуються).
+     * <p>
+     * Без аргументів програма пропонує вибрати інтерактивний режим. З
+     * аргументами <code>--batch &lt;каталог|перелік&gt; [кількість]</code>
+     * програма виконує набір файлів завдань (див. {@link #batchMode(String[])}),
+     * з <code>--stream</code> - виконує файли завдань потоково (див.
+     * {@link #streamMode(String[])}),
+     * з <code>--serve</code> працює як резидентний сервер, а з
+     * <code>--submit</code> та <code>--shutdown</code> - як його клієнт (див.
+     * {@link #serveMode(String[])} та {@link #submitMode(String[])}).
+     * </p>
+     * 
+     * @param args аргументи командного рядка.
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            if (args[0].equals("--batch")) {
+                batchMode(args);
+            } else if (args[0].equals("--stream")) {
+                streamMode(args);
+            } else if (args[0].equals("--serve")) {
+                serveMode(args);
+            } else if (args[0].equals("--submit") || args[0].equals("--shutdown")) {
+                submitMode(args);
+            } else {
+                printUsage();
+            }
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
         System.out.println("Виберіть режим роботи:");
         System.out.println("1. Ручне введення");
@@ -119,52 +148,172 @@ public class Main {
      * </p>
      */
     private static void testFileMode() {
-        try (Scanner fileScanner = new Scanner(new File("resources/NZ_test.dat"))) { // Читання з папки resources
+        Path jobPath = Paths.get("resources/NZ_test.dat"); // Читання з папки resources
+        try {
             System.out.println("Читання даних з файлу resources/NZ_test.dat...");
-
-            // Читання розмірів зображення
-            int m = fileScanner.nextInt();
-            int n = fileScanner.nextInt();
-            Image image = new Image(m, n);
-
-            // Читання кольору для заповнення зображення
-            int r = fileScanner.nextInt();
-            int g = fileScanner.nextInt();
-            int b = fileScanner.nextInt();
-            int a = fileScanner.nextInt();
-            ColorRGBA color = new ColorRGBA(r, g, b, a);
-            image.fill(color);
-
-            // Читання розмірів маски
-            int maskRows = fileScanner.nextInt();
-            int maskCols = fileScanner.nextInt();
-            Mask mask = new Mask(maskRows, maskCols);
-
-            // Читання значень маски
-            for (int i = 0; i < maskRows; i++) {
-                for (int j = 0; j < maskCols; j++) {
-                    int value = fileScanner.nextInt();
-                    mask.setMaskValue(i, j, value);
-                }
-            }
+            JobFile job = JobFileParser.parse(jobPath);
 
             // Застосування маски до зображення
             System.out.println("Застосування маски до зображення...");
-            mask.applyToImage(image);
+            Image image = job.render();
 
             // Виведення результату на консоль
             System.out.println("Результат після застосування маски:");
             image.display();
 
-            // Читання імені файлу для збереження
-            String fileName = "resources/" + fileScanner.next(); // Додаємо "resources/" до імені файлу
+            String fileName = "resources/" + job.getOutputName(); // Додаємо "resources/" до імені файлу
             image.saveAsText(fileName);
             System.out.println("Зображення збережено у файл " + fileName);
 
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             System.out.println("Файл resources/NZ_test.dat не знайдено. Будь ласка, переконайтеся, що файл існує.");
+        } catch (JobFileParseException e) {
+            System.out.println("Помилка формату файлу: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("Помилка під час читання даних з файлу: " + e.getMessage());
         }
     }
+
+    /**
+     * Пакетний режим: виконує всі файли завдань з каталогу або файлу-переліку.
+     * 
+     * <p>
+     * Завдання виконуються у віртуальних потоках з обмеженням кількості
+     * одночасних завдань (за замовчуванням - кількість процесорів). Для
+     * кожного завдання виводиться час виконання або помилка; помилка одного
+     * завдання не зупиняє інші. Результати зберігаються у каталозі
+     * відповідного файлу завдання.
+     * </p>
+     * 
+     * @param args аргументи командного рядка: <code>--batch</code>, каталог
+     *             або перелік, необов'язкова кількість одночасних завдань.
+     */
+    private static void batchMode(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            printUsage();
+            return;
+        }
+        try {
+            int maxInFlight = args.length == 3 ? Integer.parseInt(args[2])
+                    : Runtime.getRuntime().availableProcessors();
+            List<Path> jobs = BatchRunner.collectJobs(Paths.get(args[1]));
+            System.out.println("Виконання " + jobs.size() + " завдань (одночасно не більше " + maxInFlight + ")...");
+
+            long start = System.nanoTime();
+            List<BatchRunner.Result> results = new BatchRunner(maxInFlight).run(jobs);
+            long failed = 0;
+            for (BatchRunner.Result result : results) {
+                System.out.println(result);
+                if (!result.isSuccess()) {
+                    failed++;
+                }
+            }
+            System.out.printf("Виконано: %d, помилок: %d, загальний час: %.1f мс%n",
+                    results.size() - failed, failed, (System.nanoTime() - start) / 1e6);
+        } catch (NumberFormatException e) {
+            System.out.println("Невірна кількість одночасних завдань: " + args[2]);
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Помилка пакетного режиму: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Пакетний режим перервано.");
+        }
+    }
+
+    /**
+     * Потоковий режим: виконує файли завдань конвеєром {@link JobPipeline},
+     * не створюючи зображення цілком у пам'яті.
+     * 
+     * @param args аргументи командного рядка: <code>--stream</code> і файли
+     *             завдань.
+     */
+    private static void streamMode(String[] args) {
+        if (args.length < 2) {
+            printUsage();
+            return;
+        }
+        JobPipeline pipeline = new JobPipeline(JobPipeline.DEFAULT_QUEUE_ROWS);
+        for (int k = 1; k < args.length; k++) {
+            long start = System.nanoTime();
+            try {
+                Path output = pipeline.run(Paths.get(args[k]));
+                System.out.printf("OK      %s -> %s (%.1f мс)%n", args[k], output, (System.nanoTime() - start) / 1e6);
+            } catch (IOException e) {
+                System.out.println("ПОМИЛКА " + args[k] + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.out.println("Потоковий режим перервано.");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Режим сервера: виконує завдання, отримані через сокет домену Unix (див.
+     * {@link JobServer}), доки не надійде запит <code>SHUTDOWN</code>.
+     * 
+     * @param args аргументи командного рядка: <code>--serve</code>, шлях до
+     *             сокета, необов'язкова кількість одночасних завдань і
+     *             необов'язковий робочий каталог (за замовчуванням -
+     *             поточний).
+     */
+    private static void serveMode(String[] args) {
+        if (args.length < 2 || args.length > 4) {
+            printUsage();
+            return;
+        }
+        try {
+            int maxInFlight = args.length >= 3 ? Integer.parseInt(args[2])
+                    : Runtime.getRuntime().availableProcessors();
+            Path directory = Paths.get(args.length == 4 ? args[3] : "");
+            try (JobServer server = new JobServer(Paths.get(args[1]), directory.toAbsolutePath(), maxInFlight)) {
+                System.out.println("Сервер очікує запити на сокеті " + args[1] + "...");
+                server.serve();
+            }
+            System.out.println("Сервер зупинено.");
+        } catch (NumberFormatException e) {
+            System.out.println("Невірна кількість одночасних завдань: " + args[2]);
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Помилка сервера: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Режим клієнта: надсилає файли завдань серверу або зупиняє його і
+     * виводить відповіді сервера.
+     * 
+     * @param args аргументи командного рядка: <code>--submit</code>, шлях до
+     *             сокета та файли завдань, або <code>--shutdown</code> і шлях
+     *             до сокета.
+     */
+    private static void submitMode(String[] args) {
+        boolean shutdown = args[0].equals("--shutdown");
+        if (shutdown ? args.length != 2 : args.length < 3) {
+            printUsage();
+            return;
+        }
+        try (JobClient client = new JobClient(Paths.get(args[1]))) {
+            if (shutdown) {
+                System.out.println(client.send("SHUTDOWN"));
+            }
+            for (int k = 2; k < args.length; k++) {
+                System.out.println(args[k] + ": " + client.submit(Paths.get(args[k])));
+            }
+        } catch (IOException e) {
+            System.out.println("Помилка з'єднання з сервером: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Виводить підказку щодо аргументів командного рядка.
+     */
+    private static void printUsage() {
+        System.out.println("Використання:");
+        System.out.println("  java main.Main                                  інтерактивний режим");
+        System.out.println("  java main.Main --batch <каталог|перелік> [N]    пакетний режим, N одночасних завдань");
+        System.out.println("  java main.Main --stream <файл>...               потокове виконання завдань");
+        System.out.println("  java main.Main --serve <сокет> [N [каталог]]    резидентний сервер");
+        System.out.println("  java main.Main --submit <сокет> <файл>...       надіслати завдання серверу");
+        System.out.println("  java main.Main --shutdown <сокет>               зупинити сервер");
+    }
 }
@@ -0,0 +1,32 @@
+package metrics;
+
+/**
+ * Пари моделей кольору, для яких {@link Metrics} рахує кількість
+ * перетворень.
+ */
+public enum Conversion {
+    /**
+     * RGB у HSB.
+     */
+    RGB_TO_HSB,
+    /**
+     * HSB у RGB.
+     */
+    HSB_TO_RGB,
+    /**
+     * RGB у CMYK.
+     */
+    RGB_TO_CMYK,
+    /**
+     * CMYK у RGB.
+     */
+    CMYK_TO_RGB,
+    /**
+     * RGB у XYZ.
+     */
+    RGB_TO_XYZ,
+    /**
+     * XYZ у RGB.
+     */
+    XYZ_TO_RGB
+}
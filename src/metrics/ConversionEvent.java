@@ -0,0 +1,48 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Подія JDK Flight Recorder для пакетного перетворення кольорів. Записуються
+ * лише перетворення, довші за поріг (за замовчуванням 1 мс; поріг змінюється
+ * налаштуваннями запису для події <code>colors.BulkConversion</code>).
+ */
+@Name("colors.BulkConversion")
+@Label("Bulk Color Conversion")
+@Category({ "Colors", "Conversions" })
+@Description("Пакетне перетворення масиву кольорів")
+@Threshold("1 ms")
+public final class ConversionEvent extends jdk.jfr.Event {
+    @Label("Conversion")
+    @Description("Пара моделей кольору")
+    String conversion;
+
+    @Label("Pixels")
+    long pixels;
+
+    @Label("Kernels")
+    @Description("Реалізація обчислювальних ядер: scalar або vector")
+    String kernels;
+
+    /**
+     * Завершує вимірювання і записує подію, якщо вона увімкнена і триває
+     * довше за поріг.
+     * 
+     * @param conversion Пара моделей кольору.
+     * @param pixels     Кількість перетворених кольорів.
+     * @param kernels    Назва реалізації ядер.
+     */
+    public void finish(Conversion conversion, long pixels, String kernels) {
+        end();
+        if (shouldCommit()) {
+            this.conversion = conversion.name();
+            this.pixels = pixels;
+            this.kernels = kernels;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Подія JDK Flight Recorder для збереження або завантаження зображення.
+ * Записуються лише операції, довші за поріг (за замовчуванням 1 мс; поріг
+ * змінюється налаштуваннями запису для події <code>colors.ImageIO</code>).
+ */
+@Name("colors.ImageIO")
+@Label("Image I/O")
+@Category({ "Colors", "Images" })
+@Description("Збереження або завантаження зображення")
+@Threshold("1 ms")
+public final class ImageIOEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    @Description("Операція: saveText, saveBinary, loadText або openBinary")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Pixels")
+    long pixels;
+
+    @Label("Bytes")
+    @Description("Розмір файлу у байтах (-1, якщо його не вдалося визначити)")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    @Label("Backend")
+    @Description("Тип сховища пікселів зображення")
+    String backend;
+
+    /**
+     * Завершує вимірювання і записує подію, якщо вона увімкнена і триває
+     * довше за поріг.
+     * 
+     * @param operation Назва операції.
+     * @param path      Шлях до файлу.
+     * @param rows      Кількість рядків зображення.
+     * @param columns   Кількість стовпців зображення.
+     * @param bytes     Розмір файлу у байтах.
+     * @param backend   Тип сховища пікселів зображення.
+     */
+    public void finish(String operation, String path, int rows, int columns, long bytes, String backend) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.path = path;
+            this.rows = rows;
+            this.columns = columns;
+            this.pixels = (long) rows * columns;
+            this.bytes = bytes;
+            this.backend = backend;
+            commit();
+        }
+    }
+
+    /**
+     * Завершує вимірювання читання файлу і записує подію, якщо вона увімкнена
+     * і триває довше за поріг. Розмір файлу визначається лише тоді, коли подію
+     * буде записано, тому без запису JFR читання не виконує зайвого
+     * системного виклику. Якщо розмір визначити не вдалося, записується -1:
+     * телеметрія не повинна переривати вже виконану операцію.
+     * 
+     * @param operation Назва операції.
+     * @param file      Прочитаний файл.
+     * @param rows      Кількість рядків зображення.
+     * @param columns   Кількість стовпців зображення.
+     * @param backend   Тип сховища пікселів зображення.
+     */
+    public void finish(String operation, Path file, int rows, int columns, String backend) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.path = file.toString();
+            this.rows = rows;
+            this.columns = columns;
+            this.pixels = (long) rows * columns;
+            try {
+                this.bytes = Files.size(file);
+            } catch (IOException e) {
+                this.bytes = -1; // Файл зник або недоступний після читання
+            }
+            this.backend = backend;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Подія JDK Flight Recorder для одного застосування маски до зображення.
+ * Записуються лише застосування, довші за поріг (за замовчуванням 1 мс; поріг
+ * змінюється налаштуваннями запису для події <code>colors.MaskApply</code>).
+ */
+@Name("colors.MaskApply")
+@Label("Mask Apply")
+@Category({ "Colors", "Images" })
+@Description("Застосування маски до зображення")
+@Threshold("1 ms")
+public final class MaskApplyEvent extends jdk.jfr.Event {
+    @Label("Mask Type")
+    @Description("Реалізація маски: dense, bit або run-length")
+    String maskType;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Pixels Visited")
+    @Description("Кількість пікселів в області маски")
+    long pixelsVisited;
+
+    @Label("Pixels Modified")
+    long pixelsModified;
+
+    @Label("Backend")
+    @Description("Тип сховища пікселів зображення")
+    String backend;
+
+    @Label("Parallel")
+    boolean parallel;
+
+    /**
+     * Завершує вимірювання і записує подію, якщо вона увімкнена і триває
+     * довше за поріг.
+     * 
+     * @param maskType       Реалізація маски.
+     * @param rows           Кількість рядків зображення.
+     * @param columns        Кількість стовпців зображення.
+     * @param pixelsVisited  Кількість пікселів в області маски.
+     * @param pixelsModified Кількість змінених пікселів.
+     * @param backend        Тип сховища пікселів зображення.
+     * @param parallel       Чи виконувалося застосування паралельно.
+     */
+    public void finish(String maskType, int rows, int columns, long pixelsVisited, long pixelsModified,
+            String backend, boolean parallel) {
+        end();
+        if (shouldCommit()) {
+            this.maskType = maskType;
+            this.rows = rows;
+            this.columns = columns;
+            this.pixelsVisited = pixelsVisited;
+            this.pixelsModified = pixelsModified;
+            this.backend = backend;
+            this.parallel = parallel;
+            commit();
+        }
+    }
+}
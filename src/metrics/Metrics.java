@@ -0,0 +1,149 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Клас Metrics збирає лічильники роботи бібліотеки: кількість перетворень
+ * кольору для кожної пари моделей, статистику застосування масок і
+ * збереження зображень.
+ * 
+ * <p>
+ * Лічильники - {@link LongAdder}, тож паралельні потоки не конкурують за один
+ * рядок кешу. Збір вмикається системною властивістю
+ * <code>-D{@value #ENABLED_PROPERTY}=true</code>; місця виклику перевіряють
+ * константу {@link #ENABLED}, тому у вимкненому стані JIT повністю вилучає
+ * код підрахунку. Увімкнені метрики публікуються як платформний MBean
+ * {@value #OBJECT_NAME}, а також доступні через {@link #snapshot()}.
+ * </p>
+ */
+public final class Metrics {
+    /**
+     * Системна властивість, що вмикає збір метрик.
+     */
+    public static final String ENABLED_PROPERTY = "colors.metrics";
+
+    /**
+     * Чи увімкнено збір метрик. Значення читається один раз під час
+     * завантаження класу.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Ім'я MBean у платформному сервері MBean.
+     */
+    public static final String OBJECT_NAME = "colors:type=Metrics";
+
+    private static final LongAdder[] CONVERSIONS = new LongAdder[Conversion.values().length];
+    private static final LongAdder MASK_PASSES = new LongAdder();
+    private static final LongAdder MASK_VISITED = new LongAdder();
+    private static final LongAdder MASK_MODIFIED = new LongAdder();
+    private static final LongAdder MASK_NANOS = new LongAdder();
+    private static final LongAdder SAVES = new LongAdder();
+    private static final LongAdder SAVE_BYTES = new LongAdder();
+    private static final LongAdder SAVE_ROWS = new LongAdder();
+    private static final LongAdder SAVE_NANOS = new LongAdder();
+
+    static {
+        for (int k = 0; k < CONVERSIONS.length; k++) {
+            CONVERSIONS[k] = new LongAdder();
+        }
+        if (ENABLED) {
+            registerMBean();
+        }
+    }
+
+    /**
+     * Приватний конструктор: клас містить лише статичні методи.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Враховує перетворення кольорів.
+     * 
+     * @param conversion Пара моделей.
+     * @param count      Кількість перетворених кольорів.
+     */
+    public static void conversion(Conversion conversion, long count) {
+        CONVERSIONS[conversion.ordinal()].add(count);
+    }
+
+    /**
+     * Враховує одне застосування маски.
+     * 
+     * @param visited  Кількість пікселів в області маски.
+     * @param modified Кількість змінених пікселів.
+     * @param nanos    Тривалість у наносекундах.
+     */
+    public static void maskPass(long visited, long modified, long nanos) {
+        MASK_PASSES.increment();
+        MASK_VISITED.add(visited);
+        MASK_MODIFIED.add(modified);
+        MASK_NANOS.add(nanos);
+    }
+
+    /**
+     * Враховує одне збереження зображення у текстовий файл.
+     * 
+     * @param bytes Кількість записаних байтів.
+     * @param rows  Кількість записаних рядків.
+     * @param nanos Тривалість у наносекундах.
+     */
+    public static void save(long bytes, long rows, long nanos) {
+        SAVES.increment();
+        SAVE_BYTES.add(bytes);
+        SAVE_ROWS.add(rows);
+        SAVE_NANOS.add(nanos);
+    }
+
+    /**
+     * Повертає знімок поточних значень лічильників. Лічильники читаються
+     * без блокування, тому знімок, зроблений під час роботи інших потоків,
+     * може не бути узгодженим між різними лічильниками.
+     * 
+     * @return Знімок метрик.
+     */
+    public static MetricsSnapshot snapshot() {
+        long[] conversions = new long[CONVERSIONS.length];
+        for (int k = 0; k < conversions.length; k++) {
+            conversions[k] = CONVERSIONS[k].sum();
+        }
+        return new MetricsSnapshot(conversions, MASK_PASSES.sum(), MASK_VISITED.sum(), MASK_MODIFIED.sum(),
+                MASK_NANOS.sum(), SAVES.sum(), SAVE_BYTES.sum(), SAVE_ROWS.sum(), SAVE_NANOS.sum());
+    }
+
+    /**
+     * Обнуляє всі лічильники.
+     */
+    public static void reset() {
+        for (LongAdder counter : CONVERSIONS) {
+            counter.reset();
+        }
+        for (LongAdder counter : new LongAdder[] { MASK_PASSES, MASK_VISITED, MASK_MODIFIED, MASK_NANOS, SAVES,
+                SAVE_BYTES, SAVE_ROWS, SAVE_NANOS }) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * Реєструє MBean метрик у платформному сервері MBean. Повторна реєстрація
+     * нічого не робить. Викликається автоматично, якщо метрики увімкнені.
+     * 
+     * @throws IllegalStateException якщо MBean не вдалося зареєструвати.
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // MBean вже зареєстровано
+        } catch (JMException e) {
+            throw new IllegalStateException("Не вдалося зареєструвати MBean " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Реалізація {@link MetricsMXBean}, що читає лічильники {@link Metrics}.
+ */
+final class MetricsBean implements MetricsMXBean {
+
+    @Override
+    public Map<String, Long> getConversions() {
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        Map<String, Long> conversions = new LinkedHashMap<>();
+        for (Conversion conversion : Conversion.values()) {
+            conversions.put(conversion.name(), snapshot.getConversions(conversion));
+        }
+        return conversions;
+    }
+
+    @Override
+    public long getMaskPasses() {
+        return Metrics.snapshot().getMaskPasses();
+    }
+
+    @Override
+    public long getMaskPixelsVisited() {
+        return Metrics.snapshot().getMaskPixelsVisited();
+    }
+
+    @Override
+    public long getMaskPixelsModified() {
+        return Metrics.snapshot().getMaskPixelsModified();
+    }
+
+    @Override
+    public long getMaskNanos() {
+        return Metrics.snapshot().getMaskNanos();
+    }
+
+    @Override
+    public long getSaves() {
+        return Metrics.snapshot().getSaves();
+    }
+
+    @Override
+    public long getSaveBytes() {
+        return Metrics.snapshot().getSaveBytes();
+    }
+
+    @Override
+    public long getSaveRows() {
+        return Metrics.snapshot().getSaveRows();
+    }
+
+    @Override
+    public long getSaveNanos() {
+        return Metrics.snapshot().getSaveNanos();
+    }
+
+    @Override
+    public void reset() {
+        Metrics.reset();
+    }
+}
@@ -0,0 +1,77 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * Інтерфейс MBean для перегляду метрик {@link Metrics} через JMX (наприклад,
+ * у JConsole або VisualVM).
+ */
+public interface MetricsMXBean {
+    /**
+     * Повертає кількість перетворень для кожної пари моделей.
+     * 
+     * @return Відображення назви пари у кількість перетворень.
+     */
+    Map<String, Long> getConversions();
+
+    /**
+     * Повертає кількість застосувань масок.
+     * 
+     * @return Кількість застосувань.
+     */
+    long getMaskPasses();
+
+    /**
+     * Повертає сумарну кількість пікселів в областях масок.
+     * 
+     * @return Кількість пікселів.
+     */
+    long getMaskPixelsVisited();
+
+    /**
+     * Повертає сумарну кількість змінених масками пікселів.
+     * 
+     * @return Кількість пікселів.
+     */
+    long getMaskPixelsModified();
+
+    /**
+     * Повертає сумарну тривалість застосування масок.
+     * 
+     * @return Тривалість у наносекундах.
+     */
+    long getMaskNanos();
+
+    /**
+     * Повертає кількість збережень зображень у текстові файли.
+     * 
+     * @return Кількість збережень.
+     */
+    long getSaves();
+
+    /**
+     * Повертає сумарну кількість записаних байтів.
+     * 
+     * @return Кількість байтів.
+     */
+    long getSaveBytes();
+
+    /**
+     * Повертає сумарну кількість записаних рядків зображень.
+     * 
+     * @return Кількість рядків.
+     */
+    long getSaveRows();
+
+    /**
+     * Повертає сумарну тривалість збережень.
+     * 
+     * @return Тривалість у наносекундах.
+     */
+    long getSaveNanos();
+
+    /**
+     * Обнуляє всі лічильники.
+     */
+    void reset();
+}
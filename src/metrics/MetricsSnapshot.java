@@ -0,0 +1,136 @@
+package metrics;
+
+/**
+ * Незмінний знімок лічильників {@link Metrics}.
+ */
+public final class MetricsSnapshot {
+    private final long[] conversions; // Кількість перетворень за порядком Conversion
+    private final long maskPasses, maskVisited, maskModified, maskNanos; // Статистика масок
+    private final long saves, saveBytes, saveRows, saveNanos; // Статистика збережень
+
+    /**
+     * Конструктор знімка.
+     * 
+     * @param conversions  Кількість перетворень за порядком {@link Conversion}.
+     * @param maskPasses   Кількість застосувань масок.
+     * @param maskVisited  Кількість пікселів в областях масок.
+     * @param maskModified Кількість змінених пікселів.
+     * @param maskNanos    Тривалість застосування масок.
+     * @param saves        Кількість збережень.
+     * @param saveBytes    Кількість записаних байтів.
+     * @param saveRows     Кількість записаних рядків.
+     * @param saveNanos    Тривалість збережень.
+     */
+    MetricsSnapshot(long[] conversions, long maskPasses, long maskVisited, long maskModified, long maskNanos,
+            long saves, long saveBytes, long saveRows, long saveNanos) {
+        this.conversions = conversions;
+        this.maskPasses = maskPasses;
+        this.maskVisited = maskVisited;
+        this.maskModified = maskModified;
+        this.maskNanos = maskNanos;
+        this.saves = saves;
+        this.saveBytes = saveBytes;
+        this.saveRows = saveRows;
+        this.saveNanos = saveNanos;
+    }
+
+    /**
+     * Повертає кількість перетворень для пари моделей.
+     * 
+     * @param conversion Пара моделей.
+     * @return Кількість перетворених кольорів.
+     */
+    public long getConversions(Conversion conversion) {
+        return conversions[conversion.ordinal()];
+    }
+
+    /**
+     * Повертає кількість застосувань масок.
+     * 
+     * @return Кількість застосувань.
+     */
+    public long getMaskPasses() {
+        return maskPasses;
+    }
+
+    /**
+     * Повертає кількість пікселів в областях масок.
+     * 
+     * @return Кількість пікселів.
+     */
+    public long getMaskPixelsVisited() {
+        return maskVisited;
+    }
+
+    /**
+     * Повертає кількість змінених масками пікселів.
+     * 
+     * @return Кількість пікселів.
+     */
+    public long getMaskPixelsModified() {
+        return maskModified;
+    }
+
+    /**
+     * Повертає тривалість застосування масок.
+     * 
+     * @return Тривалість у наносекундах.
+     */
+    public long getMaskNanos() {
+        return maskNanos;
+    }
+
+    /**
+     * Повертає кількість збережень зображень.
+     * 
+     * @return Кількість збережень.
+     */
+    public long getSaves() {
+        return saves;
+    }
+
+    /**
+     * Повертає кількість записаних байтів.
+     * 
+     * @return Кількість байтів.
+     */
+    public long getSaveBytes() {
+        return saveBytes;
+    }
+
+    /**
+     * Повертає кількість записаних рядків зображень.
+     * 
+     * @return Кількість рядків.
+     */
+    public long getSaveRows() {
+        return saveRows;
+    }
+
+    /**
+     * Повертає тривалість збережень.
+     * 
+     * @return Тривалість у наносекундах.
+     */
+    public long getSaveNanos() {
+        return saveNanos;
+    }
+
+    /**
+     * Повертає текстове представлення знімка.
+     * 
+     * @return Рядок з усіма лічильниками.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Metrics[");
+        for (Conversion conversion : Conversion.values()) {
+            text.append(conversion).append('=').append(getConversions(conversion)).append(", ");
+        }
+        return text.append("maskPasses=").append(maskPasses).append(", maskVisited=").append(maskVisited)
+                .append(", maskModified=").append(maskModified).append(", maskNanos=").append(maskNanos)
+                .append(", saves=").append(saves).append(", saveBytes=").append(saveBytes)
+                .append(", saveRows=").append(saveRows).append(", saveNanos=").append(saveNanos).append(']')
+                .toString();
+    }
+}
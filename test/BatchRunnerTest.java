@@ -0,0 +1,63 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import images.Image;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import main.BatchRunner;
+
+/**
+ * Клас для тестування функціональності класу BatchRunner.
+ */
+public class BatchRunnerTest {
+
+    /**
+     * Тестує пакетне виконання завдань з каталогу: помилка одного завдання не
+     * зупиняє інші, а результати зберігаються у каталозі завдань.
+     */
+    @Test
+    public void testRunDirectory() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("batch");
+        try {
+            int jobCount = 20;
+            for (int k = 0; k < jobCount; k++) {
+                Files.writeString(dir.resolve(String.format("job%02d.dat", k)),
+                        "2 2\n255 0 0 255\n2 2\n1 0\n0 " + (k % 2) + "\nout" + k + ".txt\n");
+            }
+            Files.writeString(dir.resolve("broken.dat"), "2 2\n255 0 x 255\n");
+
+            List<Path> jobs = BatchRunner.collectJobs(dir);
+            assertEquals("Кількість знайдених завдань не співпадає", jobCount + 1, jobs.size());
+            List<BatchRunner.Result> results = new BatchRunner(3).run(jobs);
+
+            assertEquals("Кількість результатів не співпадає", jobCount + 1, results.size());
+            assertFalse("Неправильне завдання повинно завершитися помилкою", results.get(0).isSuccess());
+            for (int k = 0; k < jobCount; k++) {
+                BatchRunner.Result result = results.get(k + 1);
+                assertTrue("Завдання повинно виконатися успішно: " + result, result.isSuccess());
+                assertEquals("Файл результату не співпадає", dir.resolve("out" + k + ".txt").toAbsolutePath(),
+                        result.getOutput());
+                Image image = Image.loadFromText(result.getOutput().toString());
+                assertNotEquals("Піксель під маскою повинен бути затемнений", 0xFF0000FF, image.getRGBA(0, 0));
+                assertEquals("Піксель поза маскою не повинен змінюватися", 0xFF0000FF, image.getRGBA(0, 1));
+                assertEquals("Піксель (1,1) не співпадає з очікуваним", k % 2 == 0,
+                        image.getRGBA(1, 1) == 0xFF0000FF);
+            }
+
+            Path manifest = dir.resolve("jobs.lst");
+            Files.writeString(manifest, "# перелік\njob01.dat\n\njob02.dat\n");
+            assertEquals("Кількість завдань у переліку не співпадає", 2, BatchRunner.collectJobs(manifest).size());
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+}
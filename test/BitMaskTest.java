@@ -0,0 +1,94 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import images.BitMask;
+import images.Image;
+import images.Mask;
+import java.util.Random;
+
+/**
+ * Клас для тестування функціональності класу BitMask.
+ */
+public class BitMaskTest {
+
+    /**
+     * Тестує методи установки та отримання значення бітової маски.
+     * 
+     * Перевіряється сумісність з класом Mask, зокрема на межі 64-бітного слова.
+     */
+    @Test
+    public void testSetAndGetMaskValue() {
+        BitMask mask = new BitMask(2, 70);
+        mask.setMaskValue(0, 0, 1);
+        mask.setMaskValue(1, 64, 1);
+        mask.setMaskValue(1, 69, 1);
+        mask.setMaskValue(1, 69, 0);
+
+        assertEquals("Значення маски (0,0) не співпадає з очікуваним", 1, mask.getMaskValue(0, 0));
+        assertEquals("Значення маски (1,64) не співпадає з очікуваним", 1, mask.getMaskValue(1, 64));
+        assertEquals("Значення маски (1,69) не співпадає з очікуваним", 0, mask.getMaskValue(1, 69));
+        assertEquals("Недійсні індекси повинні повертати -1", -1, mask.getMaskValue(2, 0));
+    }
+
+    /**
+     * Тестує масові операції: об'єднання, перетин, інверсію та підрахунок.
+     */
+    @Test
+    public void testBulkOperations() {
+        BitMask a = new BitMask(3, 100);
+        BitMask b = new BitMask(3, 100);
+        a.setMaskValue(0, 1, 1);
+        a.setMaskValue(2, 99, 1);
+        b.setMaskValue(2, 99, 1);
+        b.setMaskValue(1, 50, 1);
+
+        assertEquals("Неправильна кількість після об'єднання", 3, a.union(b).cardinality());
+        assertEquals("Неправильна кількість після перетину", 2, a.intersect(b).cardinality());
+        assertEquals("Неправильна кількість після інверсії", 300 - 2, a.invert().cardinality());
+
+        StringBuilder visited = new StringBuilder();
+        b.forEachSetBit((i, j) -> visited.append(i).append(':').append(j).append(' '));
+        assertEquals("Неправильний порядок обходу встановлених бітів", "1:50 2:99 ", visited.toString());
+    }
+
+    /**
+     * Тестує застосування бітової маски до зображення.
+     * 
+     * Перевіряється, що результат збігається з застосуванням звичайної маски з
+     * тими самими значеннями як для зображення у купі, так і для зображення
+     * поза купою.
+     */
+    @Test
+    public void testApplyMatchesMask() {
+        int m = 20, n = 130;
+        Random random = new Random(7);
+        Image expected = new Image(m, n);
+        Image actual = new Image(m, n);
+        Image offHeap = Image.offHeap(m, n);
+        Mask mask = new Mask(m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                int rgba = random.nextInt();
+                expected.setRGBA(i, j, rgba);
+                actual.setRGBA(i, j, rgba);
+                offHeap.setRGBA(i, j, rgba);
+                mask.setMaskValue(i, j, random.nextInt(5) == 0 ? 1 : 0);
+            }
+        }
+
+        mask.applyToImage(expected);
+        BitMask.fromMask(mask).applyToImage(actual);
+        BitMask.fromMask(mask).applyToImage(offHeap);
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals("Піксель (" + i + "," + j + ") відрізняється", expected.getRGBA(i, j), actual.getRGBA(i, j));
+                assertEquals("Піксель (" + i + "," + j + ") поза купою відрізняється", expected.getRGBA(i, j),
+                        offHeap.getRGBA(i, j));
+            }
+        }
+        offHeap.close();
+    }
+}
@@ -3,9 +3,14 @@ package test;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import colors.Color;
+import colors.ColorCMYK;
 import colors.ColorRGBA;
 import colors.ColorConverter;
 import colors.ColorHSB;
+import colors.ConversionKernels;
+import colors.ColorXYZ;
+import java.util.Random;
 
 /**
  * Клас для тестування функцій конвертації між кольоровими моделями.
@@ -48,4 +53,312 @@ public class ColorConverterTest {
         assertEquals("Неправильна синя компонента (B)", 0, rgbColor.getB());
         assertEquals("Неправильний альфа-канал (A)", 255, rgbColor.getA());
     }
+
+    /**
+     * Тестує метод darkenRGBA для перевірки збігу з вихідним обчисленням у
+     * float.
+     * 
+     * <p>
+     * Для кожного кольору RGB результат darkenRGBA повинен побітово збігатися з
+     * результатом еталонних перетворень {@link #floatRGBtoHSB(int)}, зменшення
+     * яскравості на 20 пунктів та {@link #floatHSBtoRGB(int)}, які не
+     * використовують код ColorConverter.
+     * </p>
+     */
+    @Test
+    public void testDarkenRGBAMatchesHSBRoundTrip() {
+        for (int rgb = 0; rgb < (1 << 24); rgb += 7) {
+            int rgba = rgb << 8 | 0xFF;
+            int hsb = floatRGBtoHSB(rgba);
+            int expected = floatHSBtoRGB((hsb & ~0xFF) | Math.max((hsb & 0xFF) - 20, 0));
+
+            assertEquals("darkenRGBA не збігається для кольору " + rgb, expected,
+                    ColorConverter.darkenRGBA(rgba, 20));
+        }
+    }
+
+    /**
+     * Тестує пакетні методи конвертації над примітивними масивами.
+     * 
+     * <p>
+     * Результат кожного пакетного методу для кожного елемента повинен
+     * збігатися з результатом відповідного методу для окремого об'єкта, а
+     * елементи поза вказаною ділянкою не повинні змінюватися.
+     * </p>
+     */
+    @Test
+    public void testBatchConversionsMatchScalar() {
+        Random random = new Random(3);
+        int len = 500, off = 3;
+        int[] rgba = new int[len + off];
+        for (int i = 0; i < rgba.length; i++) {
+            rgba[i] = random.nextInt() | 0xFF;
+        }
+
+        int[] hsb = new int[len];
+        int[] cmyk = new int[len];
+        int[] back = new int[len + 1];
+        float[] x = new float[len], y = new float[len], z = new float[len];
+        ColorConverter.RGBtoHSB(rgba, off, hsb, 0, len);
+        ColorConverter.RGBtoCMYK(rgba, off, cmyk, 0, len);
+        ColorConverter.RGBtoXYZ(rgba, off, x, y, z, 0, len);
+
+        for (int i = 0; i < len; i++) {
+            ColorRGBA color = ColorRGBA.fromInt(rgba[off + i]);
+            ColorXYZ xyz = ColorConverter.RGBtoXYZ(color);
+            assertEquals("RGBtoHSB не збігається", ColorConverter.RGBtoHSB(color).valueInt(), hsb[i]);
+            assertEquals("RGBtoCMYK не збігається", ColorConverter.RGBtoCMYK(color).valueInt(), cmyk[i]);
+            assertEquals("RGBtoXYZ (X) не збігається", xyz.getX(), x[i], 0.0f);
+            assertEquals("RGBtoXYZ (Y) не збігається", xyz.getY(), y[i], 0.0f);
+            assertEquals("RGBtoXYZ (Z) не збігається", xyz.getZ(), z[i], 0.0f);
+        }
+
+        ColorConverter.HSBtoRGB(hsb, 0, back, 1, len);
+        for (int i = 0; i < len; i++) {
+            assertEquals("HSBtoRGB не збігається", new ColorHSB(hsb[i] >>> 16, (hsb[i] >>> 8) & 0xFF, hsb[i] & 0xFF)
+                    .toRGBA().valueInt(), back[i + 1]);
+        }
+        assertEquals("Елемент поза ділянкою змінено", 0, back[0]);
+
+        ColorConverter.XYZtoRGB(x, y, z, 0, back, 0, len);
+        for (int i = 0; i < len; i++) {
+            assertEquals("XYZtoRGB не збігається",
+                    ColorConverter.XYZtoRGB(new ColorXYZ(x[i], y[i], z[i])).valueInt(), back[i]);
+        }
+    }
+
+    /**
+     * Тестує перевірку меж у пакетних методах конвертації.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBatchConversionBounds() {
+        ColorConverter.RGBtoHSB(new int[4], 2, new int[4], 0, 3);
+    }
+
+    /**
+     * Тестує узгодженість обраної реалізації ядер зі скалярною.
+     * 
+     * <p>
+     * Якщо JVM запущено з модулем jdk.incubator.vector, перевіряються SIMD-ядра;
+     * інакше обидві реалізації збігаються.
+     * </p>
+     */
+    @Test
+    public void testKernelsMatchScalar() {
+        Random random = new Random(5);
+        int len = 203;
+        float[] r = new float[len], g = new float[len], b = new float[len];
+        for (int i = 0; i < len; i++) {
+            r[i] = random.nextInt(256) / 255.0f;
+            g[i] = random.nextInt(256) / 255.0f;
+            b[i] = random.nextInt(256) / 255.0f;
+        }
+        ConversionKernels best = ConversionKernels.get();
+        ConversionKernels scalar = ConversionKernels.scalar();
+
+        float[] x1 = new float[len], y1 = new float[len], z1 = new float[len];
+        float[] x2 = new float[len], y2 = new float[len], z2 = new float[len];
+        best.linearRGBtoXYZ(r, g, b, 0, x1, y1, z1, 0, len);
+        scalar.linearRGBtoXYZ(r, g, b, 0, x2, y2, z2, 0, len);
+        assertArrayEquals("Ядро " + best.name() + " RGB -> XYZ не збігається", x2, x1, 0.0f);
+        assertArrayEquals("Ядро " + best.name() + " RGB -> XYZ не збігається", z2, z1, 0.0f);
+
+        best.XYZtoLinearRGB(x1, y1, z1, 0, x1, y1, z1, 0, len);
+        scalar.XYZtoLinearRGB(x2, y2, z2, 0, x2, y2, z2, 0, len);
+        assertArrayEquals("Ядро " + best.name() + " XYZ -> RGB не збігається", y2, y1, 0.0f);
+
+        int[] rgba = new int[len], max1 = new int[len], delta1 = new int[len], max2 = new int[len],
+                delta2 = new int[len];
+        for (int i = 0; i < len; i++) {
+            rgba[i] = random.nextInt();
+        }
+        best.maxDelta(rgba, 0, max1, delta1, 0, len);
+        scalar.maxDelta(rgba, 0, max2, delta2, 0, len);
+        assertArrayEquals("Ядро " + best.name() + " max/delta не збігається", max2, max1);
+        assertArrayEquals("Ядро " + best.name() + " max/delta не збігається", delta2, delta1);
+    }
+
+    /**
+     * Тестує, що пакетне перетворення RGB у HSB через ядро max/delta
+     * побітово збігається з поелементним перетворенням для ділянки, довшої за
+     * один крок ядра, і що повторний виклик у тому ж потоці дає той самий
+     * результат.
+     */
+    @Test
+    public void testBatchRGBtoHSBMatchesScalar() {
+        Random random = new Random(6);
+        int len = 5000, off = 17;
+        int[] rgba = new int[len + off];
+        for (int i = 0; i < rgba.length; i++) {
+            rgba[i] = random.nextInt();
+        }
+        int[] hsb = new int[len];
+        for (int pass = 0; pass < 2; pass++) {
+            ColorConverter.RGBtoHSB(rgba, off, hsb, 0, len);
+            for (int i = 0; i < len; i++) {
+                assertEquals("RGBtoHSB не збігається для 0x" + Integer.toHexString(rgba[off + i]),
+                        floatRGBtoHSB(rgba[off + i]), hsb[i]);
+            }
+        }
+    }
+
+    /**
+     * Тестує, що toPackedRGBA збігається з toRGBA().valueInt() для всіх
+     * моделей кольору.
+     */
+    @Test
+    public void testToPackedRGBA() {
+        Random random = new Random(22);
+        for (int k = 0; k < 10000; k++) {
+            Color[] colors = { ColorRGBA.fromInt(random.nextInt()),
+                    new ColorHSB(random.nextInt(361), random.nextInt(101), random.nextInt(101)),
+                    new ColorCMYK(random.nextInt(101), random.nextInt(101), random.nextInt(101), random.nextInt(101)),
+                    new ColorXYZ(random.nextFloat() * 100, random.nextFloat() * 100, random.nextFloat() * 100) };
+            for (Color color : colors) {
+                assertEquals("Упакований колір не співпадає для " + color.getClass().getSimpleName(),
+                        color.toRGBA().valueInt(), ColorConverter.toPackedRGBA(color));
+            }
+        }
+    }
+
+    /**
+     * Перевіряє, що цілочисельне перетворення RGBtoHSB збігається з
+     * обчисленням у float для всіх 2^24 кольорів RGB.
+     */
+    @Test
+    public void testRGBtoHSBMatchesFloatForAllColors() {
+        for (int rgb = 0; rgb < 1 << 24; rgb++) {
+            int rgba = rgb << 8 | 0xFF;
+            int expected = floatRGBtoHSB(rgba);
+            int actual = ColorConverter.RGBtoHSB(rgba);
+            if (expected != actual) {
+                fail("RGBtoHSB не співпадає для 0x" + Integer.toHexString(rgba) + ": очікувалось 0x"
+                        + Integer.toHexString(expected) + ", отримано 0x" + Integer.toHexString(actual));
+            }
+        }
+    }
+
+    /**
+     * Перевіряє, що цілочисельне перетворення HSBtoRGB збігається з
+     * обчисленням у float для всіх допустимих кольорів HSB та для вибірки
+     * значень поза діапазоном.
+     */
+    @Test
+    public void testHSBtoRGBMatchesFloatForAllColors() {
+        for (int h = 0; h <= 360; h++) {
+            for (int s = 0; s <= 100; s++) {
+                for (int b = 0; b <= 100; b++) {
+                    int hsb = h << 16 | s << 8 | b;
+                    assertEquals("HSBtoRGB не співпадає для " + h + ", " + s + ", " + b,
+                            floatHSBtoRGB(hsb), ColorConverter.HSBtoRGB(hsb));
+                }
+            }
+        }
+        Random random = new Random(23);
+        for (int k = 0; k < 100000; k++) {
+            int hsb = random.nextInt();
+            assertEquals("HSBtoRGB не співпадає для 0x" + Integer.toHexString(hsb),
+                    floatHSBtoRGB(hsb), ColorConverter.HSBtoRGB(hsb));
+        }
+    }
+
+    /**
+     * Еталонне перетворення RGBA у HSB у float.
+     * 
+     * @param rgba Упакований колір RGBA.
+     * @return Упакований колір HSB.
+     */
+    private static int floatRGBtoHSB(int rgba) {
+        float r = (rgba >>> 24) / 255.0f;
+        float g = ((rgba >>> 16) & 0xFF) / 255.0f;
+        float b = ((rgba >>> 8) & 0xFF) / 255.0f;
+
+        float max = Math.max(r, Math.max(g, b));
+        float min = Math.min(r, Math.min(g, b));
+        float delta = max - min;
+
+        float h = 0;
+        if (delta != 0) {
+            if (max == r) {
+                h = (g - b) / delta % 6;
+            } else if (max == g) {
+                h = (b - r) / delta + 2;
+            } else {
+                h = (r - g) / delta + 4;
+            }
+            h *= 60;
+            if (h < 0)
+                h += 360;
+        }
+
+        float s = max == 0 ? 0 : (delta / max) * 100;
+        float brightness = max * 100;
+
+        return (clamp((int) h, 360) << 16) | (clamp((int) s, 100) << 8) | clamp((int) brightness, 100);
+    }
+
+    /**
+     * Еталонне перетворення HSB у RGBA у float.
+     * 
+     * @param hsb Упакований колір HSB.
+     * @return Упакований колір RGBA.
+     */
+    private static int floatHSBtoRGB(int hsb) {
+        float h = hsb >>> 16;
+        float s = ((hsb >>> 8) & 0xFF) / 100.0f;
+        float b = (hsb & 0xFF) / 100.0f;
+
+        int r = 0, g = 0, bl = 0;
+        int i = (int) Math.floor(h / 60) % 6;
+        float f = h / 60 - i;
+        float p = b * (1 - s);
+        float q = b * (1 - f * s);
+        float t = b * (1 - (1 - f) * s);
+
+        switch (i) {
+            case 0 -> {
+                r = (int) (b * 255);
+                g = (int) (t * 255);
+                bl = (int) (p * 255);
+            }
+            case 1 -> {
+                r = (int) (q * 255);
+                g = (int) (b * 255);
+                bl = (int) (p * 255);
+            }
+            case 2 -> {
+                r = (int) (p * 255);
+                g = (int) (b * 255);
+                bl = (int) (t * 255);
+            }
+            case 3 -> {
+                r = (int) (p * 255);
+                g = (int) (q * 255);
+                bl = (int) (b * 255);
+            }
+            case 4 -> {
+                r = (int) (t * 255);
+                g = (int) (p * 255);
+                bl = (int) (b * 255);
+            }
+            default -> {
+                r = (int) (b * 255);
+                g = (int) (p * 255);
+                bl = (int) (q * 255);
+            }
+        }
+
+        return (clamp(r, 255) << 24) | (clamp(g, 255) << 16) | (clamp(bl, 255) << 8) | 255;
+    }
+
+    /**
+     * Обмежує значення діапазоном від 0 до max.
+     * 
+     * @param value Значення.
+     * @param max   Верхня межа.
+     * @return Обмежене значення.
+     */
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(max, value));
+    }
 }
@@ -40,4 +40,28 @@ public class ColorXYZTest {
         assertEquals("Неправильне значення компоненти B", 0, rgb.getB());
         assertEquals("Неправильне значення компоненти A", 255, rgb.getA());
     }
+
+    /**
+     * Тестує узгодженість гамма-перетворення в обох напрямках.
+     * 
+     * Перевіряється, що кожна 8-бітна компонента sRGB після переходу в
+     * лінійний простір і назад повертається без змін, а ColorRGBA.toXYZ
+     * збігається з ColorConverter.RGBtoXYZ.
+     */
+    @Test
+    public void testCompandingRoundTrip() {
+        for (int v = 0; v < 256; v++) {
+            assertEquals("Компонента " + v + " змінилася після повного перетворення",
+                    v, SRGBCompanding.fromLinear8(SRGBCompanding.toLinear(v)));
+        }
+
+        ColorRGBA rgb = new ColorRGBA(120, 200, 30, 255);
+        ColorXYZ direct = rgb.toXYZ();
+        ColorXYZ converted = ColorConverter.RGBtoXYZ(rgb);
+        assertEquals("Компонента X відрізняється", converted.getX(), direct.getX(), 0.0f);
+        assertEquals("Компонента Y відрізняється", converted.getY(), direct.getY(), 0.0f);
+        assertEquals("Компонента Z відрізняється", converted.getZ(), direct.getZ(), 0.0f);
+        assertEquals("Колір змінився після перетворення RGB -> XYZ -> RGB",
+                rgb.valueInt(), ColorConverter.XYZtoRGB(direct).valueInt());
+    }
 }
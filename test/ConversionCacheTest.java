@@ -0,0 +1,132 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import colors.ColorConverter;
+import colors.ConversionCache;
+import images.Image;
+import images.Mask;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Клас для тестування кешу перетворень ConversionCache.
+ */
+public class ConversionCacheTest {
+
+    /**
+     * Тестує, що кеш повертає ті самі значення, що й функція перетворення,
+     * навіть коли записи витісняються, і правильно рахує влучання та промахи.
+     */
+    @Test
+    public void testApplyMatchesConversion() {
+        AtomicInteger calls = new AtomicInteger();
+        IntUnaryOperator conversion = key -> {
+            calls.incrementAndGet();
+            return key * 31 + 7;
+        };
+        ConversionCache cache = new ConversionCache(100, conversion);
+        assertEquals("Місткість округлюється до степеня двійки", 128, cache.capacity());
+
+        Random random = new Random(23);
+        for (int k = 0; k < 100000; k++) {
+            int key = random.nextInt(1000);
+            assertEquals("Значення з кешу не співпадає", key * 31 + 7, cache.apply(key));
+        }
+        assertEquals("Кількість промахів не дорівнює кількості викликів функції", calls.get(), cache.misses());
+        assertEquals("Неправильна загальна кількість звернень", 100000, cache.hits() + cache.misses());
+        assertTrue("Кеш мав витісняти записи", cache.evictions() > 0);
+
+        for (int k = 0; k < 10; k++) {
+            cache.apply(-5);
+        }
+        long misses = cache.misses();
+        cache.apply(-5);
+        assertEquals("Повторне звернення мало бути влучанням", misses, cache.misses());
+    }
+
+    /**
+     * Тестує, що невелика кількість кольорів повністю вміщується в кеш і
+     * після першого проходу всі звернення є влучаннями.
+     */
+    @Test
+    public void testWorkingSetFits() {
+        ConversionCache cache = new ConversionCache(1024, x -> ~x);
+        for (int pass = 0; pass < 3; pass++) {
+            for (int key = 1; key <= 256; key++) {
+                assertEquals("Значення з кешу не співпадає", ~(key * 0x01010100), cache.apply(key * 0x01010100));
+            }
+        }
+        assertEquals("Неправильна кількість промахів", 256, cache.misses());
+        assertEquals("Неправильна кількість влучань", 512, cache.hits());
+
+        cache.clear();
+        cache.apply(0x01010100);
+        assertEquals("Після очищення звернення мало бути промахом", 257, cache.misses());
+    }
+
+    /**
+     * Тестує кеш під паралельним доступом: усі потоки мають отримувати
+     * правильні значення.
+     */
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        ConversionCache cache = new ConversionCache(64, ColorConverter::RGBtoHSB);
+        Thread[] threads = new Thread[4];
+        AtomicInteger errors = new AtomicInteger();
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int k = 0; k < 200000; k++) {
+                    int rgba = (random.nextInt(512) << 8) | 0xFF;
+                    if (cache.apply(rgba) != ColorConverter.RGBtoHSB(rgba)) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("Паралельні звернення повернули неправильні значення", 0, errors.get());
+    }
+
+    /**
+     * Тестує, що увімкнений кеш ColorConverter не змінює результат
+     * застосування маски і обслуговує одноколірне зображення з кешу.
+     */
+    @Test
+    public void testColorConverterCache() {
+        Image expected = new Image(40, 50);
+        expected.fillRGBA(0x3080C0FF);
+        Mask mask = new Mask(40, 50);
+        for (int i = 0; i < 40; i++) {
+            mask.setMaskValue(i, i % 50, 1);
+            mask.setMaskValue(i, (i * 7) % 50, 1);
+        }
+        mask.applyToImage(expected);
+
+        ColorConverter.enableCache(256);
+        try {
+            Image actual = new Image(40, 50);
+            actual.fillRGBA(0x3080C0FF);
+            mask.applyToImage(actual);
+            for (int i = 0; i < 40; i++) {
+                for (int j = 0; j < 50; j++) {
+                    assertEquals("Піксель з кешованим перетворенням не співпадає", expected.getRGBA(i, j),
+                            actual.getRGBA(i, j));
+                }
+            }
+            ConversionCache cache = ColorConverter.getRGBtoHSBCache();
+            assertTrue("Перетворення мали обслуговуватися з кешу", cache.hits() > 0);
+            assertEquals("Одноколірне зображення має дати один промах", 1, cache.misses());
+        } finally {
+            ColorConverter.disableCache();
+        }
+        assertNull("Кеш мав вимкнутися", ColorConverter.getRGBtoHSBCache());
+    }
+}
@@ -3,8 +3,15 @@ package test;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import colors.Color;
 import colors.ColorRGBA;
 import images.Image;
+import images.Mask;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
 
 /**
  * Клас для тестування функціональності класу Image.
@@ -57,4 +64,281 @@ public class ImageTest {
         assertNull("Піксель (-1,0) не повинен існувати", image.getPixel(-1, 0)); // Координати за межами
         assertNull("Піксель (0,3) не повинен існувати", image.getPixel(0, 3)); // Координати за межами
     }
+
+    /**
+     * Тестує типізовані методи доступу до упакованих значень пікселів.
+     * 
+     * Перевіряється, що getRGBA повертає те саме значення, що й valueInt()
+     * кольору, встановленого через setPixel, і навпаки.
+     */
+    @Test
+    public void testPackedAccessors() {
+        Image image = new Image(2, 3);
+        ColorRGBA color = new ColorRGBA(200, 10, 30, 128);
+        image.setPixel(1, 2, color);
+
+        assertEquals("getRGBA повертає неправильне значення", color.valueInt(), image.getRGBA(1, 2));
+
+        image.setRGBA(0, 1, color.valueInt());
+        assertEquals("setRGBA встановлює неправильний колір", color, image.getPixel(0, 1));
+        assertEquals("Крок рядка не відповідає кількості стовпців", 3, image.getStride());
+    }
+
+    /**
+     * Тестує запис зображення у текстовий файл.
+     * 
+     * Перевіряється, що вміст файлу побайтово збігається з форматом
+     * <code>String.format("%d ", ...)</code> для кожного пікселя, включно з
+     * від'ємними значеннями та межами діапазону int, як для малого зображення,
+     * так і для великого, рядки якого форматуються паралельно.
+     * 
+     * @throws IOException якщо не вдалося прочитати тимчасовий файл.
+     */
+    @Test
+    public void testSaveAsTextFormat() throws IOException {
+        Random random = new Random(9);
+        for (int[] size : new int[][] { { 3, 4 }, { 300, 257 } }) {
+            Image image = new Image(size[0], size[1]);
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < size[0]; i++) {
+                for (int j = 0; j < size[1]; j++) {
+                    int value = (i == 0 && j == 0) ? Integer.MIN_VALUE
+                            : (i == 0 && j == 1) ? Integer.MAX_VALUE
+                            : (i == 0 && j == 2) ? 0 : random.nextInt();
+                    image.setRGBA(i, j, value);
+                    expected.append(String.format("%d ", value));
+                }
+                expected.append("\n");
+            }
+
+            File file = File.createTempFile("image", ".txt");
+            try {
+                image.saveAsText(file.getPath());
+                assertEquals("Вміст файлу не збігається з очікуваним форматом",
+                        expected.toString(), Files.readString(file.toPath()));
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Тестує завантаження зображення, збереженого у текстовому форматі.
+     * 
+     * Файл великого зображення розбивається на кілька частин, тому
+     * перевіряється і паралельний розбір по межах рядків.
+     */
+    @Test
+    public void testLoadFromText() throws IOException {
+        Random random = new Random(14);
+        for (int[] size : new int[][] { { 1, 1 }, { 3, 4 }, { 1100, 1000 } }) {
+            Image image = new Image(size[0], size[1]);
+            for (int i = 0; i < size[0]; i++) {
+                for (int j = 0; j < size[1]; j++) {
+                    image.setRGBA(i, j, random.nextInt());
+                }
+            }
+            image.setRGBA(0, 0, Integer.MIN_VALUE);
+
+            File file = File.createTempFile("image", ".txt");
+            try {
+                image.saveAsText(file.getPath());
+                Image loaded = Image.loadFromText(file.getPath());
+                assertEquals("Кількість рядків не співпадає", size[0], loaded.getRows());
+                assertEquals("Кількість стовпців не співпадає", size[1], loaded.getColumns());
+                for (int i = 0; i < size[0]; i++) {
+                    for (int j = 0; j < size[1]; j++) {
+                        assertEquals("Піксель завантаженого зображення не співпадає", image.getRGBA(i, j),
+                                loaded.getRGBA(i, j));
+                    }
+                }
+
+                Files.writeString(file.toPath(), "1 2 \n3 \n");
+                try {
+                    Image.loadFromText(file.getPath());
+                    fail("Очікувався виняток для рядків різної довжини");
+                } catch (IOException e) {
+                    assertTrue("Повідомлення повинно вказувати рядок", e.getMessage().contains("2"));
+                }
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Тестує запис зображення у двійковий формат і відкриття його через
+     * відображення файлу у пам'ять.
+     * 
+     * Перевіряється, що всі пікселі збігаються, зображення, відкрите лише для
+     * читання, не дозволяє змін, зміни у відкритому для запису зображенні
+     * зберігаються у файлі, а заголовок з переповненим зміщенням відхиляється.
+     * 
+     * @throws IOException якщо не вдалося записати або прочитати файл.
+     */
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        Random random = new Random(13);
+        Image image = new Image(17, 23);
+        for (int i = 0; i < 17; i++) {
+            for (int j = 0; j < 23; j++) {
+                image.setRGBA(i, j, random.nextInt());
+            }
+        }
+
+        File file = File.createTempFile("image", ".bin");
+        try {
+            image.saveAsBinary(file.getPath());
+            assertEquals("Неправильний розмір файлу", 32 + 17 * 23 * 4, file.length());
+
+            Image mapped = Image.openBinary(file.getPath());
+            assertEquals("Неправильний тип сховища", "mapped-ro", mapped.getStorageType());
+            assertEquals("Неправильна кількість рядків", 17, mapped.getRows());
+            assertEquals("Неправильна кількість стовпців", 23, mapped.getColumns());
+            for (int i = 0; i < 17; i++) {
+                for (int j = 0; j < 23; j++) {
+                    assertEquals("Піксель (" + i + "," + j + ") відрізняється", image.getRGBA(i, j), mapped.getRGBA(i, j));
+                }
+            }
+            try {
+                mapped.setRGBA(0, 0, 1);
+                fail("Зображення, відкрите лише для читання, не повинно змінюватися");
+            } catch (UnsupportedOperationException expected) {
+                // Очікувана поведінка
+            }
+
+            Image writable = Image.openBinary(file.getPath(), true);
+            writable.setRGBA(16, 22, 12345);
+            assertEquals("Зміна не записана у файл", 12345, Image.openBinary(file.getPath()).getRGBA(16, 22));
+
+            try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+                raw.seek(24); // Зміщення пікселів у заголовку (little-endian)
+                raw.writeLong(Long.reverseBytes(Long.MAX_VALUE - 100));
+            }
+            try {
+                Image.openBinary(file.getPath());
+                fail("Зміщення, що переповнює кінець даних, повинно відхилятися");
+            } catch (IOException expected) {
+                assertTrue("Неправильне повідомлення: " + expected.getMessage(),
+                        expected.getMessage().startsWith("Пошкоджений заголовок"));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Тестує зображення, що зберігає пікселі поза купою JVM.
+     * 
+     * Перевіряється, що заповнення, доступ до пікселів і застосування маски
+     * працюють так само, як для звичайного зображення, а після закриття
+     * доступ до пікселів неможливий.
+     */
+    @Test
+    public void testOffHeapImage() {
+        ColorRGBA color = new ColorRGBA(100, 150, 200, 255);
+        Image expected = new Image(5, 7);
+        Image image = Image.offHeap(5, 7);
+        expected.fill(color);
+        image.fill(color);
+        assertEquals("Неправильний тип сховища", "offheap", image.getStorageType());
+        assertEquals("Піксель (4,6) має неправильний колір", color, image.getPixel(4, 6));
+
+        Mask mask = new Mask(5, 7);
+        mask.setMaskValue(2, 3, 1);
+        mask.applyToImage(expected);
+        mask.applyToImage(image);
+        assertEquals("Маска по-різному вплинула на піксель (2,3)", expected.getRGBA(2, 3), image.getRGBA(2, 3));
+        assertEquals("Маска вплинула на піксель (2,4)", color.valueInt(), image.getRGBA(2, 4));
+
+        image.close();
+        try {
+            image.getRGBA(0, 0);
+            fail("Після закриття доступ до пікселів повинен бути неможливим");
+        } catch (IllegalStateException expectedException) {
+            // Очікувана поведінка
+        }
+    }
+
+    /**
+     * Тестує збереження у текстовий файл зображення поза купою, що містить
+     * понад 64K пікселів і тому форматується паралельно у потоках
+     * ForkJoinPool.
+     */
+    @Test
+    public void testSaveOffHeapImage() throws IOException {
+        Random random = new Random(12);
+        try (Image image = Image.offHeap(300, 300)) {
+            for (int i = 0; i < 300; i++) {
+                for (int j = 0; j < 300; j++) {
+                    image.setRGBA(i, j, random.nextInt());
+                }
+            }
+            File file = File.createTempFile("image", ".txt");
+            try {
+                image.saveAsText(file.getPath());
+                Image loaded = Image.loadFromText(file.getPath());
+                for (int i = 0; i < 300; i++) {
+                    for (int j = 0; j < 300; j++) {
+                        assertEquals("Піксель збереженого зображення не співпадає", image.getRGBA(i, j),
+                                loaded.getRGBA(i, j));
+                    }
+                }
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Тестує попіксельні операції над зображеннями: результат повинен
+     * збігатися з операціями ColorRGBA, зокрема для великого зображення
+     * (паралельний режим) і зображення поза купою.
+     */
+    @Test
+    public void testImageAlgebra() {
+        Random random = new Random(21);
+        for (int[] size : new int[][] { { 7, 9 }, { 600, 500 } }) {
+            Image a = new Image(size[0], size[1]);
+            Image b = Image.offHeap(size[0], size[1]);
+            for (int i = 0; i < size[0]; i++) {
+                for (int j = 0; j < size[1]; j++) {
+                    a.setRGBA(i, j, random.nextInt());
+                    b.setRGBA(i, j, random.nextInt());
+                }
+            }
+            Image copy = new Image(size[0], size[1]);
+            for (int i = 0; i < size[0]; i++) {
+                for (int j = 0; j < size[1]; j++) {
+                    copy.setRGBA(i, j, b.getRGBA(i, j));
+                }
+            }
+            Image[] mixed = { a.or(b), a.and(b), a.xor(b), a.average(b) };
+            Image[] heap = { a.or(copy), a.and(copy), a.xor(copy), a.average(copy) };
+            Image offHeapFirst = b.average(a); // Зображення поза купою як перший операнд
+            Image heapFirst = copy.average(a);
+            for (int i = 0; i < size[0]; i++) {
+                for (int j = 0; j < size[1]; j++) {
+                    ColorRGBA x = ColorRGBA.fromInt(a.getRGBA(i, j));
+                    ColorRGBA y = ColorRGBA.fromInt(b.getRGBA(i, j));
+                    Color[] expected = { x.or(y), x.and(y), x.xor(y), x.add(y) };
+                    for (int op = 0; op < expected.length; op++) {
+                        assertEquals("Результат операції " + op + " не співпадає", expected[op].valueInt(),
+                                heap[op].getRGBA(i, j));
+                        assertEquals("Результат операції " + op + " для сховища поза купою не співпадає",
+                                expected[op].valueInt(), mixed[op].getRGBA(i, j));
+                    }
+                    assertEquals("Середнє з першим операндом поза купою не співпадає", heapFirst.getRGBA(i, j),
+                            offHeapFirst.getRGBA(i, j));
+                }
+            }
+            b.close();
+        }
+        try {
+            new Image(2, 3).or(new Image(3, 2));
+            fail("Очікувався виняток IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Очікувана поведінка
+        }
+    }
 }
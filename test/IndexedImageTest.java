@@ -0,0 +1,212 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import colors.ColorConverter;
+import images.BitMask;
+import images.HSBImage;
+import images.Image;
+import images.IndexedImage;
+import images.RGBAImage;
+import java.util.Random;
+
+/**
+ * Клас для тестування функціональності класу IndexedImage.
+ */
+public class IndexedImageTest {
+
+    /**
+     * Створює зображення з кольорами з невеликого набору.
+     * 
+     * @param random Генератор випадкових чисел.
+     * @param m      Кількість рядків.
+     * @param n      Кількість стовпців.
+     * @param colors Кількість різних кольорів.
+     * @return Нове зображення.
+     */
+    private static Image randomImage(Random random, int m, int n, int colors) {
+        int[] palette = new int[colors];
+        for (int k = 0; k < colors; k++) {
+            palette[k] = random.nextInt() | 0xFF;
+        }
+        Image image = new Image(m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                image.setRGBA(i, j, palette[random.nextInt(colors)]);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Перевіряє, що два зображення мають однакові пікселі.
+     * 
+     * @param expected Очікуване зображення.
+     * @param actual   Отримане зображення.
+     */
+    private static void assertSamePixels(Image expected, Image actual) {
+        for (int i = 0; i < expected.getRows(); i++) {
+            for (int j = 0; j < expected.getColumns(); j++) {
+                assertEquals("Піксель (" + i + "," + j + ") не співпадає", expected.getRGBA(i, j),
+                        actual.getRGBA(i, j));
+            }
+        }
+    }
+
+    /**
+     * Тестує перетворення з Image і назад та вибір ширини індексу за
+     * кількістю кольорів.
+     */
+    @Test
+    public void testFromImage() {
+        Random random = new Random(24);
+        Image image = randomImage(random, 30, 41, 200);
+        IndexedImage indexed = IndexedImage.fromImage(image);
+        assertEquals("Для 200 кольорів очікувались 8-бітні індекси", 8, indexed.getIndexBits());
+        assertTrue("Палітра містить забагато кольорів", indexed.getPaletteSize() <= 200);
+        assertSamePixels(image, indexed.toImage());
+
+        Image wide = randomImage(random, 50, 60, 1000);
+        IndexedImage wideIndexed = IndexedImage.fromImage(wide);
+        assertEquals("Для 1000 кольорів очікувались 16-бітні індекси", 16, wideIndexed.getIndexBits());
+        assertSamePixels(wide, wideIndexed.toImage());
+
+        Image full = new Image(300, 300);
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 300; j++) {
+                full.setRGBA(i, j, (i * 300 + j) << 8 | 0xFF);
+            }
+        }
+        assertNull("Зображення з 90000 кольорами не можна індексувати", IndexedImage.fromImage(full));
+    }
+
+    /**
+     * Тестує, що площина індексів розширюється, коли setRGBA додає 257-й
+     * колір.
+     */
+    @Test
+    public void testWidenOnSet() {
+        IndexedImage indexed = new IndexedImage(20, 20);
+        for (int k = 0; k < 300; k++) {
+            indexed.setRGBA(k / 20, k % 20, k << 8 | 0xFF);
+        }
+        assertEquals("Площина індексів мала розширитися", 16, indexed.getIndexBits());
+        assertEquals("Неправильний розмір палітри", 301, indexed.getPaletteSize());
+        for (int k = 0; k < 300; k++) {
+            assertEquals("Піксель після розширення не співпадає", k << 8 | 0xFF, indexed.getRGBA(k / 20, k % 20));
+        }
+        assertEquals("Непризначений піксель має колір 0", 0, indexed.getRGBA(19, 19));
+    }
+
+    /**
+     * Тестує, що маска та затемнення всього зображення дають той самий
+     * результат, що й попіксельні операції над Image.
+     */
+    @Test
+    public void testMaskAndDarkenMatchImage() {
+        Random random = new Random(25);
+        Image image = randomImage(random, 33, 70, 250);
+        BitMask mask = new BitMask(33, 70);
+        for (int i = 0; i < 33; i++) {
+            for (int j = 0; j < 70; j++) {
+                mask.setMaskValue(i, j, random.nextInt(2));
+            }
+        }
+        IndexedImage indexed = IndexedImage.fromImage(image);
+        indexed.applyMask(mask);
+        mask.applyToImage(image);
+        assertSamePixels(image, indexed.toImage());
+
+        indexed.darken(15);
+        Image darkened = indexed.toImage();
+        for (int i = 0; i < 33; i++) {
+            for (int j = 0; j < 70; j++) {
+                assertEquals("Затемнений піксель не співпадає", ColorConverter.darkenRGBA(image.getRGBA(i, j), 15),
+                        darkened.getRGBA(i, j));
+            }
+        }
+    }
+
+    /**
+     * Тестує, що перетворення палітри у HSB збігається з пакетним
+     * перетворенням RGBAImage.
+     */
+    @Test
+    public void testToHSB() {
+        Random random = new Random(26);
+        Image image = randomImage(random, 25, 35, 40);
+        IndexedImage indexed = IndexedImage.fromImage(image);
+        HSBImage expected = RGBAImage.fromImage(image).toHSB();
+        HSBImage actual = indexed.toHSB();
+        for (int i = 0; i < 25; i++) {
+            for (int j = 0; j < 35; j++) {
+                assertEquals("Піксель HSB не співпадає", expected.getHSB(i, j), actual.getHSB(i, j));
+            }
+        }
+        assertEquals("Піксель RGBA не співпадає", image.getRGBA(3, 4), indexed.toRGBA().getRGBA(3, 4));
+    }
+
+    /**
+     * Тестує, що повторні проходи маски не накопичують невикористані кольори
+     * у палітрі.
+     */
+    @Test
+    public void testRepeatedMaskCompactsPalette() {
+        Random random = new Random(27);
+        Image image = randomImage(random, 40, 50, 100);
+        BitMask mask = new BitMask(40, 50);
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 50; j++) {
+                mask.setMaskValue(i, j, 1);
+            }
+        }
+        IndexedImage indexed = IndexedImage.fromImage(image);
+        for (int pass = 0; pass < 6; pass++) {
+            indexed.applyMask(mask, 5);
+            mask.applyToImage(image, 5);
+            assertTrue("Палітра не повинна зростати", indexed.getPaletteSize() <= 100);
+            assertEquals("Площина індексів має лишатися 8-бітною", 8, indexed.getIndexBits());
+        }
+        assertSamePixels(image, indexed.toImage());
+    }
+
+    /**
+     * Тестує, що маска, затемнені кольори якої не вміщуються у палітру,
+     * спричиняє виняток і не змінює жодного пікселя.
+     */
+    @Test
+    public void testMaskOverflowLeavesImageUnchanged() {
+        Random random = new Random(28);
+        Image image = new Image(300, 400);
+        int rgba = 0;
+        for (int k = 0; k < 120000; k++) {
+            if (k % 2 == 0) {
+                rgba = random.nextInt() | 0xFF; // Близько 60000 кольорів, кожен двічі
+            }
+            image.setRGBA(k / 400, k % 400, rgba);
+        }
+        BitMask mask = new BitMask(300, 400);
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 400; j += 2) {
+                mask.setMaskValue(i, j, 1);
+            }
+        }
+        IndexedImage indexed = IndexedImage.fromImage(image);
+        int size = indexed.getPaletteSize();
+        try {
+            indexed.applyMask(mask);
+            fail("Очікувався виняток IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Очікувана поведінка
+        }
+        assertEquals("Розмір палітри змінився", size, indexed.getPaletteSize());
+        assertSamePixels(image, indexed.toImage());
+
+        // Повна маска: кольори поза маскою не лишаються, тож палітра вміщується
+        BitMask full = new BitMask(300, 400).invert();
+        indexed.applyMask(full);
+        full.applyToImage(image);
+        assertSamePixels(image, indexed.toImage());
+    }
+}
@@ -0,0 +1,138 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import images.BitMask;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import main.JobFile;
+import main.JobFileParseException;
+import main.JobFileParser;
+
+/**
+ * Клас для тестування функціональності класу JobFileParser.
+ */
+public class JobFileParserTest {
+
+    /**
+     * Записує вміст у тимчасовий файл завдання.
+     * 
+     * @param content Вміст файлу.
+     * @return Шлях до файлу.
+     * @throws IOException якщо файл не вдалося записати.
+     */
+    private static Path jobFile(String content) throws IOException {
+        Path path = Files.createTempFile("job", ".dat");
+        path.toFile().deleteOnExit();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    /**
+     * Тестує розбір файлу у форматі NZ_test.dat.
+     */
+    @Test
+    public void testParse() throws IOException {
+        JobFile job = JobFileParser.parse(jobFile("3 2\r\n255 0 0 255\n3 3\n1 0 0\n0 1 0\n0 0 -1\n\tout.txt\n"));
+
+        assertEquals("Кількість рядків не співпадає з очікуваною", 3, job.getRows());
+        assertEquals("Кількість стовпців не співпадає з очікуваною", 2, job.getColumns());
+        assertEquals("Колір не співпадає з очікуваним", 0xFF0000FF, job.getColor().valueInt());
+        assertEquals("Ім'я файлу не співпадає з очікуваним", "out.txt", job.getOutputName());
+        BitMask mask = job.getMask();
+        assertEquals("Кількість встановлених комірок маски не співпадає", 2, mask.cardinality());
+        assertEquals("Значення маски (1,1) не співпадає з очікуваним", 1, mask.getMaskValue(1, 1));
+        assertEquals("Значення маски (2,2) не співпадає з очікуваним", 0, mask.getMaskValue(2, 2));
+    }
+
+    /**
+     * Тестує розбір файлу, більшого за буфер читання.
+     */
+    @Test
+    public void testParseLargeMask() throws IOException {
+        int rows = 300, columns = 400;
+        StringBuilder content = new StringBuilder("1 1\n0 0 0 0\n" + rows + " " + columns + "\n");
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                content.append((i + j) % 3 == 0 ? "1 " : "0 ");
+            }
+            content.append('\n');
+        }
+        content.append("big.txt");
+        JobFile job = JobFileParser.parse(jobFile(content.toString()));
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                assertEquals("Значення маски не співпадає з очікуваним", (i + j) % 3 == 0 ? 1 : 0,
+                        job.getMask().getMaskValue(i, j));
+            }
+        }
+        assertEquals("Ім'я файлу не співпадає з очікуваним", "big.txt", job.getOutputName());
+    }
+
+    /**
+     * Тестує повідомлення про помилку з номером рядка та стовпця.
+     */
+    @Test
+    public void testParseErrorPosition() throws IOException {
+        try {
+            JobFileParser.parse(jobFile("2 2\n10 20 x0 40\n"));
+            fail("Очікувався виняток JobFileParseException");
+        } catch (JobFileParseException e) {
+            assertEquals("Номер рядка помилки не співпадає", 2, e.getLine());
+            assertEquals("Номер стовпця помилки не співпадає", 7, e.getColumn());
+        }
+        try {
+            JobFileParser.parse(jobFile("2 2\n1 2 3 4\n1 1\n"));
+            fail("Очікувався виняток JobFileParseException");
+        } catch (JobFileParseException e) {
+            assertEquals("Номер рядка помилки не співпадає", 4, e.getLine());
+        }
+    }
+
+    /**
+     * Тестує, що канал, який постійно повертає 0 байтів, спричиняє виняток
+     * замість нескінченного очікування, а неблокуючий канал відхиляється.
+     */
+    @Test(timeout = 10000)
+    public void testStalledChannel() throws IOException {
+        ReadableByteChannel stalled = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (JobFileParser parser = new JobFileParser(stalled, "stalled")) {
+            parser.readJob();
+            fail("Очікувався виняток IOException");
+        } catch (IOException e) {
+            assertTrue("Повідомлення повинно вказувати джерело", e.getMessage().contains("stalled"));
+        }
+
+        Pipe pipe = Pipe.open();
+        try (Pipe.SourceChannel source = pipe.source()) {
+            source.configureBlocking(false);
+            new JobFileParser(source, "pipe");
+            fail("Очікувався виняток IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Очікувана поведінка
+        } finally {
+            pipe.sink().close();
+        }
+    }
+}
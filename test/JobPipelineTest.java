@@ -0,0 +1,67 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import main.JobFileParser;
+import main.JobPipeline;
+
+/**
+ * Клас для тестування функціональності класу JobPipeline.
+ */
+public class JobPipelineTest {
+
+    /**
+     * Тестує, що потоковий конвеєр записує той самий файл, що і послідовна
+     * обробка завдання, зокрема коли маска менша або більша за зображення.
+     */
+    @Test
+    public void testMatchesSequential() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("pipeline");
+        Random random = new Random(17);
+        int[][] shapes = { { 3, 3, 3, 3 }, { 200, 130, 150, 70 }, { 40, 70, 90, 200 }, { 0, 5, 2, 2 } };
+        try {
+            for (int[] shape : shapes) {
+                StringBuilder content = new StringBuilder();
+                content.append(shape[0]).append(' ').append(shape[1]).append("\n12 200 87 255\n");
+                content.append(shape[2]).append(' ').append(shape[3]).append('\n');
+                for (int i = 0; i < shape[2]; i++) {
+                    for (int j = 0; j < shape[3]; j++) {
+                        content.append(random.nextInt(3)).append(' ');
+                    }
+                    content.append('\n');
+                }
+                content.append("streamed.txt\n");
+                Path job = dir.resolve("job.dat");
+                Files.writeString(job, content);
+
+                Path expected = dir.resolve("expected.txt");
+                JobFileParser.parse(job).render().writeText(expected.toString());
+                Path output = new JobPipeline(2).run(job);
+
+                assertEquals("Файл результату не співпадає", dir.resolve("streamed.txt").toAbsolutePath(), output);
+                assertEquals("Вміст файлу не співпадає з послідовною обробкою", Files.readString(expected),
+                        Files.readString(output));
+            }
+
+            Files.writeString(dir.resolve("job.dat"), "2 2\n1 2 3 4\n2 2\n1 0\n0 x\nbroken.txt\n");
+            try {
+                new JobPipeline(1).run(dir.resolve("job.dat"));
+                fail("Очікувався виняток для неправильного файлу завдання");
+            } catch (IOException e) {
+                assertFalse("Файл результату не повинен створюватися", Files.exists(dir.resolve("broken.txt")));
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import images.Image;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import main.JobClient;
+import main.JobServer;
+
+/**
+ * Клас для тестування функціональності класів JobServer та JobClient.
+ */
+public class JobServerTest {
+
+    /**
+     * Тестує виконання завдань з файлу та з рядка запиту, відповідь на
+     * неправильний запит і зупинку сервера.
+     */
+    @Test
+    public void testServeRequests() throws Exception {
+        Path dir = Files.createTempDirectory("server");
+        Path socket = dir.resolve("jobs.sock");
+        Path job = dir.resolve("job.dat");
+        Path inlineOutput = dir.resolve("inline.txt");
+        Files.writeString(job, "2 2\n255 0 0 255\n2 2\n1 0\n0 1\nfile.txt\n");
+
+        JobServer server = new JobServer(socket, dir, 2);
+        Thread thread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        try (JobClient client = new JobClient(socket)) {
+            assertEquals("Сервер повинен відповідати на PING", "OK", client.send("PING"));
+
+            String reply = client.submit(job.getFileName());
+            assertTrue("Завдання з файлу повинно виконатися: " + reply, reply.startsWith("OK "));
+            Image image = Image.loadFromText(dir.resolve("file.txt").toString());
+            assertNotEquals("Піксель під маскою повинен бути затемнений", 0xFF0000FF, image.getRGBA(0, 0));
+            assertEquals("Піксель поза маскою не повинен змінюватися", 0xFF0000FF, image.getRGBA(0, 1));
+
+            reply = client.send("INLINE 1 2 0 255 0 255 1 2 0 1 inline.txt");
+            assertTrue("Завдання з запиту повинно виконатися: " + reply, reply.startsWith("OK "));
+            image = Image.loadFromText(inlineOutput.toString());
+            assertEquals("Піксель поза маскою не повинен змінюватися", 0x00FF00FF, image.getRGBA(0, 0));
+
+            assertTrue("Неправильне завдання повинно повертати помилку",
+                    client.send("INLINE 1 1 0 0").startsWith("ERROR "));
+            assertTrue("Невідомий запит повинен повертати помилку", client.send("HELLO").startsWith("ERROR "));
+            assertTrue("Завдання з відносним шляхом повинно виконатися",
+                    client.send("INLINE 1 1 0 0 0 255 1 1 0 one.txt").startsWith("OK "));
+            assertTrue("Абсолютний шлях результату повинен відхилятися",
+                    client.send("INLINE 1 1 0 0 0 255 1 1 0 " + inlineOutput).startsWith("ERROR "));
+            assertTrue("Шлях результату з '..' повинен відхилятися",
+                    client.send("INLINE 1 1 0 0 0 255 1 1 0 ../escape.txt").startsWith("ERROR "));
+            assertTrue("Абсолютний шлях завдання повинен відхилятися",
+                    client.send("FILE " + job).startsWith("ERROR "));
+            assertTrue("Шлях завдання з '..' повинен відхилятися",
+                    client.send("FILE ../" + dir.getFileName() + "/job.dat").startsWith("ERROR "));
+            assertFalse("Файл поза робочим каталогом не повинен створюватися",
+                    Files.exists(dir.resolveSibling("escape.txt")));
+            assertEquals("Сервер повинен підтверджувати зупинку", "OK", client.send("SHUTDOWN"));
+        } finally {
+            thread.join(5000);
+            server.close();
+        }
+        assertFalse("Сервер повинен зупинитися", thread.isAlive());
+        assertFalse("Файл сокета повинен бути видалений", Files.exists(socket));
+        for (Path file : new Path[] { job, dir.resolve("file.txt"), dir.resolve("one.txt"), inlineOutput }) {
+            Files.deleteIfExists(file);
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Тестує, що сервер не запускається на сокеті, який вже обслуговує інший
+     * сервер, або на шляху звичайного файлу, а зупинка сервера від'єднує
+     * клієнтів, що очікують.
+     */
+    @Test
+    public void testSocketInUseAndClose() throws Exception {
+        Path dir = Files.createTempDirectory("server");
+        Path socket = dir.resolve("jobs.sock");
+        Path file = dir.resolve("file.sock");
+        Files.writeString(file, "не сокет");
+        try {
+            new JobServer(file, dir, 1).close();
+            fail("Сервер не повинен видаляти звичайний файл");
+        } catch (IOException e) {
+            // Очікувана поведінка
+        }
+        assertTrue("Звичайний файл повинен залишитися", Files.exists(file));
+
+        JobServer server = new JobServer(socket, dir, 1);
+        Thread thread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        try (JobClient client = new JobClient(socket)) {
+            assertEquals("Сервер повинен відповідати на PING", "OK", client.send("PING"));
+            try {
+                new JobServer(socket, dir, 1).close();
+                fail("Другий сервер не повинен запускатися на зайнятому сокеті");
+            } catch (IOException e) {
+                // Очікувана поведінка
+            }
+            assertEquals("Перший сервер повинен працювати далі", "OK", client.send("PING"));
+
+            long start = System.nanoTime();
+            server.close();
+            assertTrue("Зупинка не повинна чекати на клієнта без запитів",
+                    System.nanoTime() - start < JobServer.CLOSE_TIMEOUT_SECONDS * 1_000_000_000L / 2);
+        } finally {
+            server.close();
+            thread.join(5000);
+        }
+        assertFalse("Сервер повинен зупинитися", thread.isAlive());
+        assertFalse("Файл сокета повинен бути видалений", Files.exists(socket));
+
+        new JobServer(socket, dir, 1).close(); // Після зупинки шлях знову вільний
+        Files.delete(file);
+        Files.delete(dir);
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.Assert.*;
 import colors.ColorRGBA;
 import images.Image;
 import images.Mask;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Клас для тестування функціональності класу Mask.
@@ -54,4 +56,49 @@ public class MaskTest {
                 color.valueInt(),
                 image.getPixel(1, 1).valueInt());
     }
+
+    /**
+     * Тестує паралельне застосування маски.
+     * 
+     * Перевіряється, що результат паралельного режиму на великому зображенні
+     * повністю збігається з результатом послідовного режиму, у тому числі для
+     * зображення поза купою.
+     */
+    @Test
+    public void testParallelApplyMatchesSequential() {
+        int m = 300, n = 310;
+        Random random = new Random(42);
+        Image sequential = new Image(m, n);
+        Image parallel = new Image(m, n);
+        Image offHeap = Image.offHeap(m, n);
+        Mask mask = new Mask(m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                int rgba = random.nextInt();
+                sequential.setRGBA(i, j, rgba);
+                parallel.setRGBA(i, j, rgba);
+                offHeap.setRGBA(i, j, rgba);
+                mask.setMaskValue(i, j, random.nextInt(2));
+            }
+        }
+
+        mask.applyToImage(sequential);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            mask.applyToImageParallel(parallel, Mask.DEFAULT_DARKEN_POINTS, pool);
+            mask.applyToImageParallel(offHeap, Mask.DEFAULT_DARKEN_POINTS, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals("Піксель (" + i + "," + j + ") відрізняється у паралельному режимі",
+                        sequential.getRGBA(i, j), parallel.getRGBA(i, j));
+                assertEquals("Піксель (" + i + "," + j + ") поза купою відрізняється у паралельному режимі",
+                        sequential.getRGBA(i, j), offHeap.getRGBA(i, j));
+            }
+        }
+        offHeap.close();
+    }
 }
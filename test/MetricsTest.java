@@ -0,0 +1,225 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import colors.ColorConverter;
+import colors.ColorRGBA;
+import images.Image;
+import images.Mask;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metrics.Conversion;
+import metrics.ImageIOEvent;
+import metrics.Metrics;
+import metrics.MetricsSnapshot;
+
+/**
+ * Клас для тестування функціональності класу Metrics та подій JDK Flight
+ * Recorder.
+ */
+public class MetricsTest {
+
+    /**
+     * Тестує накопичення лічильників, знімок і обнулення.
+     */
+    @Test
+    public void testSnapshotAndReset() {
+        Metrics.reset();
+        Metrics.conversion(Conversion.RGB_TO_HSB, 5);
+        Metrics.conversion(Conversion.RGB_TO_HSB, 2);
+        Metrics.maskPass(100, 40, 1000);
+        Metrics.save(4096, 10, 2000);
+        Metrics.save(1024, 2, 500);
+
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        assertEquals("Кількість перетворень RGB у HSB не співпадає", 7, snapshot.getConversions(Conversion.RGB_TO_HSB));
+        assertEquals("Кількість перетворень CMYK у RGB не співпадає", 0,
+                snapshot.getConversions(Conversion.CMYK_TO_RGB));
+        assertEquals("Кількість застосувань маски не співпадає", 1, snapshot.getMaskPasses());
+        assertEquals("Кількість змінених пікселів не співпадає", 40, snapshot.getMaskPixelsModified());
+        assertEquals("Кількість збережень не співпадає", 2, snapshot.getSaves());
+        assertEquals("Кількість записаних байтів не співпадає", 5120, snapshot.getSaveBytes());
+        assertEquals("Тривалість збережень не співпадає", 2500, snapshot.getSaveNanos());
+
+        Metrics.reset();
+        assertEquals("Лічильники повинні обнулятися", 0, Metrics.snapshot().getSaveBytes());
+    }
+
+    /**
+     * Тестує публікацію метрик через платформний MBean.
+     */
+    @Test
+    public void testMBean() throws Exception {
+        Metrics.registerMBean();
+        Metrics.registerMBean(); // Повторна реєстрація нічого не робить
+        Metrics.reset();
+        Metrics.conversion(Conversion.XYZ_TO_RGB, 3);
+        Metrics.maskPass(10, 4, 100);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        assertEquals("Атрибут MaskPixelsVisited не співпадає", 10L, server.getAttribute(name, "MaskPixelsVisited"));
+        TabularData conversions = (TabularData) server.getAttribute(name, "Conversions");
+        assertEquals("Кількість пар моделей не співпадає", Conversion.values().length, conversions.size());
+        assertEquals("Кількість перетворень XYZ у RGB не співпадає", 3L,
+                conversions.get(new Object[] { "XYZ_TO_RGB" }).get("value"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals("Операція reset повинна обнуляти лічильники", 0L, server.getAttribute(name, "MaskPasses"));
+    }
+
+    /**
+     * Тестує запис подій JDK Flight Recorder для маски, збереження,
+     * завантаження і пакетного перетворення, а також подію читання файлу,
+     * розмір якого не вдалося визначити.
+     */
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("image", ".txt");
+        Path recordingFile = Files.createTempFile("recording", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : new String[] { "colors.MaskApply", "colors.ImageIO", "colors.BulkConversion" }) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            Image image = new Image(4, 5);
+            Mask mask = new Mask(4, 5);
+            mask.setMaskValue(1, 2, 1);
+            mask.applyToImage(image);
+            image.writeText(file.toString());
+            Image.loadFromText(file.toString());
+            ColorConverter.RGBtoHSB(new int[8], 0, new int[8], 0, 8);
+            ImageIOEvent missing = new ImageIOEvent();
+            missing.begin();
+            missing.finish("openBinary", file.resolveSibling("missing.bin"), 1, 1, "mapped"); // Не кидає виняток
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            String key = event.getEventType().getName();
+            if (event.hasField("operation")) {
+                key += "/" + event.getString("operation");
+            }
+            events.put(key, event);
+        }
+        RecordedEvent maskEvent = events.get("colors.MaskApply");
+        assertNotNull("Подія застосування маски не записана", maskEvent);
+        assertEquals("Кількість змінених пікселів не співпадає", 1, maskEvent.getLong("pixelsModified"));
+        assertEquals("Тип сховища не співпадає", "heap", maskEvent.getString("backend"));
+        RecordedEvent saveEvent = events.get("colors.ImageIO/saveText");
+        assertNotNull("Подія збереження не записана", saveEvent);
+        assertEquals("Кількість пікселів не співпадає", 20, saveEvent.getLong("pixels"));
+        assertEquals("Розмір файлу не співпадає", Files.size(file), saveEvent.getLong("bytes"));
+        RecordedEvent loadEvent = events.get("colors.ImageIO/loadText");
+        assertNotNull("Подія завантаження не записана", loadEvent);
+        assertEquals("Розмір прочитаного файлу не співпадає", Files.size(file), loadEvent.getLong("bytes"));
+        RecordedEvent missingEvent = events.get("colors.ImageIO/openBinary");
+        assertNotNull("Подія для відсутнього файлу не записана", missingEvent);
+        assertEquals("Розмір відсутнього файлу має бути -1", -1, missingEvent.getLong("bytes"));
+        RecordedEvent conversionEvent = events.get("colors.BulkConversion");
+        assertNotNull("Подія перетворення не записана", conversionEvent);
+        assertEquals("Пара моделей не співпадає", "RGB_TO_HSB", conversionEvent.getString("conversion"));
+        Files.delete(file);
+        Files.delete(recordingFile);
+    }
+
+    /**
+     * Тестує лічильники, накопичені справжніми операціями, в окремій JVM,
+     * запущеній з <code>-Dcolors.metrics=true</code>: прапорець
+     * {@link Metrics#ENABLED} читається один раз під час завантаження класу,
+     * тому в JVM тестів інструментування вимкнене.
+     */
+    @Test
+    public void testInstrumentedOperations() throws Exception {
+        Path file = Files.createTempFile("image", ".txt");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-D" + Metrics.ENABLED_PROPERTY + "=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(InstrumentedRun.class.getName());
+        command.add(file.toString());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Map<String, Long> counters = new HashMap<>();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                output.append(line).append('\n');
+                int eq = line.indexOf('=');
+                if (eq > 0) {
+                    counters.put(line.substring(0, eq), Long.parseLong(line.substring(eq + 1)));
+                }
+            }
+        }
+        assertEquals("Дочірня JVM завершилася з помилкою:\n" + output, 0, process.waitFor());
+
+        assertEquals("Інструментування повинно бути увімкнене", 1L, (long) counters.get("enabled"));
+        assertEquals("Перетворення RGB у HSB не пораховано", 1L, (long) counters.get("conversions"));
+        assertEquals("Застосування маски не пораховано", 1L, (long) counters.get("maskPasses"));
+        assertEquals("Кількість змінених пікселів не співпадає", 2L, (long) counters.get("maskModified"));
+        assertTrue("Перетворення під час застосування маски не пораховані",
+                counters.get("maskConversions") > counters.get("conversions"));
+        assertEquals("Збереження не пораховано", 1L, (long) counters.get("saves"));
+        assertEquals("Кількість записаних рядків не співпадає", 4L, (long) counters.get("saveRows"));
+        assertEquals("Кількість записаних байтів не співпадає", Files.size(file), (long) counters.get("saveBytes"));
+        Files.delete(file);
+    }
+
+    /**
+     * Програма для дочірньої JVM тесту {@link #testInstrumentedOperations()}:
+     * виконує перетворення, застосування маски і збереження та виводить
+     * лічильники після кожного кроку у форматі <code>назва=значення</code>.
+     */
+    public static final class InstrumentedRun {
+        /**
+         * Точка входу дочірньої JVM.
+         * 
+         * @param args Шлях до файлу для збереження зображення.
+         * @throws Exception якщо зображення не вдалося зберегти.
+         */
+        public static void main(String[] args) throws Exception {
+            System.out.println("enabled=" + (Metrics.ENABLED ? 1 : 0));
+            Metrics.reset();
+            ColorConverter.RGBtoHSB(new ColorRGBA(200, 100, 50, 255));
+            System.out.println("conversions=" + Metrics.snapshot().getConversions(Conversion.RGB_TO_HSB));
+
+            Image image = new Image(4, 5);
+            image.fillRGBA(0x3080C0FF);
+            Mask mask = new Mask(4, 5);
+            mask.setMaskValue(1, 2, 1);
+            mask.setMaskValue(3, 4, 1);
+            mask.applyToImage(image);
+            MetricsSnapshot snapshot = Metrics.snapshot();
+            System.out.println("maskPasses=" + snapshot.getMaskPasses());
+            System.out.println("maskModified=" + snapshot.getMaskPixelsModified());
+            System.out.println("maskConversions=" + snapshot.getConversions(Conversion.RGB_TO_HSB));
+
+            image.writeText(args[0]);
+            snapshot = Metrics.snapshot();
+            System.out.println("saves=" + snapshot.getSaves());
+            System.out.println("saveRows=" + snapshot.getSaveRows());
+            System.out.println("saveBytes=" + snapshot.getSaveBytes());
+        }
+    }
+}
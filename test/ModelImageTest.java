@@ -0,0 +1,101 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import colors.ColorConverter;
+import colors.ColorHSB;
+import images.BitMask;
+import images.HSBImage;
+import images.Image;
+import images.RGBAImage;
+import java.util.Random;
+
+/**
+ * Клас для тестування функціональності класів RGBAImage та HSBImage.
+ */
+public class ModelImageTest {
+
+    /**
+     * Створює випадкове зображення та маску.
+     * 
+     * @param random Генератор випадкових чисел.
+     * @param image  Зображення для заповнення.
+     * @param mask   Маска для заповнення.
+     */
+    private static void randomize(Random random, Image image, BitMask mask) {
+        for (int i = 0; i < image.getRows(); i++) {
+            for (int j = 0; j < image.getColumns(); j++) {
+                image.setRGBA(i, j, random.nextInt() | 0xFF);
+            }
+        }
+        for (int i = 0; i < mask.getRows(); i++) {
+            for (int j = 0; j < mask.getColumns(); j++) {
+                mask.setMaskValue(i, j, random.nextInt(2));
+            }
+        }
+    }
+
+    /**
+     * Тестує, що ядро маски RGBAImage дає той самий результат, що і
+     * застосування BitMask до Image, і що перетворення зберігають пікселі.
+     */
+    @Test
+    public void testRGBAImageMatchesImage() {
+        Random random = new Random(20);
+        Image image = new Image(37, 70);
+        BitMask mask = new BitMask(40, 66);
+        randomize(random, image, mask);
+
+        RGBAImage rgba = RGBAImage.fromImage(image);
+        assertEquals("Піксель після копіювання не співпадає", image.getRGBA(5, 7), rgba.getRGBA(5, 7));
+        rgba.applyMask(mask);
+        mask.applyToImage(image);
+        Image result = rgba.toImage();
+        for (int i = 0; i < image.getRows(); i++) {
+            for (int j = 0; j < image.getColumns(); j++) {
+                assertEquals("Піксель (" + i + "," + j + ") не співпадає", image.getRGBA(i, j),
+                        result.getRGBA(i, j));
+            }
+        }
+        try {
+            rgba.getRGBA(37, 0);
+            fail("Очікувався виняток IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // Очікувана поведінка
+        }
+    }
+
+    /**
+     * Тестує, що затемнення в HSBImage збігається з darkenRGBA для пікселів
+     * під маскою.
+     */
+    @Test
+    public void testHSBImageDarken() {
+        Random random = new Random(21);
+        Image image = new Image(20, 30);
+        BitMask mask = new BitMask(20, 30);
+        randomize(random, image, mask);
+
+        RGBAImage rgba = RGBAImage.fromImage(image);
+        HSBImage hsb = rgba.toHSB();
+        assertEquals("Перетворення у HSB не співпадає", ColorConverter.RGBtoHSB(image.getRGBA(3, 4)),
+                hsb.getHSB(3, 4));
+        hsb.applyMask(mask);
+        RGBAImage result = hsb.toRGBA();
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 30; j++) {
+                if (mask.getMaskValue(i, j) == 1) {
+                    assertEquals("Затемнений піксель (" + i + "," + j + ") не співпадає",
+                            ColorConverter.darkenRGBA(image.getRGBA(i, j), 20), result.getRGBA(i, j));
+                }
+            }
+        }
+
+        hsb.fill(new ColorHSB(120, 50, 10));
+        hsb.applyMask(mask);
+        for (int j = 0; j < 30; j++) {
+            assertEquals("Яскравість не співпадає", mask.getMaskValue(0, j) == 1 ? 0 : 10, hsb.getPixel(0, j).getB());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import colors.ColorConverter;
+import colors.ColorRGBA;
+import colors.ColorXYZ;
+import colors.PaletteIndex;
+import images.Image;
+import images.IndexedImage;
+import java.util.Random;
+
+/**
+ * Клас для тестування пошуку найближчого кольору PaletteIndex.
+ */
+public class PaletteIndexTest {
+
+    /**
+     * Створює випадкову палітру.
+     * 
+     * @param random Генератор випадкових чисел.
+     * @param size   Кількість кольорів.
+     * @return Палітра у форматі RGBA.
+     */
+    private static int[] randomPalette(Random random, int size) {
+        int[] palette = new int[size];
+        for (int k = 0; k < size; k++) {
+            palette[k] = random.nextInt() | 0xFF;
+        }
+        return palette;
+    }
+
+    /**
+     * Знаходить найближчий колір лінійним переглядом палітри (найменший
+     * індекс серед рівновіддалених).
+     * 
+     * @param palette Палітра.
+     * @param rgba    Колір запиту.
+     * @param space   Простір відстаней.
+     * @return Індекс найближчого кольору.
+     */
+    private static int linearNearest(int[] palette, int rgba, PaletteIndex.Space space) {
+        float[] q = coords(rgba, space);
+        int best = -1;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (int k = 0; k < palette.length; k++) {
+            float[] p = coords(palette[k], space);
+            float dx = q[0] - p[0], dy = q[1] - p[1], dz = q[2] - p[2];
+            float distance = dx * dx + dy * dy + dz * dz;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Обчислює координати кольору у просторі відстаней.
+     * 
+     * @param rgba  Колір.
+     * @param space Простір.
+     * @return Три координати.
+     */
+    private static float[] coords(int rgba, PaletteIndex.Space space) {
+        if (space == PaletteIndex.Space.RGB) {
+            return new float[] { rgba >>> 24, (rgba >>> 16) & 0xFF, (rgba >>> 8) & 0xFF };
+        }
+        ColorXYZ xyz = ColorConverter.RGBtoXYZ(ColorRGBA.fromInt(rgba));
+        return new float[] { xyz.getX(), xyz.getY(), xyz.getZ() };
+    }
+
+    /**
+     * Тестує, що пошук у дереві збігається з лінійним переглядом у просторах
+     * RGB та XYZ, у тому числі для палітри з однаковими кольорами.
+     */
+    @Test
+    public void testNearestMatchesLinearScan() {
+        Random random = new Random(25);
+        for (PaletteIndex.Space space : PaletteIndex.Space.values()) {
+            int[] palette = randomPalette(random, 500);
+            palette[100] = palette[400]; // Рівновіддалені кольори: очікується менший індекс
+            PaletteIndex index = new PaletteIndex(palette, space, 0);
+            for (int k = 0; k < 5000; k++) {
+                int rgba = k == 0 ? palette[400] : random.nextInt();
+                assertEquals("Найближчий колір у просторі " + space + " не співпадає",
+                        linearNearest(palette, rgba, space), index.nearest(rgba));
+            }
+            assertEquals("Колір палітри має знаходити сам себе", palette[7], index.nearestColor(palette[7]));
+        }
+    }
+
+    /**
+     * Тестує пакетний пошук, заміну кольорів і кеш запитів.
+     */
+    @Test
+    public void testBatchAndCache() {
+        Random random = new Random(26);
+        int[] palette = randomPalette(random, 64);
+        PaletteIndex index = new PaletteIndex(palette, PaletteIndex.Space.RGB);
+        int[] colors = new int[1000];
+        for (int k = 0; k < colors.length; k++) {
+            colors[k] = random.nextInt(100) * 0x01020300 | 0xFF;
+        }
+        int[] indices = new int[colors.length];
+        index.nearest(colors, 0, indices, 0, colors.length);
+        int[] remapped = colors.clone();
+        index.remap(remapped, 0, remapped, 0, remapped.length);
+        for (int k = 0; k < colors.length; k++) {
+            assertEquals("Пакетний пошук не співпадає", linearNearest(palette, colors[k], PaletteIndex.Space.RGB),
+                    indices[k]);
+            assertEquals("Заміна кольору не співпадає", palette[indices[k]], remapped[k]);
+        }
+        assertTrue("Повторні запити мали обслуговуватися з кешу", index.getCache().hits() > 0);
+        assertTrue("Кількість промахів не може перевищувати кількість різних кольорів",
+                index.getCache().misses() <= 100);
+
+        try {
+            new PaletteIndex(new int[0], PaletteIndex.Space.RGB);
+            fail("Очікувався виняток IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Очікувана поведінка
+        }
+    }
+
+    /**
+     * Тестує заміну кольорів зображення палітрою з 4096 кольорів.
+     */
+    @Test
+    public void testRemapImage() {
+        Random random = new Random(27);
+        int[] palette = randomPalette(random, 4096);
+        PaletteIndex index = new PaletteIndex(palette, PaletteIndex.Space.XYZ);
+        Image image = new Image(300, 400);
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 400; j++) {
+                image.setRGBA(i, j, random.nextInt() | 0xFF);
+            }
+        }
+        IndexedImage remapped = IndexedImage.remap(image, index);
+        assertEquals("Розмір палітри не співпадає", 4096, remapped.getPaletteSize());
+        assertEquals("Для 4096 кольорів очікувались 16-бітні індекси", 16, remapped.getIndexBits());
+        for (int k = 0; k < 2000; k++) {
+            int i = random.nextInt(300), j = random.nextInt(400);
+            assertEquals("Піксель (" + i + "," + j + ") не замінено найближчим кольором",
+                    palette[linearNearest(palette, image.getRGBA(i, j), PaletteIndex.Space.XYZ)],
+                    remapped.getRGBA(i, j));
+        }
+    }
+
+    /**
+     * Тестує паралельну заміну кольорів зображення поза купою (понад 2^18
+     * пікселів): результат має збігатися з заміною для копії у купі.
+     */
+    @Test
+    public void testRemapOffHeapImage() {
+        Random random = new Random(28);
+        PaletteIndex index = new PaletteIndex(randomPalette(random, 64), PaletteIndex.Space.RGB);
+        Image heap = new Image(600, 500);
+        try (Image offHeap = Image.offHeap(600, 500)) {
+            for (int i = 0; i < 600; i++) {
+                for (int j = 0; j < 500; j++) {
+                    int rgba = random.nextInt(4096) * 0x00101010 | 0xFF;
+                    heap.setRGBA(i, j, rgba);
+                    offHeap.setRGBA(i, j, rgba);
+                }
+            }
+            IndexedImage expected = IndexedImage.remap(heap, index);
+            IndexedImage actual = IndexedImage.remap(offHeap, index);
+            for (int i = 0; i < 600; i++) {
+                for (int j = 0; j < 500; j++) {
+                    assertEquals("Піксель (" + i + "," + j + ") не співпадає", expected.getRGBA(i, j),
+                            actual.getRGBA(i, j));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package test;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import images.Image;
+import images.Mask;
+import images.RunLengthMask;
+import java.util.Random;
+
+/**
+ * Клас для тестування функціональності класу RunLengthMask.
+ */
+public class RunLengthMaskTest {
+
+    /**
+     * Тестує побудову маски з потоку серій.
+     * 
+     * Перевіряється, що серії, які перекриваються або стикуються, об'єднуються,
+     * а обмежувальний прямокутник і площа обчислюються правильно.
+     */
+    @Test
+    public void testBuilderMergesRuns() {
+        RunLengthMask mask = RunLengthMask.builder(4, 10)
+                .addRun(2, 5, 3)
+                .addRun(1, 0, 2)
+                .addRun(2, 2, 3)
+                .addRun(2, 9, 5) // Виходить за межі маски
+                .build();
+
+        assertEquals("Неправильна площа маски", 2 + 6 + 1, mask.getArea());
+        assertEquals("Неправильний верхній рядок", 1, mask.getTop());
+        assertEquals("Неправильний нижній рядок", 3, mask.getBottom());
+        assertEquals("Неправильний лівий стовпець", 0, mask.getLeft());
+        assertEquals("Неправильний правий стовпець", 10, mask.getRight());
+        assertEquals("Значення маски (2,4) не співпадає з очікуваним", 1, mask.getMaskValue(2, 4));
+        assertEquals("Значення маски (2,8) не співпадає з очікуваним", 0, mask.getMaskValue(2, 8));
+        assertEquals("Значення маски (0,0) не співпадає з очікуваним", 0, mask.getMaskValue(0, 0));
+    }
+
+    /**
+     * Тестує застосування маски серій до зображення.
+     * 
+     * Перевіряється, що результат збігається з застосуванням звичайної маски з
+     * тими самими значеннями як для зображення у купі, так і для зображення
+     * поза купою.
+     */
+    @Test
+    public void testApplyMatchesMask() {
+        int m = 25, n = 40;
+        Random random = new Random(11);
+        Image expected = new Image(m, n);
+        Image actual = new Image(m, n);
+        Image offHeap = Image.offHeap(m, n);
+        Mask mask = new Mask(m, n);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                int rgba = random.nextInt();
+                expected.setRGBA(i, j, rgba);
+                actual.setRGBA(i, j, rgba);
+                offHeap.setRGBA(i, j, rgba);
+                mask.setMaskValue(i, j, random.nextInt(3) == 0 ? 1 : 0);
+            }
+        }
+
+        mask.applyToImage(expected);
+        RunLengthMask.fromMask(mask).applyToImage(actual);
+        RunLengthMask.fromMask(mask).applyToImage(offHeap);
+
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals("Піксель (" + i + "," + j + ") відрізняється", expected.getRGBA(i, j), actual.getRGBA(i, j));
+                assertEquals("Піксель (" + i + "," + j + ") поза купою відрізняється", expected.getRGBA(i, j),
+                        offHeap.getRGBA(i, j));
+            }
+        }
+        offHeap.close();
+    }
+}
@@ -0,0 +1,142 @@
+package colors.simd;
+
+import colors.ConversionKernels;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Реалізація ядер {@link ConversionKernels} на основі Vector API
+ * (<code>jdk.incubator.vector</code>).
+ * 
+ * <p>
+ * Клас належить до необов'язкового модуля і компілюється окремо з прапорцем
+ * <code>--add-modules jdk.incubator.vector</code>. Він завантажується через
+ * {@link ConversionKernels#get()} лише тоді, коли модуль Vector API
+ * підключено під час запуску. Кожне ядро виконує ті самі операції, що й
+ * скалярна реалізація, окремими множеннями та додаваннями (без FMA), тому
+ * результати збігаються побітово; залишок, менший за ширину вектора,
+ * обробляється скалярно.
+ * </p>
+ */
+public final class VectorConversionKernels extends ConversionKernels {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Конструктор, що викликається з {@link ConversionKernels#get()}.
+     */
+    public VectorConversionKernels() {
+        // Ядра не мають стану
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x" + SPECIES.elementSize();
+    }
+
+    @Override
+    public void linearRGBtoXYZ(float[] r, float[] g, float[] b, int srcOff,
+            float[] x, float[] y, float[] z, int dstOff, int len) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(len); i < bound; i += SPECIES.length()) {
+            FloatVector vr = FloatVector.fromArray(SPECIES, r, srcOff + i);
+            FloatVector vg = FloatVector.fromArray(SPECIES, g, srcOff + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, srcOff + i);
+            row(vr, vg, vb, X_R, X_G, X_B).intoArray(x, dstOff + i);
+            row(vr, vg, vb, Y_R, Y_G, Y_B).intoArray(y, dstOff + i);
+            row(vr, vg, vb, Z_R, Z_G, Z_B).intoArray(z, dstOff + i);
+        }
+        for (; i < len; i++) {
+            float ri = r[srcOff + i], gi = g[srcOff + i], bi = b[srcOff + i];
+            x[dstOff + i] = Math.max(0, Math.min(100, (ri * X_R + gi * X_G + bi * X_B) * 100));
+            y[dstOff + i] = Math.max(0, Math.min(100, (ri * Y_R + gi * Y_G + bi * Y_B) * 100));
+            z[dstOff + i] = Math.max(0, Math.min(100, (ri * Z_R + gi * Z_G + bi * Z_B) * 100));
+        }
+    }
+
+    /**
+     * Обчислює один рядок матриці RGB -> XYZ з масштабуванням до 0-100.
+     * 
+     * @param r  Лінійна червона компонента.
+     * @param g  Лінійна зелена компонента.
+     * @param b  Лінійна синя компонента.
+     * @param cr Коефіцієнт для червоної компоненти.
+     * @param cg Коефіцієнт для зеленої компоненти.
+     * @param cb Коефіцієнт для синьої компоненти.
+     * @return Обмежена компонента XYZ.
+     */
+    private static FloatVector row(FloatVector r, FloatVector g, FloatVector b, float cr, float cg, float cb) {
+        return r.mul(cr).add(g.mul(cg)).add(b.mul(cb)).mul(100f).min(100f).max(0f);
+    }
+
+    @Override
+    public void XYZtoLinearRGB(float[] x, float[] y, float[] z, int srcOff,
+            float[] r, float[] g, float[] b, int dstOff, int len) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(len); i < bound; i += SPECIES.length()) {
+            FloatVector vx = FloatVector.fromArray(SPECIES, x, srcOff + i).min(100f).max(0f).div(100f);
+            FloatVector vy = FloatVector.fromArray(SPECIES, y, srcOff + i).min(100f).max(0f).div(100f);
+            FloatVector vz = FloatVector.fromArray(SPECIES, z, srcOff + i).min(100f).max(0f).div(100f);
+            vx.mul(R_X).sub(vy.mul(R_Y)).sub(vz.mul(R_Z)).intoArray(r, dstOff + i);
+            vx.neg().mul(G_X).add(vy.mul(G_Y)).add(vz.mul(G_Z)).intoArray(g, dstOff + i);
+            vx.mul(B_X).sub(vy.mul(B_Y)).add(vz.mul(B_Z)).intoArray(b, dstOff + i);
+        }
+        for (; i < len; i++) {
+            float xi = Math.max(0, Math.min(100, x[srcOff + i])) / 100.0f;
+            float yi = Math.max(0, Math.min(100, y[srcOff + i])) / 100.0f;
+            float zi = Math.max(0, Math.min(100, z[srcOff + i])) / 100.0f;
+            r[dstOff + i] = xi * R_X - yi * R_Y - zi * R_Z;
+            g[dstOff + i] = -xi * G_X + yi * G_Y + zi * G_Z;
+            b[dstOff + i] = xi * B_X - yi * B_Y + zi * B_Z;
+        }
+    }
+
+    @Override
+    public void RGBtoCMYK(float[] r, float[] g, float[] b, int srcOff,
+            float[] c, float[] m, float[] y, float[] k, int dstOff, int len) {
+        FloatVector one = FloatVector.broadcast(SPECIES, 1f);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(len); i < bound; i += SPECIES.length()) {
+            FloatVector vr = FloatVector.fromArray(SPECIES, r, srcOff + i);
+            FloatVector vg = FloatVector.fromArray(SPECIES, g, srcOff + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, srcOff + i);
+            FloatVector vk = one.sub(vr.max(vg.max(vb)));
+            FloatVector white = one.sub(vk);
+            one.sub(vr).sub(vk).div(white).intoArray(c, dstOff + i);
+            one.sub(vg).sub(vk).div(white).intoArray(m, dstOff + i);
+            one.sub(vb).sub(vk).div(white).intoArray(y, dstOff + i);
+            vk.intoArray(k, dstOff + i);
+        }
+        for (; i < len; i++) {
+            float ri = r[srcOff + i], gi = g[srcOff + i], bi = b[srcOff + i];
+            float ki = 1 - Math.max(ri, Math.max(gi, bi));
+            c[dstOff + i] = (1 - ri - ki) / (1 - ki);
+            m[dstOff + i] = (1 - gi - ki) / (1 - ki);
+            y[dstOff + i] = (1 - bi - ki) / (1 - ki);
+            k[dstOff + i] = ki;
+        }
+    }
+
+    @Override
+    public void maxDelta(int[] rgba, int srcOff, int[] max, int[] delta, int dstOff, int len) {
+        int i = 0;
+        for (int bound = INT_SPECIES.loopBound(len); i < bound; i += INT_SPECIES.length()) {
+            IntVector v = IntVector.fromArray(INT_SPECIES, rgba, srcOff + i);
+            IntVector r = v.lanewise(VectorOperators.LSHR, 24);
+            IntVector g = v.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+            IntVector b = v.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+            IntVector hi = r.max(g.max(b));
+            hi.intoArray(max, dstOff + i);
+            hi.sub(r.min(g.min(b))).intoArray(delta, dstOff + i);
+        }
+        for (; i < len; i++) {
+            int value = rgba[srcOff + i];
+            int r = value >>> 24, g = (value >>> 16) & 0xFF, b = (value >>> 8) & 0xFF;
+            int hi = Math.max(r, Math.max(g, b));
+            max[dstOff + i] = hi;
+            delta[dstOff + i] = hi - Math.min(r, Math.min(g, b));
+        }
+    }
+}